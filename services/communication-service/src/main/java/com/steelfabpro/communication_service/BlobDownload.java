@@ -0,0 +1,95 @@
+package com.steelfabpro.communication_service;
+
+import com.steelfabpro.communication_service.dto.BlobContent;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Writes a stored blob to the response, honouring single byte ranges. When the connector supports
+ * it the file is handed to Tomcat's sendfile; otherwise it is copied with
+ * {@link FileChannel#transferTo}.
+ */
+final class BlobDownload {
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private BlobDownload() {
+    }
+
+    static void write(BlobContent blob, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        long size = Files.size(blob.getPath());
+        String etag = "\"" + blob.getSha256() + "\"";
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, max-age=31536000, immutable");
+        if (etag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long start = 0;
+        long end = size - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range != null && (ifRange == null || ifRange.equals(etag))) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(range);
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(size);
+                    end = ranges.get(0).getRangeEnd(size);
+                    if (start >= size || end < start) {
+                        throw new IllegalArgumentException("Range starts beyond the end of the blob");
+                    }
+                    response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+                }
+            } catch (IllegalArgumentException e) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+        }
+
+        long length = end - start + 1;
+        response.setContentType(blob.getContentType() != null ? blob.getContentType() : MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setContentLengthLong(length);
+        if (blob.getFileName() != null) {
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                    ContentDisposition.inline().filename(blob.getFileName()).build().toString());
+        }
+        if ("HEAD".equals(request.getMethod()) || length == 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, blob.getPath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        try (FileChannel in = FileChannel.open(blob.getPath(), StandardOpenOption.READ);
+             WritableByteChannel out = Channels.newChannel(response.getOutputStream())) {
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long sent = in.transferTo(position, remaining, out);
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+}
@@ -1,11 +1,27 @@
 package com.steelfabpro.communication_service;
 
+import com.steelfabpro.communication_service.dto.MarkReadRequest;
+import com.steelfabpro.communication_service.dto.MarkReadResponse;
+import com.steelfabpro.communication_service.dto.MessageResponse;
+import com.steelfabpro.communication_service.dto.MessageSearchHit;
+import com.steelfabpro.communication_service.dto.NotificationFanoutRequest;
+import com.steelfabpro.communication_service.dto.NotificationFanoutResponse;
+import com.steelfabpro.communication_service.dto.ThreadSummaryResponse;
+import com.steelfabpro.communication_service.dto.UnreadCountResponse;
 import com.steelfabpro.communication_service.model.*;
 import com.steelfabpro.communication_service.service.CommunicationService;
+import com.steelfabpro.communication_service.service.NotificationFanoutService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -13,6 +29,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class CommunicationController {
     private final CommunicationService communicationService;
+    private final NotificationFanoutService notificationFanoutService;
 
     @PostMapping("/threads")
     public ResponseEntity<Thread> createThread(@RequestBody Thread thread) {
@@ -25,6 +42,14 @@ public class CommunicationController {
         return ResponseEntity.ok(communicationService.getAllThreads());
     }
 
+    @GetMapping("/projects/{projectId}/threads")
+    public ResponseEntity<List<ThreadSummaryResponse>> getProjectThreads(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "30") int limit) {
+        return ResponseEntity.ok(communicationService.getProjectThreads(projectId, before, Math.max(1, Math.min(limit, 100))));
+    }
+
     @PostMapping("/threads/{threadId}/messages")
     public ResponseEntity<Message> postMessage(@PathVariable Long threadId, @RequestBody Message message) {
         Message created = communicationService.postMessage(threadId, message);
@@ -32,8 +57,25 @@ public class CommunicationController {
     }
 
     @GetMapping("/threads/{threadId}/messages")
-    public ResponseEntity<List<Message>> getMessagesByThread(@PathVariable Long threadId) {
-        return ResponseEntity.ok(communicationService.getMessagesByThread(threadId));
+    public ResponseEntity<List<MessageResponse>> getMessagesByThread(
+            @PathVariable Long threadId,
+            @RequestParam(required = false) Long before,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(communicationService.getMessagesByThread(threadId, before, after, Math.max(1, Math.min(limit, 200))));
+    }
+
+    @GetMapping(value = "/threads/{threadId}/messages/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamThread(@PathVariable Long threadId) {
+        return communicationService.streamThread(threadId);
+    }
+
+    @GetMapping("/projects/{projectId}/messages/search")
+    public ResponseEntity<List<MessageSearchHit>> searchMessages(
+            @PathVariable Long projectId,
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(communicationService.searchMessages(projectId, q, Math.max(1, Math.min(limit, 100))));
     }
 
     @PostMapping("/messages/{messageId}/attachments")
@@ -42,14 +84,53 @@ public class CommunicationController {
         return ResponseEntity.ok(created);
     }
 
+    @PostMapping(value = "/messages/{messageId}/attachments/upload", consumes = MediaType.ALL_VALUE)
+    public ResponseEntity<Attachment> uploadAttachment(
+            @PathVariable Long messageId,
+            @RequestParam(required = false) String fileName,
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            InputStream body) throws IOException {
+        return ResponseEntity.ok(communicationService.uploadAttachment(messageId, fileName, contentType, body));
+    }
+
+    @GetMapping("/attachments/{attachmentId}/content")
+    public void downloadAttachment(@PathVariable Long attachmentId, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        BlobDownload.write(communicationService.getAttachmentContent(attachmentId), request, response);
+    }
+
+    @GetMapping("/blobs/{sha256}")
+    public void downloadBlob(@PathVariable String sha256, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        BlobDownload.write(communicationService.getBlob(sha256), request, response);
+    }
+
     @PostMapping("/notifications")
     public ResponseEntity<Notification> sendNotification(@RequestBody Notification notification) {
         Notification created = communicationService.sendNotification(notification);
         return ResponseEntity.ok(created);
     }
 
+    @PostMapping("/notifications/fanout")
+    public ResponseEntity<NotificationFanoutResponse> fanoutNotification(@RequestBody NotificationFanoutRequest request) {
+        return ResponseEntity.ok(notificationFanoutService.fanout(request));
+    }
+
+    @GetMapping(value = "/notifications/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications(@RequestParam Long userId) {
+        return communicationService.streamNotifications(userId);
+    }
+
     @GetMapping("/notifications")
     public ResponseEntity<List<Notification>> getNotificationsByUser(@RequestParam Long userId) {
         return ResponseEntity.ok(communicationService.getNotificationsByUser(userId));
     }
-} 
\ No newline at end of file
+
+    @GetMapping("/notifications/unread-count")
+    public ResponseEntity<UnreadCountResponse> getUnreadCount(@RequestParam Long userId) {
+        return ResponseEntity.ok(communicationService.getUnreadCount(userId));
+    }
+
+    @PostMapping("/notifications/mark-read")
+    public ResponseEntity<MarkReadResponse> markRead(@RequestBody MarkReadRequest request) {
+        return ResponseEntity.ok(communicationService.markRead(request));
+    }
+}
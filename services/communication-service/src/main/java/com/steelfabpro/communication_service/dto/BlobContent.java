@@ -0,0 +1,15 @@
+package com.steelfabpro.communication_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.file.Path;
+
+@Data
+@AllArgsConstructor
+public class BlobContent {
+    private Path path;
+    private String sha256;
+    private String contentType;
+    private String fileName;
+}
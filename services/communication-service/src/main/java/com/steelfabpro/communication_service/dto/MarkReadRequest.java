@@ -0,0 +1,15 @@
+package com.steelfabpro.communication_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MarkReadRequest {
+    private Long userId;
+    private List<Long> notificationIds;
+}
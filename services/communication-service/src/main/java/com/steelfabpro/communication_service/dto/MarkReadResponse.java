@@ -0,0 +1,14 @@
+package com.steelfabpro.communication_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MarkReadResponse {
+    private Long userId;
+    private int updated;
+    private long unread;
+}
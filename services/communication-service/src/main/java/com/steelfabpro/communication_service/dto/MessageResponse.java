@@ -0,0 +1,19 @@
+package com.steelfabpro.communication_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessageResponse {
+    private Long id;
+    private Long threadId;
+    private Long senderId;
+    private String content;
+    private LocalDateTime sentAt;
+    private String messageType;
+}
@@ -0,0 +1,17 @@
+package com.steelfabpro.communication_service.dto;
+
+import java.time.LocalDateTime;
+
+public interface MessageSearchHit {
+    Long getId();
+
+    Long getThreadId();
+
+    Long getSenderId();
+
+    LocalDateTime getSentAt();
+
+    Double getRank();
+
+    String getSnippet();
+}
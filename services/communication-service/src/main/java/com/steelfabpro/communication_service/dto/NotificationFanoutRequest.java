@@ -0,0 +1,17 @@
+package com.steelfabpro.communication_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationFanoutRequest {
+    private List<Long> userIds;
+    private String type;
+    private String content;
+    private String groupKey;
+}
@@ -0,0 +1,25 @@
+package com.steelfabpro.communication_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ThreadSummaryResponse {
+    private Long threadId;
+    private Long projectId;
+    private Long createdBy;
+    private LocalDateTime createdAt;
+    private long messageCount;
+    private List<Long> participantIds;
+    private Long lastMessageId;
+    private Long lastSenderId;
+    private String lastMessageSnippet;
+    private LocalDateTime lastSentAt;
+    private LocalDateTime lastActivityAt;
+}
@@ -0,0 +1,20 @@
+package com.steelfabpro.communication_service.model;
+
+import lombok.*;
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "archived_threads")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedThread {
+    @Id
+    private Long threadId;
+
+    private Integer messageCount;
+    private Long fileSize;
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,6 @@
+package com.steelfabpro.communication_service.model;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ArchivedThreadRepository extends JpaRepository<ArchivedThread, Long> {
+}
@@ -5,7 +5,7 @@ import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "attachments")
+@Table(name = "attachments", indexes = @Index(name = "idx_attachments_sha256", columnList = "sha256"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,5 +23,8 @@ public class Attachment {
     private String fileUrl;
 
     private String fileType;
+    private String fileName;
+    private String sha256;
+    private Long sizeBytes;
     private LocalDateTime uploadedAt;
 } 
\ No newline at end of file
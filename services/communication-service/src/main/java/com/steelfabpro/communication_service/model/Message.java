@@ -5,7 +5,7 @@ import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "messages")
+@Table(name = "messages", indexes = @Index(name = "idx_messages_thread_sent_at", columnList = "thread_id, sent_at, id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -1,6 +1,60 @@
 package com.steelfabpro.communication_service.model;
 
+import com.steelfabpro.communication_service.dto.MessageResponse;
+import com.steelfabpro.communication_service.dto.MessageSearchHit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface MessageRepository extends JpaRepository<Message, Long> {
-} 
\ No newline at end of file
+    @Query("select m.sentAt from Message m where m.id = :id and m.thread.id = :threadId")
+    Optional<LocalDateTime> findSentAt(@Param("threadId") Long threadId, @Param("id") Long id);
+
+    @Query("select new com.steelfabpro.communication_service.dto.MessageResponse(m.id, m.thread.id, m.senderId, m.content, m.sentAt, m.messageType) " +
+            "from Message m where m.thread.id = :threadId order by m.sentAt desc, m.id desc")
+    List<MessageResponse> findLatest(@Param("threadId") Long threadId, Pageable page);
+
+    @Query("select new com.steelfabpro.communication_service.dto.MessageResponse(m.id, m.thread.id, m.senderId, m.content, m.sentAt, m.messageType) " +
+            "from Message m where m.thread.id = :threadId " +
+            "and (m.sentAt < :sentAt or (m.sentAt = :sentAt and m.id < :id)) " +
+            "order by m.sentAt desc, m.id desc")
+    List<MessageResponse> findBefore(@Param("threadId") Long threadId, @Param("sentAt") LocalDateTime sentAt,
+                                     @Param("id") Long id, Pageable page);
+
+    @Query("select new com.steelfabpro.communication_service.dto.MessageResponse(m.id, m.thread.id, m.senderId, m.content, m.sentAt, m.messageType) " +
+            "from Message m where m.thread.id = :threadId " +
+            "and (m.sentAt > :sentAt or (m.sentAt = :sentAt and m.id > :id)) " +
+            "order by m.sentAt asc, m.id asc")
+    List<MessageResponse> findAfter(@Param("threadId") Long threadId, @Param("sentAt") LocalDateTime sentAt,
+                                    @Param("id") Long id, Pageable page);
+
+    @Query(value = "select hit.id as id, hit.thread_id as threadId, hit.sender_id as senderId, hit.sent_at as sentAt, hit.rank as rank, " +
+            "ts_headline('english', hit.content, websearch_to_tsquery('english', :query), 'MaxFragments=2, MaxWords=20, MinWords=5') as snippet " +
+            "from (select m.id, m.thread_id, m.sender_id, m.sent_at, m.content, ts_rank_cd(m.search_vector, q) as rank " +
+            "      from messages m join threads t on t.id = m.thread_id, websearch_to_tsquery('english', :query) q " +
+            "      where t.project_id = :projectId and m.search_vector @@ q " +
+            "      order by rank desc, m.sent_at desc limit :limit) hit " +
+            "order by hit.rank desc, hit.sent_at desc",
+            nativeQuery = true)
+    List<MessageSearchHit> search(@Param("projectId") Long projectId, @Param("query") String query, @Param("limit") int limit);
+
+    @Query("select new com.steelfabpro.communication_service.dto.MessageResponse(m.id, m.thread.id, m.senderId, m.content, m.sentAt, m.messageType) " +
+            "from Message m where m.thread.id = :threadId order by m.sentAt asc, m.id asc")
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    Stream<MessageResponse> streamByThread(@Param("threadId") Long threadId);
+
+    long countByThreadId(Long threadId);
+
+    @Modifying
+    @Query("delete from Message m where m.thread.id = :threadId")
+    int deleteByThreadId(@Param("threadId") Long threadId);
+}
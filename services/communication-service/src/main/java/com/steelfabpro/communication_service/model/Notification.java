@@ -5,7 +5,7 @@ import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = @Index(name = "idx_notifications_user_created_at", columnList = "user_id, created_at"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -1,6 +1,22 @@
 package com.steelfabpro.communication_service.model;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
-} 
\ No newline at end of file
+    List<Notification> findByUserIdOrderByCreatedAtDesc(Long userId);
+
+    @Modifying
+    @Query("update Notification n set n.read = true where n.userId = :userId and n.id in :ids " +
+            "and (n.read = false or n.read is null)")
+    int markRead(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("update Notification n set n.read = true where n.userId = :userId and (n.read = false or n.read is null)")
+    int markAllRead(@Param("userId") Long userId);
+}
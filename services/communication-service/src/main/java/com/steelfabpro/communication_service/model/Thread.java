@@ -5,7 +5,7 @@ import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "threads")
+@Table(name = "threads", indexes = @Index(name = "idx_threads_project_id", columnList = "project_id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,41 @@
+package com.steelfabpro.communication_service.model;
+
+import lombok.*;
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "thread_summaries", indexes = @Index(name = "idx_thread_summaries_project_activity",
+        columnList = "project_id, last_activity_at, thread_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ThreadSummary {
+    @Id
+    private Long threadId;
+
+    @Column(nullable = false)
+    private Long projectId;
+
+    private Long createdBy;
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private Long messageCount;
+
+    /** Distinct sender ids, comma separated and comma terminated, e.g. {@code ,4,17,}. */
+    @Column(nullable = false, columnDefinition = "text")
+    private String participantIds;
+
+    private Long lastMessageId;
+    private Long lastSenderId;
+
+    @Column(length = 200)
+    private String lastMessageSnippet;
+
+    private LocalDateTime lastSentAt;
+
+    @Column(nullable = false)
+    private LocalDateTime lastActivityAt;
+}
@@ -0,0 +1,67 @@
+package com.steelfabpro.communication_service.model;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface ThreadSummaryRepository extends JpaRepository<ThreadSummary, Long> {
+    @Query("select s from ThreadSummary s where s.projectId = :projectId order by s.lastActivityAt desc, s.threadId desc")
+    List<ThreadSummary> findLatest(@Param("projectId") Long projectId, Pageable page);
+
+    @Query("select s from ThreadSummary s where s.projectId = :projectId " +
+            "and (s.lastActivityAt < :activityAt or (s.lastActivityAt = :activityAt and s.threadId < :threadId)) " +
+            "order by s.lastActivityAt desc, s.threadId desc")
+    List<ThreadSummary> findBefore(@Param("projectId") Long projectId, @Param("activityAt") LocalDateTime activityAt,
+                                   @Param("threadId") Long threadId, Pageable page);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ThreadSummary s where s.threadId = :threadId")
+    Optional<ThreadSummary> lockById(@Param("threadId") Long threadId);
+
+    @Query("select s.threadId from ThreadSummary s where s.lastActivityAt < :cutoff and s.messageCount > 0 " +
+            "and not exists (select a.threadId from ArchivedThread a where a.threadId = s.threadId) " +
+            "and not exists (select f.id from Attachment f where f.message.thread.id = s.threadId) " +
+            "order by s.lastActivityAt asc")
+    List<Long> findArchiveCandidates(@Param("cutoff") LocalDateTime cutoff, Pageable page);
+
+    @Modifying
+    @Query(value = "insert into thread_summaries (thread_id, project_id, created_by, created_at, message_count, participant_ids, " +
+            "last_message_id, last_sender_id, last_message_snippet, last_sent_at, last_activity_at) " +
+            "values (:threadId, :projectId, :createdBy, :createdAt, 1, ',' || :senderId || ',', " +
+            ":messageId, :senderId, :snippet, :sentAt, :sentAt) " +
+            "on conflict (thread_id) do update set " +
+            "message_count = thread_summaries.message_count + 1, " +
+            "participant_ids = case when position(',' || :senderId || ',' in thread_summaries.participant_ids) > 0 " +
+            "then thread_summaries.participant_ids else thread_summaries.participant_ids || :senderId || ',' end, " +
+            "last_message_id = excluded.last_message_id, last_sender_id = excluded.last_sender_id, " +
+            "last_message_snippet = excluded.last_message_snippet, last_sent_at = excluded.last_sent_at, " +
+            "last_activity_at = greatest(thread_summaries.last_activity_at, excluded.last_activity_at)",
+            nativeQuery = true)
+    int recordMessage(@Param("threadId") Long threadId, @Param("projectId") Long projectId,
+                      @Param("createdBy") Long createdBy, @Param("createdAt") LocalDateTime createdAt,
+                      @Param("messageId") Long messageId, @Param("senderId") Long senderId,
+                      @Param("snippet") String snippet, @Param("sentAt") LocalDateTime sentAt);
+
+    @Modifying
+    @Query(value = "insert into thread_summaries (thread_id, project_id, created_by, created_at, message_count, participant_ids, " +
+            "last_message_id, last_sender_id, last_message_snippet, last_sent_at, last_activity_at) " +
+            "select t.id, t.project_id, t.created_by, t.created_at, coalesce(s.message_count, 0), coalesce(s.participant_ids, ','), " +
+            "l.id, l.sender_id, left(l.content, 200), l.sent_at, coalesce(l.sent_at, t.created_at) " +
+            "from threads t " +
+            "left join (select thread_id, count(*) as message_count, " +
+            "           ',' || string_agg(distinct sender_id::text, ',') || ',' as participant_ids " +
+            "           from messages group by thread_id) s on s.thread_id = t.id " +
+            "left join lateral (select m.id, m.sender_id, m.content, m.sent_at from messages m where m.thread_id = t.id " +
+            "                   order by m.sent_at desc, m.id desc limit 1) l on true " +
+            "on conflict (thread_id) do nothing",
+            nativeQuery = true)
+    int backfill();
+}
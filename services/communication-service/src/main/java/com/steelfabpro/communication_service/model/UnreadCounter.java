@@ -0,0 +1,18 @@
+package com.steelfabpro.communication_service.model;
+
+import lombok.*;
+import javax.persistence.*;
+
+@Entity
+@Table(name = "notification_counters")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UnreadCounter {
+    @Id
+    private Long userId;
+
+    @Column(nullable = false)
+    private Long unreadCount;
+}
@@ -0,0 +1,21 @@
+package com.steelfabpro.communication_service.model;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface UnreadCounterRepository extends JpaRepository<UnreadCounter, Long> {
+    @Modifying
+    @Query(value = "insert into notification_counters (user_id, unread_count) values (:userId, greatest(:delta, 0)) " +
+            "on conflict (user_id) do update set unread_count = greatest(notification_counters.unread_count + :delta, 0)",
+            nativeQuery = true)
+    int add(@Param("userId") Long userId, @Param("delta") long delta);
+
+    @Modifying
+    @Query(value = "insert into notification_counters (user_id, unread_count) " +
+            "select n.user_id, count(*) from notifications n where n.read is not true group by n.user_id " +
+            "on conflict (user_id) do nothing",
+            nativeQuery = true)
+    int backfill();
+}
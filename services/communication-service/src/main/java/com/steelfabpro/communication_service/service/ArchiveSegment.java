@@ -0,0 +1,220 @@
+package com.steelfabpro.communication_service.service;
+
+import com.steelfabpro.communication_service.dto.MessageResponse;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Archive file holding one thread's messages in (sentAt, id) order. Messages are deflated in
+ * blocks of {@value #BLOCK_MESSAGES}; a trailer lists each block's offset, size and id range so a
+ * page read only inflates the blocks it touches.
+ *
+ * <pre>
+ * block*  index(count, (offset, length, messages, minId, maxId)*)  indexOffset:long  magic:int
+ * </pre>
+ */
+final class ArchiveSegment {
+    private static final int MAGIC = 0x53464D41;
+    private static final int BLOCK_MESSAGES = 256;
+    private static final int TRAILER_BYTES = Long.BYTES + Integer.BYTES;
+
+    record Block(long offset, int length, int messages, long minId, long maxId) {
+    }
+
+    private ArchiveSegment() {
+    }
+
+    static int write(Path file, Iterator<MessageResponse> messages) throws IOException {
+        List<Block> blocks = new ArrayList<>();
+        List<MessageResponse> pending = new ArrayList<>(BLOCK_MESSAGES);
+        int total = 0;
+        long offset = 0;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024))) {
+            while (messages.hasNext()) {
+                pending.add(messages.next());
+                total++;
+                if (pending.size() == BLOCK_MESSAGES || !messages.hasNext()) {
+                    byte[] block = deflate(pending);
+                    out.write(block);
+                    blocks.add(new Block(offset, block.length, pending.size(),
+                            pending.stream().mapToLong(MessageResponse::getId).min().orElseThrow(),
+                            pending.stream().mapToLong(MessageResponse::getId).max().orElseThrow()));
+                    offset += block.length;
+                    pending.clear();
+                }
+            }
+            out.writeInt(blocks.size());
+            for (Block block : blocks) {
+                out.writeLong(block.offset());
+                out.writeInt(block.length());
+                out.writeInt(block.messages());
+                out.writeLong(block.minId());
+                out.writeLong(block.maxId());
+            }
+            out.writeLong(offset);
+            out.writeInt(MAGIC);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        return total;
+    }
+
+    static List<MessageResponse> readAll(Path file, Long threadId) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            List<MessageResponse> messages = new ArrayList<>();
+            for (Block block : readIndex(channel)) {
+                messages.addAll(readBlock(channel, block, threadId));
+            }
+            return messages;
+        }
+    }
+
+    static List<MessageResponse> page(Path file, Long threadId, Long before, Long after, int limit) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            List<Block> blocks = readIndex(channel);
+            List<MessageResponse> page = new ArrayList<>(limit);
+            if (after != null) {
+                int[] position = locate(channel, blocks, threadId, after);
+                int blockIndex = position[0];
+                int start = position[1] + 1;
+                while (blockIndex < blocks.size() && page.size() < limit) {
+                    List<MessageResponse> messages = readBlock(channel, blocks.get(blockIndex), threadId);
+                    for (int i = start; i < messages.size() && page.size() < limit; i++) {
+                        page.add(messages.get(i));
+                    }
+                    blockIndex++;
+                    start = 0;
+                }
+                return page;
+            }
+
+            int blockIndex = blocks.size() - 1;
+            int end = Integer.MAX_VALUE;
+            if (before != null) {
+                int[] position = locate(channel, blocks, threadId, before);
+                blockIndex = position[0];
+                end = position[1] - 1;
+            }
+            while (blockIndex >= 0 && page.size() < limit) {
+                List<MessageResponse> messages = readBlock(channel, blocks.get(blockIndex), threadId);
+                for (int i = Math.min(end, messages.size() - 1); i >= 0 && page.size() < limit; i--) {
+                    page.add(messages.get(i));
+                }
+                blockIndex--;
+                end = Integer.MAX_VALUE;
+            }
+            Collections.reverse(page);
+            return page;
+        }
+    }
+
+    private static int[] locate(FileChannel channel, List<Block> blocks, Long threadId, long messageId) throws IOException {
+        for (int b = 0; b < blocks.size(); b++) {
+            Block block = blocks.get(b);
+            if (messageId < block.minId() || messageId > block.maxId()) {
+                continue;
+            }
+            List<MessageResponse> messages = readBlock(channel, block, threadId);
+            for (int i = 0; i < messages.size(); i++) {
+                if (messages.get(i).getId() == messageId) {
+                    return new int[] {b, i};
+                }
+            }
+        }
+        throw new IllegalArgumentException("Message not found");
+    }
+
+    private static List<Block> readIndex(FileChannel channel) throws IOException {
+        long size = channel.size();
+        ByteBuffer trailer = ByteBuffer.allocate(TRAILER_BYTES);
+        channel.read(trailer, size - TRAILER_BYTES);
+        trailer.flip();
+        long indexOffset = trailer.getLong();
+        if (trailer.getInt() != MAGIC) {
+            throw new IOException("Not a message archive segment");
+        }
+        ByteBuffer index = ByteBuffer.allocate((int) (size - TRAILER_BYTES - indexOffset));
+        while (index.hasRemaining()) {
+            if (channel.read(index, indexOffset + index.position()) < 0) {
+                throw new IOException("Truncated archive index");
+            }
+        }
+        index.flip();
+        int count = index.getInt();
+        List<Block> blocks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            blocks.add(new Block(index.getLong(), index.getInt(), index.getInt(), index.getLong(), index.getLong()));
+        }
+        return blocks;
+    }
+
+    private static List<MessageResponse> readBlock(FileChannel channel, Block block, Long threadId) throws IOException {
+        ByteBuffer compressed = ByteBuffer.allocate(block.length());
+        while (compressed.hasRemaining()) {
+            if (channel.read(compressed, block.offset() + compressed.position()) < 0) {
+                throw new IOException("Truncated archive block");
+            }
+        }
+        List<MessageResponse> messages = new ArrayList<>(block.messages());
+        Inflater inflater = new Inflater();
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(compressed.array()), inflater))) {
+            for (int i = 0; i < block.messages(); i++) {
+                long id = in.readLong();
+                long senderId = in.readLong();
+                LocalDateTime sentAt = LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+                String messageType = in.readBoolean() ? in.readUTF() : null;
+                byte[] content = new byte[in.readInt()];
+                in.readFully(content);
+                messages.add(new MessageResponse(id, threadId, senderId, new String(content, StandardCharsets.UTF_8), sentAt, messageType));
+            }
+        } finally {
+            inflater.end();
+        }
+        return messages;
+    }
+
+    private static byte[] deflate(List<MessageResponse> messages) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes, deflater))) {
+            for (MessageResponse message : messages) {
+                out.writeLong(message.getId());
+                out.writeLong(message.getSenderId());
+                out.writeLong(message.getSentAt().toEpochSecond(ZoneOffset.UTC));
+                out.writeInt(message.getSentAt().getNano());
+                out.writeBoolean(message.getMessageType() != null);
+                if (message.getMessageType() != null) {
+                    out.writeUTF(message.getMessageType());
+                }
+                byte[] content = message.getContent().getBytes(StandardCharsets.UTF_8);
+                out.writeInt(content.length);
+                out.write(content);
+            }
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,112 @@
+package com.steelfabpro.communication_service.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * Local blob store keyed by the SHA-256 of the content, laid out as {@code ab/cd/<hash>}. Uploads
+ * are streamed to a temporary file while hashing and then renamed into place, so identical
+ * content is kept once no matter how many attachments point at it.
+ */
+@Slf4j
+@Service
+public class BlobStore {
+    private static final Pattern SHA256 = Pattern.compile("[0-9a-f]{64}");
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    private final Path root;
+    private final Path incoming;
+    private final long maxBytes;
+
+    public BlobStore(@Value("${communication.blobs.dir:data/blobs}") String directory,
+                     @Value("${communication.blobs.max-bytes:1073741824}") long maxBytes) {
+        this.root = Path.of(directory).toAbsolutePath();
+        this.incoming = root.resolve("incoming");
+        this.maxBytes = maxBytes;
+        try {
+            Files.createDirectories(incoming);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public StoredBlob store(InputStream content) throws IOException {
+        MessageDigest digest = sha256();
+        Path temp = Files.createTempFile(incoming, "upload-", ".tmp");
+        long size = 0;
+        try {
+            try (ReadableByteChannel in = Channels.newChannel(content);
+                 FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+                while (in.read(buffer) != -1) {
+                    buffer.flip();
+                    size += buffer.remaining();
+                    if (size > maxBytes) {
+                        throw new IllegalArgumentException("Upload exceeds " + maxBytes + " bytes");
+                    }
+                    digest.update(buffer.duplicate());
+                    while (buffer.hasRemaining()) {
+                        out.write(buffer);
+                    }
+                    buffer.clear();
+                }
+                out.force(false);
+            }
+
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path target = pathOf(hash);
+            if (Files.exists(target)) {
+                return new StoredBlob(hash, size, true);
+            }
+            Files.createDirectories(target.getParent());
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Stored blob {} ({} bytes)", hash, size);
+            return new StoredBlob(hash, size, false);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public Path locate(String sha256) {
+        if (sha256 == null || !SHA256.matcher(sha256).matches()) {
+            throw new IllegalArgumentException("Blob not found");
+        }
+        Path path = pathOf(sha256);
+        if (!Files.isRegularFile(path)) {
+            throw new IllegalArgumentException("Blob not found");
+        }
+        return path;
+    }
+
+    private Path pathOf(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record StoredBlob(String sha256, long size, boolean deduplicated) {
+    }
+}
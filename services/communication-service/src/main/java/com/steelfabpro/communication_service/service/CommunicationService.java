@@ -1,10 +1,23 @@
 package com.steelfabpro.communication_service.service;
 
+import com.steelfabpro.communication_service.dto.BlobContent;
+import com.steelfabpro.communication_service.dto.MarkReadRequest;
+import com.steelfabpro.communication_service.dto.MarkReadResponse;
+import com.steelfabpro.communication_service.dto.MessageResponse;
+import com.steelfabpro.communication_service.dto.MessageSearchHit;
+import com.steelfabpro.communication_service.dto.ThreadSummaryResponse;
+import com.steelfabpro.communication_service.dto.UnreadCountResponse;
 import com.steelfabpro.communication_service.model.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 @Service
@@ -14,17 +27,25 @@ public class CommunicationService {
     private final MessageRepository messageRepository;
     private final AttachmentRepository attachmentRepository;
     private final NotificationRepository notificationRepository;
+    private final PushService pushService;
+    private final UnreadCounterService unreadCounterService;
+    private final BlobStore blobStore;
+    private final ThreadSummaryService threadSummaryService;
+    private final MessageArchiver messageArchiver;
 
     public Thread createThread(Thread thread) {
         thread.setCreatedAt(LocalDateTime.now());
-        return threadRepository.save(thread);
+        return threadSummaryService.createThread(thread);
     }
 
     public Message postMessage(Long threadId, Message message) {
         Thread thread = threadRepository.findById(threadId).orElseThrow(() -> new IllegalArgumentException("Thread not found"));
         message.setThread(thread);
         message.setSentAt(LocalDateTime.now());
-        return messageRepository.save(message);
+        Message saved = threadSummaryService.postMessage(thread, message);
+        pushService.publishMessage(new MessageResponse(saved.getId(), threadId, saved.getSenderId(), saved.getContent(),
+                saved.getSentAt(), saved.getMessageType()));
+        return saved;
     }
 
     public Attachment addAttachment(Long messageId, Attachment attachment) {
@@ -34,21 +55,112 @@ public class CommunicationService {
         return attachmentRepository.save(attachment);
     }
 
+    public Attachment uploadAttachment(Long messageId, String fileName, String contentType, InputStream content) throws IOException {
+        if (!messageRepository.existsById(messageId)) {
+            throw new IllegalArgumentException("Message not found");
+        }
+        BlobStore.StoredBlob blob = blobStore.store(content);
+        Attachment attachment = Attachment.builder()
+                .message(messageRepository.getReferenceById(messageId))
+                .fileUrl("/api/blobs/" + blob.sha256())
+                .fileType(contentType)
+                .fileName(fileName)
+                .sha256(blob.sha256())
+                .sizeBytes(blob.size())
+                .uploadedAt(LocalDateTime.now())
+                .build();
+        return attachmentRepository.save(attachment);
+    }
+
+    public BlobContent getAttachmentContent(Long attachmentId) {
+        Attachment attachment = attachmentRepository.findById(attachmentId).orElseThrow(() -> new IllegalArgumentException("Attachment not found"));
+        if (attachment.getSha256() == null) {
+            throw new IllegalArgumentException("Attachment has no stored content");
+        }
+        return new BlobContent(blobStore.locate(attachment.getSha256()), attachment.getSha256(), attachment.getFileType(), attachment.getFileName());
+    }
+
+    public BlobContent getBlob(String sha256) {
+        return new BlobContent(blobStore.locate(sha256), sha256, null, null);
+    }
+
     public Notification sendNotification(Notification notification) {
         notification.setCreatedAt(LocalDateTime.now());
-        return notificationRepository.save(notification);
+        if (notification.getRead() == null) {
+            notification.setRead(false);
+        }
+        Notification saved = unreadCounterService.save(notification);
+        pushService.publishNotification(saved);
+        return saved;
     }
 
     public List<Thread> getAllThreads() {
         return threadRepository.findAll();
     }
 
-    public List<Message> getMessagesByThread(Long threadId) {
-        Thread thread = threadRepository.findById(threadId).orElseThrow(() -> new IllegalArgumentException("Thread not found"));
-        return messageRepository.findAll().stream().filter(m -> m.getThread().equals(thread)).toList();
+    public List<ThreadSummaryResponse> getProjectThreads(Long projectId, Long before, int limit) {
+        return threadSummaryService.getProjectThreads(projectId, before, limit);
+    }
+
+    public List<MessageResponse> getMessagesByThread(Long threadId, Long before, Long after, int limit) {
+        if (before != null && after != null) {
+            throw new IllegalArgumentException("Use either before or after, not both");
+        }
+        if (!threadRepository.existsById(threadId)) {
+            throw new IllegalArgumentException("Thread not found");
+        }
+        if (messageArchiver.isArchived(threadId)) {
+            List<MessageResponse> archived = messageArchiver.readPage(threadId, before, after, limit);
+            if (archived != null) {
+                return archived;
+            }
+        }
+        PageRequest page = PageRequest.of(0, limit);
+        if (after != null) {
+            return messageRepository.findAfter(threadId, cursorSentAt(threadId, after), after, page);
+        }
+        List<MessageResponse> messages = new ArrayList<>(before != null
+                ? messageRepository.findBefore(threadId, cursorSentAt(threadId, before), before, page)
+                : messageRepository.findLatest(threadId, page));
+        Collections.reverse(messages);
+        return messages;
+    }
+
+    public List<MessageSearchHit> searchMessages(Long projectId, String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Query must not be empty");
+        }
+        return messageRepository.search(projectId, query, limit);
+    }
+
+    private LocalDateTime cursorSentAt(Long threadId, Long messageId) {
+        return messageRepository.findSentAt(threadId, messageId).orElseThrow(() -> new IllegalArgumentException("Message not found"));
+    }
+
+    public SseEmitter streamThread(Long threadId) {
+        if (!threadRepository.existsById(threadId)) {
+            throw new IllegalArgumentException("Thread not found");
+        }
+        return pushService.subscribeToThread(threadId);
+    }
+
+    public SseEmitter streamNotifications(Long userId) {
+        return pushService.subscribeToNotifications(userId);
     }
 
     public List<Notification> getNotificationsByUser(Long userId) {
-        return notificationRepository.findAll().stream().filter(n -> n.getUserId().equals(userId)).toList();
+        return notificationRepository.findByUserIdOrderByCreatedAtDesc(userId);
+    }
+
+    public UnreadCountResponse getUnreadCount(Long userId) {
+        return new UnreadCountResponse(userId, unreadCounterService.getUnreadCount(userId));
+    }
+
+    public MarkReadResponse markRead(MarkReadRequest request) {
+        if (request.getUserId() == null) {
+            throw new IllegalArgumentException("userId is required");
+        }
+        int updated = unreadCounterService.markRead(request.getUserId(), request.getNotificationIds());
+        return new MarkReadResponse(request.getUserId(), updated, unreadCounterService.getUnreadCount(request.getUserId()));
     }
 } 
\ No newline at end of file
@@ -0,0 +1,192 @@
+package com.steelfabpro.communication_service.service;
+
+import com.steelfabpro.communication_service.dto.MessageResponse;
+import com.steelfabpro.communication_service.model.ArchivedThread;
+import com.steelfabpro.communication_service.model.ArchivedThreadRepository;
+import com.steelfabpro.communication_service.model.MessageRepository;
+import com.steelfabpro.communication_service.model.ThreadSummaryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Moves the messages of threads with no activity for {@code communication.archive.inactive-days}
+ * out of the {@code messages} table into per-thread {@link ArchiveSegment} files. Reads of an
+ * archived thread are served from its segment; posting to one restores it first. Archiving and
+ * posting both lock the thread's summary row, so no message can slip in between the copy and the
+ * delete.
+ */
+@Slf4j
+@Service
+public class MessageArchiver {
+    private static final String RESTORE_MESSAGE = "insert into messages (id, thread_id, sender_id, content, sent_at, message_type) " +
+            "values (?, ?, ?, ?, ?, ?)";
+
+    private final MessageRepository messageRepository;
+    private final ThreadSummaryRepository threadSummaryRepository;
+    private final ArchivedThreadRepository archivedThreadRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final Path directory;
+    private final int inactiveDays;
+    private final int batchSize;
+
+    public MessageArchiver(MessageRepository messageRepository,
+                           ThreadSummaryRepository threadSummaryRepository,
+                           ArchivedThreadRepository archivedThreadRepository,
+                           TransactionTemplate transactionTemplate,
+                           JdbcTemplate jdbcTemplate,
+                           @Value("${communication.archive.dir:data/message-archive}") String directory,
+                           @Value("${communication.archive.inactive-days:365}") int inactiveDays,
+                           @Value("${communication.archive.batch-size:100}") int batchSize) {
+        this.messageRepository = messageRepository;
+        this.threadSummaryRepository = threadSummaryRepository;
+        this.archivedThreadRepository = archivedThreadRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.directory = Path.of(directory).toAbsolutePath();
+        this.inactiveDays = inactiveDays;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${communication.archive.cron:0 30 3 * * *}")
+    public void archiveInactiveThreads() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(inactiveDays);
+        int archived = 0;
+        List<Long> candidates;
+        do {
+            candidates = threadSummaryRepository.findArchiveCandidates(cutoff, PageRequest.of(0, batchSize));
+            for (Long threadId : candidates) {
+                try {
+                    if (archive(threadId)) {
+                        archived++;
+                    }
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Failed to archive thread {}", threadId, e);
+                    candidates = List.of();
+                    break;
+                }
+            }
+        } while (candidates.size() == batchSize);
+        if (archived > 0) {
+            log.info("Archived {} inactive threads", archived);
+        }
+    }
+
+    public boolean archive(Long threadId) throws IOException {
+        Files.createDirectories(directory);
+        Path file = pathOf(threadId);
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.createDirectories(file.getParent());
+        try {
+            Integer written = transactionTemplate.execute(status -> {
+                try (Stream<MessageResponse> messages = messageRepository.streamByThread(threadId)) {
+                    return ArchiveSegment.write(temp, messages.iterator());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            long fileSize = Files.size(temp);
+
+            // The segment only replaces the file under the summary lock, once the thread is known not
+            // to be archived already; otherwise a second run would overwrite a live archive.
+            Boolean archived;
+            try {
+                archived = transactionTemplate.execute(status -> {
+                    threadSummaryRepository.lockById(threadId);
+                    if (archivedThreadRepository.existsById(threadId) || messageRepository.countByThreadId(threadId) != written) {
+                        return false;
+                    }
+                    try {
+                        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    archivedThreadRepository.save(new ArchivedThread(threadId, written, fileSize, LocalDateTime.now()));
+                    messageRepository.deleteByThreadId(threadId);
+                    return true;
+                });
+            } catch (RuntimeException e) {
+                if (!archivedThreadRepository.existsById(threadId)) {
+                    Files.deleteIfExists(file);
+                }
+                throw e;
+            }
+            return Boolean.TRUE.equals(archived);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public boolean isArchived(Long threadId) {
+        return archivedThreadRepository.existsById(threadId);
+    }
+
+    /**
+     * Reads a page from the thread's segment, or returns {@code null} if the segment is gone because
+     * a concurrent post restored the thread; the caller then reads the {@code messages} table.
+     */
+    public List<MessageResponse> readPage(Long threadId, Long before, Long after, int limit) {
+        try {
+            return ArchiveSegment.page(pathOf(threadId), threadId, before, after, limit);
+        } catch (NoSuchFileException e) {
+            log.debug("Archive of thread {} was restored while being read", threadId);
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Moves an archived thread's messages back into {@code messages}. Must run inside a
+     * transaction that holds the thread's summary lock; the segment file is removed after commit.
+     */
+    public void restoreIfArchived(Long threadId) {
+        if (!archivedThreadRepository.existsById(threadId)) {
+            return;
+        }
+        Path file = pathOf(threadId);
+        List<MessageResponse> messages;
+        try {
+            messages = ArchiveSegment.readAll(file, threadId);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        jdbcTemplate.batchUpdate(RESTORE_MESSAGE, messages.stream()
+                .map(m -> new Object[] {m.getId(), threadId, m.getSenderId(), m.getContent(), Timestamp.valueOf(m.getSentAt()), m.getMessageType()})
+                .toList());
+        archivedThreadRepository.deleteById(threadId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    log.warn("Failed to delete restored archive {}", file, e);
+                }
+            }
+        });
+        log.info("Restored {} archived messages for thread {}", messages.size(), threadId);
+    }
+
+    private Path pathOf(Long threadId) {
+        return directory.resolve(String.format("%03d", threadId % 1000)).resolve(threadId + ".seg");
+    }
+}
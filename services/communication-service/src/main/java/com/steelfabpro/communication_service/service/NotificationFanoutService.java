@@ -0,0 +1,130 @@
+package com.steelfabpro.communication_service.service;
+
+import com.steelfabpro.communication_service.dto.NotificationFanoutRequest;
+import com.steelfabpro.communication_service.dto.NotificationFanoutResponse;
+import com.steelfabpro.communication_service.model.Notification;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Delivers one event to many users. The first event for a user and group opens a coalescing
+ * window and is delivered at once; further events in that window are only counted, and when the
+ * window closes they are delivered as a single digest notification.
+ */
+@Slf4j
+@Service
+public class NotificationFanoutService {
+    private final UnreadCounterService unreadCounterService;
+    private final PushService pushService;
+    private final long windowMs;
+    private final Map<WindowKey, Window> windows = new ConcurrentHashMap<>();
+
+    public NotificationFanoutService(UnreadCounterService unreadCounterService,
+                                     PushService pushService,
+                                     @Value("${communication.notifications.coalesce-window-ms:60000}") long windowMs) {
+        this.unreadCounterService = unreadCounterService;
+        this.pushService = pushService;
+        this.windowMs = windowMs;
+    }
+
+    public NotificationFanoutResponse fanout(NotificationFanoutRequest request) {
+        if (request.getUserIds() == null || request.getUserIds().isEmpty()) {
+            throw new IllegalArgumentException("userIds is required");
+        }
+        String group = request.getGroupKey() != null ? request.getGroupKey() : Objects.toString(request.getType(), "");
+        Set<Long> recipients = new LinkedHashSet<>(request.getUserIds());
+        recipients.remove(null);
+        long now = System.currentTimeMillis();
+        LocalDateTime createdAt = LocalDateTime.now();
+
+        List<Notification> immediate = new ArrayList<>();
+        for (Long userId : recipients) {
+            boolean[] opened = new boolean[1];
+            windows.compute(new WindowKey(userId, group), (key, window) -> {
+                if (window == null) {
+                    opened[0] = true;
+                    return new Window(request.getType(), now + windowMs);
+                }
+                window.pending++;
+                window.lastContent = request.getContent();
+                return window;
+            });
+            if (opened[0]) {
+                immediate.add(notification(userId, request.getType(), request.getContent(), createdAt));
+            }
+        }
+        deliver(immediate);
+        return new NotificationFanoutResponse(recipients.size(), immediate.size(), recipients.size() - immediate.size());
+    }
+
+    @Scheduled(fixedDelayString = "${communication.notifications.digest-flush-ms:1000}")
+    public void flushDigests() {
+        flushDigests(System.currentTimeMillis());
+    }
+
+    @PreDestroy
+    public void flushAllDigests() {
+        flushDigests(Long.MAX_VALUE);
+    }
+
+    private void flushDigests(long now) {
+        LocalDateTime createdAt = LocalDateTime.now();
+        List<Notification> digests = new ArrayList<>();
+        for (WindowKey key : windows.keySet()) {
+            Window[] closed = new Window[1];
+            windows.computeIfPresent(key, (k, window) -> {
+                if (window.closesAt > now) {
+                    return window;
+                }
+                closed[0] = window;
+                return null;
+            });
+            Window window = closed[0];
+            if (window != null && window.pending > 0) {
+                String content = window.pending == 1
+                        ? window.lastContent
+                        : window.pending + " more updates. Latest: " + window.lastContent;
+                digests.add(notification(key.userId(), window.type, content, createdAt));
+            }
+        }
+        if (!digests.isEmpty()) {
+            deliver(digests);
+            log.debug("Delivered {} notification digests", digests.size());
+        }
+    }
+
+    private void deliver(List<Notification> notifications) {
+        unreadCounterService.saveAll(notifications).forEach(pushService::publishNotification);
+    }
+
+    private static Notification notification(Long userId, String type, String content, LocalDateTime createdAt) {
+        return Notification.builder().userId(userId).type(type).content(content).read(false).createdAt(createdAt).build();
+    }
+
+    private record WindowKey(Long userId, String group) {
+    }
+
+    private static final class Window {
+        private final String type;
+        private final long closesAt;
+        private int pending;
+        private String lastContent;
+
+        private Window(String type, long closesAt) {
+            this.type = type;
+            this.closesAt = closesAt;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.steelfabpro.communication_service.service;
+
+import com.steelfabpro.communication_service.dto.MessageResponse;
+import com.steelfabpro.communication_service.model.Notification;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Server-sent event subscriptions for thread messages and user notifications. Publishing only
+ * enqueues into each subscriber's bounded buffer; writes to the connection happen on the dispatch
+ * pool. A subscriber whose buffer overflows is disconnected and is expected to reconnect and catch
+ * up through the cursor-paginated endpoints.
+ */
+@Slf4j
+@Service
+public class PushService {
+    private final Map<Long, Set<Subscription>> threadSubscriptions = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Subscription>> userSubscriptions = new ConcurrentHashMap<>();
+    private final ExecutorService dispatcher;
+    private final int bufferSize;
+    private final long timeoutMs;
+
+    public PushService(@Value("${communication.push.threads:4}") int threads,
+                       @Value("${communication.push.buffer-size:256}") int bufferSize,
+                       @Value("${communication.push.timeout-ms:1800000}") long timeoutMs) {
+        this.dispatcher = Executors.newFixedThreadPool(threads);
+        this.bufferSize = bufferSize;
+        this.timeoutMs = timeoutMs;
+    }
+
+    public SseEmitter subscribeToThread(Long threadId) {
+        return subscribe(threadSubscriptions, threadId);
+    }
+
+    public SseEmitter subscribeToNotifications(Long userId) {
+        return subscribe(userSubscriptions, userId);
+    }
+
+    public void publishMessage(MessageResponse message) {
+        publish(threadSubscriptions.get(message.getThreadId()), SseEmitter.event()
+                .name("message").id(String.valueOf(message.getId())).data(message));
+    }
+
+    public void publishNotification(Notification notification) {
+        publish(userSubscriptions.get(notification.getUserId()), SseEmitter.event()
+                .name("notification").id(String.valueOf(notification.getId())).data(notification));
+    }
+
+    @Scheduled(fixedDelayString = "${communication.push.heartbeat-ms:15000}")
+    public void heartbeat() {
+        threadSubscriptions.values().forEach(subscriptions -> publish(subscriptions, SseEmitter.event().comment("keepalive")));
+        userSubscriptions.values().forEach(subscriptions -> publish(subscriptions, SseEmitter.event().comment("keepalive")));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        threadSubscriptions.values().forEach(subscriptions -> subscriptions.forEach(Subscription::close));
+        userSubscriptions.values().forEach(subscriptions -> subscriptions.forEach(Subscription::close));
+    }
+
+    private SseEmitter subscribe(Map<Long, Set<Subscription>> registry, Long key) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscription subscription = new Subscription(emitter);
+        registry.compute(key, (k, subscriptions) -> {
+            Set<Subscription> target = subscriptions != null ? subscriptions : ConcurrentHashMap.newKeySet();
+            target.add(subscription);
+            return target;
+        });
+        Runnable unregister = () -> {
+            subscription.closed = true;
+            registry.computeIfPresent(key, (k, subscriptions) -> {
+                subscriptions.remove(subscription);
+                return subscriptions.isEmpty() ? null : subscriptions;
+            });
+        };
+        emitter.onCompletion(unregister);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(e -> unregister.run());
+        return emitter;
+    }
+
+    private void publish(Set<Subscription> subscriptions, SseEmitter.SseEventBuilder builder) {
+        if (subscriptions == null) {
+            return;
+        }
+        Set<ResponseBodyEmitter.DataWithMediaType> event = builder.build();
+        for (Subscription subscription : subscriptions) {
+            subscription.offer(event);
+        }
+    }
+
+    private final class Subscription {
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscription(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(Set<ResponseBodyEmitter.DataWithMediaType> event) {
+            if (closed) {
+                return;
+            }
+            if (!buffer.offer(event)) {
+                log.debug("Disconnecting slow SSE subscriber after {} buffered events", bufferSize);
+                close();
+                return;
+            }
+            schedule();
+        }
+
+        void close() {
+            closed = true;
+            buffer.clear();
+            emitter.complete();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Set<ResponseBodyEmitter.DataWithMediaType> event;
+                while (!closed && (event = buffer.poll()) != null) {
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                closed = true;
+                emitter.completeWithError(e);
+            } finally {
+                scheduled.set(false);
+                if (!closed && !buffer.isEmpty()) {
+                    schedule();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.steelfabpro.communication_service.service;
+
+import com.steelfabpro.communication_service.dto.ThreadSummaryResponse;
+import com.steelfabpro.communication_service.model.Message;
+import com.steelfabpro.communication_service.model.MessageRepository;
+import com.steelfabpro.communication_service.model.Thread;
+import com.steelfabpro.communication_service.model.ThreadRepository;
+import com.steelfabpro.communication_service.model.ThreadSummary;
+import com.steelfabpro.communication_service.model.ThreadSummaryRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Keeps one {@code thread_summaries} row per thread, written in the same transaction as the thread
+ * or message it describes, so the project thread list never has to touch {@code messages}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ThreadSummaryService {
+    private static final int SNIPPET_LENGTH = 200;
+
+    private final ThreadRepository threadRepository;
+    private final MessageRepository messageRepository;
+    private final ThreadSummaryRepository threadSummaryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MessageArchiver messageArchiver;
+
+    @PostConstruct
+    public void backfill() {
+        if (threadSummaryRepository.count() == 0 && threadRepository.count() > 0) {
+            Integer threads = transactionTemplate.execute(status -> threadSummaryRepository.backfill());
+            log.info("Backfilled summaries for {} threads", threads);
+        }
+    }
+
+    public Thread createThread(Thread thread) {
+        return transactionTemplate.execute(status -> {
+            Thread saved = threadRepository.save(thread);
+            threadSummaryRepository.save(ThreadSummary.builder()
+                    .threadId(saved.getId())
+                    .projectId(saved.getProjectId())
+                    .createdBy(saved.getCreatedBy())
+                    .createdAt(saved.getCreatedAt())
+                    .messageCount(0L)
+                    .participantIds(",")
+                    .lastActivityAt(saved.getCreatedAt())
+                    .build());
+            return saved;
+        });
+    }
+
+    public Message postMessage(Thread thread, Message message) {
+        return transactionTemplate.execute(status -> {
+            threadSummaryRepository.lockById(thread.getId());
+            messageArchiver.restoreIfArchived(thread.getId());
+            Message saved = messageRepository.save(message);
+            threadSummaryRepository.recordMessage(thread.getId(), thread.getProjectId(), thread.getCreatedBy(), thread.getCreatedAt(),
+                    saved.getId(), saved.getSenderId(), snippet(saved.getContent()), saved.getSentAt());
+            return saved;
+        });
+    }
+
+    public List<ThreadSummaryResponse> getProjectThreads(Long projectId, Long before, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        List<ThreadSummary> summaries;
+        if (before == null) {
+            summaries = threadSummaryRepository.findLatest(projectId, page);
+        } else {
+            ThreadSummary cursor = threadSummaryRepository.findById(before)
+                    .filter(s -> s.getProjectId().equals(projectId))
+                    .orElseThrow(() -> new IllegalArgumentException("Thread not found"));
+            summaries = threadSummaryRepository.findBefore(projectId, cursor.getLastActivityAt(), cursor.getThreadId(), page);
+        }
+        return summaries.stream().map(ThreadSummaryService::toResponse).toList();
+    }
+
+    private static ThreadSummaryResponse toResponse(ThreadSummary summary) {
+        List<Long> participants = Arrays.stream(summary.getParticipantIds().split(","))
+                .filter(id -> !id.isEmpty())
+                .map(Long::valueOf)
+                .toList();
+        return new ThreadSummaryResponse(summary.getThreadId(), summary.getProjectId(), summary.getCreatedBy(), summary.getCreatedAt(),
+                summary.getMessageCount(), participants, summary.getLastMessageId(), summary.getLastSenderId(),
+                summary.getLastMessageSnippet(), summary.getLastSentAt(), summary.getLastActivityAt());
+    }
+
+    private static String snippet(String content) {
+        if (content == null || content.length() <= SNIPPET_LENGTH) {
+            return content;
+        }
+        int end = Character.isHighSurrogate(content.charAt(SNIPPET_LENGTH - 1)) ? SNIPPET_LENGTH - 1 : SNIPPET_LENGTH;
+        return content.substring(0, end);
+    }
+}
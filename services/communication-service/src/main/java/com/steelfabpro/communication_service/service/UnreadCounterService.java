@@ -0,0 +1,139 @@
+package com.steelfabpro.communication_service.service;
+
+import com.steelfabpro.communication_service.model.Notification;
+import com.steelfabpro.communication_service.model.NotificationRepository;
+import com.steelfabpro.communication_service.model.UnreadCounter;
+import com.steelfabpro.communication_service.model.UnreadCounterRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Per-user unread notification counts. The count lives in {@code notification_counters} and is
+ * changed in the same transaction as the notifications it counts; the in-memory copy is dropped
+ * after every committed change and only repopulated by a read that started after that change.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UnreadCounterService {
+    private static final String INSERT_NOTIFICATION = "insert into notifications (user_id, type, content, read, created_at) values (?, ?, ?, ?, ?)";
+    private static final String ADD_UNREAD = "insert into notification_counters (user_id, unread_count) values (?, ?) " +
+            "on conflict (user_id) do update set unread_count = notification_counters.unread_count + excluded.unread_count";
+
+    private final NotificationRepository notificationRepository;
+    private final UnreadCounterRepository unreadCounterRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Long, Long> counts = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void backfill() {
+        if (unreadCounterRepository.count() == 0) {
+            Integer users = transactionTemplate.execute(status -> unreadCounterRepository.backfill());
+            log.info("Backfilled unread notification counters for {} users", users);
+        }
+    }
+
+    public Notification save(Notification notification) {
+        Notification saved = transactionTemplate.execute(status -> {
+            Notification created = notificationRepository.save(notification);
+            if (!Boolean.TRUE.equals(created.getRead())) {
+                unreadCounterRepository.add(created.getUserId(), 1);
+            }
+            return created;
+        });
+        changed(saved.getUserId());
+        return saved;
+    }
+
+    public List<Notification> saveAll(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return notifications;
+        }
+        Map<Long, Long> unreadByUser = notifications.stream()
+                .filter(n -> !Boolean.TRUE.equals(n.getRead()))
+                .collect(Collectors.groupingBy(Notification::getUserId, TreeMap::new, Collectors.counting()));
+        transactionTemplate.executeWithoutResult(status -> {
+            GeneratedKeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_NOTIFICATION, new String[] {"id"}), new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    Notification notification = notifications.get(i);
+                    ps.setLong(1, notification.getUserId());
+                    ps.setString(2, notification.getType());
+                    ps.setString(3, notification.getContent());
+                    ps.setBoolean(4, Boolean.TRUE.equals(notification.getRead()));
+                    ps.setTimestamp(5, Timestamp.valueOf(notification.getCreatedAt()));
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return notifications.size();
+                }
+            }, keys);
+            List<Map<String, Object>> ids = keys.getKeyList();
+            for (int i = 0; i < ids.size(); i++) {
+                notifications.get(i).setId(((Number) ids.get(i).get("id")).longValue());
+            }
+            jdbcTemplate.batchUpdate(ADD_UNREAD, unreadByUser.entrySet().stream()
+                    .map(e -> new Object[] {e.getKey(), e.getValue()})
+                    .toList());
+        });
+        unreadByUser.keySet().forEach(this::changed);
+        return notifications;
+    }
+
+    public int markRead(Long userId, Collection<Long> notificationIds) {
+        int updated = transactionTemplate.execute(status -> {
+            int count = notificationIds == null || notificationIds.isEmpty()
+                    ? notificationRepository.markAllRead(userId)
+                    : notificationRepository.markRead(userId, notificationIds);
+            if (count > 0) {
+                unreadCounterRepository.add(userId, -count);
+            }
+            return count;
+        });
+        if (updated > 0) {
+            changed(userId);
+        }
+        return updated;
+    }
+
+    public long getUnreadCount(Long userId) {
+        Long cached = counts.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+        long version = versionOf(userId).get();
+        long loaded = unreadCounterRepository.findById(userId).map(UnreadCounter::getUnreadCount).orElse(0L);
+        counts.compute(userId, (k, current) -> versionOf(userId).get() == version ? loaded : current);
+        return loaded;
+    }
+
+    private void changed(Long userId) {
+        versionOf(userId).incrementAndGet();
+        counts.remove(userId);
+    }
+
+    private AtomicLong versionOf(Long userId) {
+        return versions.computeIfAbsent(userId, k -> new AtomicLong());
+    }
+}
@@ -0,0 +1,3 @@
+alter table messages add column if not exists search_vector tsvector
+    generated always as (to_tsvector('english', coalesce(content, ''))) stored;
+create index if not exists idx_messages_search_vector on messages using gin (search_vector);
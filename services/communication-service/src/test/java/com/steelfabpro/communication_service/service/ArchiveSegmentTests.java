@@ -0,0 +1,81 @@
+package com.steelfabpro.communication_service.service;
+
+import com.steelfabpro.communication_service.dto.MessageResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArchiveSegmentTests {
+	private static final long THREAD_ID = 12L;
+	private static final LocalDateTime START = LocalDateTime.of(2024, 3, 1, 9, 0);
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void roundTripsEveryFieldAcrossBlocks() throws IOException {
+		List<MessageResponse> messages = messages(1_000);
+		Path file = directory.resolve("full.seg");
+
+		assertEquals(messages.size(), ArchiveSegment.write(file, messages.iterator()));
+		assertEquals(messages, ArchiveSegment.readAll(file, THREAD_ID));
+	}
+
+	@Test
+	void pagesLikeTheLiveQueries() throws IOException {
+		List<MessageResponse> messages = messages(1_000);
+		Path file = directory.resolve("paged.seg");
+		ArchiveSegment.write(file, messages.iterator());
+
+		assertEquals(messages.subList(950, 1_000), ArchiveSegment.page(file, THREAD_ID, null, null, 50));
+		// Cursors on either side of the 256-message block boundaries.
+		long beforeId = messages.get(260).getId();
+		assertEquals(messages.subList(200, 260), ArchiveSegment.page(file, THREAD_ID, beforeId, null, 60));
+		long afterId = messages.get(250).getId();
+		assertEquals(messages.subList(251, 811), ArchiveSegment.page(file, THREAD_ID, null, afterId, 560));
+		assertEquals(messages.subList(0, 3), ArchiveSegment.page(file, THREAD_ID, messages.get(3).getId(), null, 50));
+		assertTrue(ArchiveSegment.page(file, THREAD_ID, null, messages.get(999).getId(), 50).isEmpty());
+		assertTrue(ArchiveSegment.page(file, THREAD_ID, messages.get(0).getId(), null, 50).isEmpty());
+		assertThrows(IllegalArgumentException.class, () -> ArchiveSegment.page(file, THREAD_ID, 5L, null, 50));
+	}
+
+	@Test
+	void writesAnEmptyThread() throws IOException {
+		Path file = directory.resolve("empty.seg");
+
+		assertEquals(0, ArchiveSegment.write(file, Collections.emptyIterator()));
+		assertTrue(ArchiveSegment.readAll(file, THREAD_ID).isEmpty());
+		assertTrue(ArchiveSegment.page(file, THREAD_ID, null, null, 50).isEmpty());
+	}
+
+	@Test
+	void rejectsFilesWithoutTheTrailer() throws IOException {
+		Path file = directory.resolve("broken.seg");
+		Files.write(file, new byte[64]);
+
+		assertThrows(IOException.class, () -> ArchiveSegment.readAll(file, THREAD_ID));
+	}
+
+	/** Ids are not in send order, as after a backdated import, so paging must follow file order. */
+	private static List<MessageResponse> messages(int count) {
+		List<MessageResponse> messages = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			long id = 10_000 + (i % 2 == 0 ? i : count + i);
+			String content = i % 7 == 0 ? "Zeichnung ge\u00e4ndert \u2013 Rev. " + i + " \u2714" : "Message " + i;
+			messages.add(new MessageResponse(id, THREAD_ID, 100L + i % 5, content,
+					START.plusSeconds(i * 37L).plusNanos(i * 1_000L), i % 3 == 0 ? null : "TEXT"));
+		}
+		return messages;
+	}
+}
@@ -1,13 +1,16 @@
 package com.steelfabpro.inventory;
 
+import com.steelfabpro.inventory.dto.MaterialConsumption;
 import com.steelfabpro.inventory.model.Alert;
 import com.steelfabpro.inventory.model.Material;
 import com.steelfabpro.inventory.model.StockEntry;
 import com.steelfabpro.inventory.service.InventoryService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -34,11 +37,20 @@ public class InventoryController {
     }
 
     @PostMapping("/materials/{materialId}/stock-out")
-    public ResponseEntity<StockEntry> stockOut(@PathVariable Long materialId, @RequestBody StockEntry entry, @RequestParam Long userId) {
-        StockEntry result = inventoryService.stockOut(materialId, entry, userId);
+    public ResponseEntity<StockEntry> stockOut(@PathVariable Long materialId, @RequestBody StockEntry entry, @RequestParam Long userId,
+                                               @RequestParam(required = false) Long projectId) {
+        StockEntry result = inventoryService.stockOut(materialId, entry, userId, projectId);
         return ResponseEntity.ok(result);
     }
 
+    @GetMapping("/inventory-logs/consumption")
+    public ResponseEntity<List<MaterialConsumption>> getConsumption(
+            @RequestParam(required = false) Long projectId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(inventoryService.getConsumption(projectId, from, to));
+    }
+
     @GetMapping("/alerts")
     public ResponseEntity<List<Alert>> getAlerts() {
         return ResponseEntity.ok(inventoryService.getAlerts());
@@ -0,0 +1,15 @@
+package com.steelfabpro.inventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MaterialConsumption {
+    private Long materialId;
+    private String materialName;
+    private String unit;
+    private Long quantity;
+}
@@ -5,7 +5,10 @@ import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "inventory_logs")
+@Table(name = "inventory_logs", indexes = {
+        @Index(name = "idx_inventory_logs_change_type_timestamp", columnList = "change_type, timestamp"),
+        @Index(name = "idx_inventory_logs_project_change_type_timestamp", columnList = "project_id, change_type, timestamp")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -22,6 +25,8 @@ public class InventoryLog {
     private String changeType;
     private Integer quantity;
     private Long userId;
+    /** The project stock was issued to; null for movements not booked against a project. */
+    private Long projectId;
     private LocalDateTime timestamp;
     private String note;
 } 
\ No newline at end of file
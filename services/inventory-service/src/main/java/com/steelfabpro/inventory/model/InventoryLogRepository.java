@@ -1,6 +1,24 @@
 package com.steelfabpro.inventory.model;
 
+import com.steelfabpro.inventory.dto.MaterialConsumption;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 public interface InventoryLogRepository extends JpaRepository<InventoryLog, Long> {
-} 
\ No newline at end of file
+    @Query("select new com.steelfabpro.inventory.dto.MaterialConsumption(m.id, m.name, m.unit, -sum(l.quantity)) " +
+            "from InventoryLog l join l.material m " +
+            "where l.changeType = 'OUT' and l.timestamp >= :from and l.timestamp < :to " +
+            "group by m.id, m.name, m.unit")
+    List<MaterialConsumption> sumConsumption(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("select new com.steelfabpro.inventory.dto.MaterialConsumption(m.id, m.name, m.unit, -sum(l.quantity)) " +
+            "from InventoryLog l join l.material m " +
+            "where l.projectId = :projectId and l.changeType = 'OUT' and l.timestamp >= :from and l.timestamp < :to " +
+            "group by m.id, m.name, m.unit")
+    List<MaterialConsumption> sumProjectConsumption(@Param("projectId") Long projectId,
+                                                    @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
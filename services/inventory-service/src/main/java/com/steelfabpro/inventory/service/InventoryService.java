@@ -1,5 +1,6 @@
 package com.steelfabpro.inventory.service;
 
+import com.steelfabpro.inventory.dto.MaterialConsumption;
 import com.steelfabpro.inventory.model.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -39,7 +40,7 @@ public class InventoryService {
         return savedEntry;
     }
 
-    public StockEntry stockOut(Long materialId, StockEntry entry, Long userId) {
+    public StockEntry stockOut(Long materialId, StockEntry entry, Long userId, Long projectId) {
         Material material = materialRepository.findById(materialId).orElseThrow(() -> new IllegalArgumentException("Material not found"));
         entry.setMaterial(material);
         entry.setQuantity(-Math.abs(entry.getQuantity()));
@@ -49,6 +50,7 @@ public class InventoryService {
                 .changeType("OUT")
                 .quantity(entry.getQuantity())
                 .userId(userId)
+                .projectId(projectId)
                 .timestamp(LocalDateTime.now())
                 .note("Stock out")
                 .build());
@@ -66,6 +68,12 @@ public class InventoryService {
         return savedEntry;
     }
 
+    public List<MaterialConsumption> getConsumption(Long projectId, LocalDateTime from, LocalDateTime to) {
+        return projectId != null
+                ? inventoryLogRepository.sumProjectConsumption(projectId, from, to)
+                : inventoryLogRepository.sumConsumption(from, to);
+    }
+
     public List<Alert> getAlerts() {
         return alertRepository.findAll();
     }
@@ -25,6 +25,11 @@ public class PaymentController {
         return ResponseEntity.ok(paymentService.getAllInvoices());
     }
 
+    @GetMapping("/projects/{projectId}/invoices")
+    public ResponseEntity<List<Invoice>> getProjectInvoices(@PathVariable Long projectId) {
+        return ResponseEntity.ok(paymentService.getInvoicesByProject(projectId));
+    }
+
     @PostMapping("/invoices/{invoiceId}/payments")
     public ResponseEntity<Payment> recordPayment(@PathVariable Long invoiceId, @RequestBody Payment payment) {
         Payment created = paymentService.recordPayment(invoiceId, payment);
@@ -5,7 +5,10 @@ import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "invoices")
+@Table(name = "invoices", indexes = {
+        @Index(name = "idx_invoices_updated_at_id", columnList = "updated_at, id"),
+        @Index(name = "idx_invoices_project_id_id", columnList = "project_id, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -27,4 +30,14 @@ public class Invoice {
     private LocalDateTime issuedAt;
     private LocalDateTime dueDate;
     private LocalDateTime paidAt;
+
+    /** Stamped on every insert and update; the reporting ETL extracts changed invoices by it. */
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = LocalDateTime.now();
+    }
 } 
\ No newline at end of file
@@ -1,6 +1,18 @@
 package com.steelfabpro.payment.model;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
-} 
\ No newline at end of file
+    List<Invoice> findByProjectIdOrderByIdAsc(Long projectId);
+
+    /** Stamps invoices written before {@code updated_at} existed with their latest known change. */
+    @Modifying
+    @Query(value = "update invoices set updated_at = coalesce(greatest(issued_at, paid_at), timestamp '1970-01-01') " +
+            "where updated_at is null",
+            nativeQuery = true)
+    int backfillUpdatedAt();
+}
@@ -1,12 +1,16 @@
 package com.steelfabpro.payment.service;
 
 import com.steelfabpro.payment.model.*;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class PaymentService {
@@ -14,6 +18,15 @@ public class PaymentService {
     private final PaymentRepository paymentRepository;
     private final PaymentMethodRepository paymentMethodRepository;
     private final TransactionRepository transactionRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void backfill() {
+        Integer invoices = transactionTemplate.execute(status -> invoiceRepository.backfillUpdatedAt());
+        if (invoices != null && invoices > 0) {
+            log.info("Backfilled updated_at for {} invoices", invoices);
+        }
+    }
 
     public Invoice createInvoice(Invoice invoice) {
         invoice.setIssuedAt(LocalDateTime.now());
@@ -25,6 +38,10 @@ public class PaymentService {
         return invoiceRepository.findAll();
     }
 
+    public List<Invoice> getInvoicesByProject(Long projectId) {
+        return invoiceRepository.findByProjectIdOrderByIdAsc(projectId);
+    }
+
     public Payment recordPayment(Long invoiceId, Payment payment) {
         Invoice invoice = invoiceRepository.findById(invoiceId).orElseThrow(() -> new IllegalArgumentException("Invoice not found"));
         payment.setInvoice(invoice);
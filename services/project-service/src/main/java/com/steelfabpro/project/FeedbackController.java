@@ -1,5 +1,6 @@
 package com.steelfabpro.project;
 
+import com.steelfabpro.project.dto.RatingSummaryResponse;
 import com.steelfabpro.project.model.Feedback;
 import com.steelfabpro.project.service.FeedbackService;
 import lombok.RequiredArgsConstructor;
@@ -21,7 +22,15 @@ public class FeedbackController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Feedback>> getFeedback(@PathVariable Long projectId) {
-        return ResponseEntity.ok(feedbackService.getFeedbackByProject(projectId));
+    public ResponseEntity<List<Feedback>> getFeedback(
+            @PathVariable Long projectId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(feedbackService.getFeedbackByProject(projectId, Math.max(page, 0), Math.min(Math.max(size, 1), 500)));
+    }
+
+    @GetMapping("/ratings")
+    public ResponseEntity<RatingSummaryResponse> getRatings(@PathVariable Long projectId) {
+        return ResponseEntity.ok(feedbackService.getProjectRatings(projectId));
     }
 } 
\ No newline at end of file
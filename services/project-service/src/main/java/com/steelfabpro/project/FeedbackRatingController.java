@@ -0,0 +1,31 @@
+package com.steelfabpro.project;
+
+import com.steelfabpro.project.dto.RatingAggregateView;
+import com.steelfabpro.project.dto.RatingSummaryResponse;
+import com.steelfabpro.project.service.FeedbackService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class FeedbackRatingController {
+    private final FeedbackService feedbackService;
+
+    @GetMapping("/clients/{clientId}/feedback/ratings")
+    public ResponseEntity<RatingSummaryResponse> getClientRatings(@PathVariable Long clientId) {
+        return ResponseEntity.ok(feedbackService.getClientRatings(clientId));
+    }
+
+    @GetMapping("/feedback/leaderboard")
+    public ResponseEntity<List<RatingAggregateView>> getLeaderboard(
+            @RequestParam(defaultValue = "project") String by,
+            @RequestParam(defaultValue = "false") boolean window,
+            @RequestParam(defaultValue = "1") long minCount,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(feedbackService.getLeaderboard(by, window, minCount, Math.min(Math.max(limit, 1), 200)));
+    }
+}
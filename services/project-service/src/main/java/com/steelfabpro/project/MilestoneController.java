@@ -1,7 +1,10 @@
 package com.steelfabpro.project;
 
+import com.steelfabpro.project.dto.MilestoneUpdate;
 import com.steelfabpro.project.model.Milestone;
+import com.steelfabpro.project.model.MilestoneProgress;
 import com.steelfabpro.project.service.MilestoneService;
+import com.steelfabpro.project.service.ProgressService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -13,6 +16,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class MilestoneController {
     private final MilestoneService milestoneService;
+    private final ProgressService progressService;
 
     @PostMapping
     public ResponseEntity<Milestone> createMilestone(@PathVariable Long projectId, @RequestBody Milestone milestone) {
@@ -21,7 +25,20 @@ public class MilestoneController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Milestone>> getMilestones(@PathVariable Long projectId) {
-        return ResponseEntity.ok(milestoneService.getMilestonesByProject(projectId));
+    public ResponseEntity<List<Milestone>> getMilestones(
+            @PathVariable Long projectId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(milestoneService.getMilestonesByProject(projectId, Math.max(page, 0), Math.min(Math.max(size, 1), 500)));
+    }
+
+    @GetMapping("/progress")
+    public ResponseEntity<List<MilestoneProgress>> getMilestoneProgress(@PathVariable Long projectId) {
+        return ResponseEntity.ok(progressService.getMilestones(projectId));
+    }
+
+    @PatchMapping("/{milestoneId}")
+    public ResponseEntity<Milestone> updateMilestone(@PathVariable Long projectId, @PathVariable Long milestoneId, @RequestBody MilestoneUpdate update) {
+        return ResponseEntity.ok(milestoneService.updateMilestone(projectId, milestoneId, update));
     }
 } 
\ No newline at end of file
@@ -1,6 +1,10 @@
 package com.steelfabpro.project;
 
+import com.steelfabpro.project.dto.ProjectDashboard;
+import com.steelfabpro.project.dto.ProjectProgressView;
 import com.steelfabpro.project.model.Project;
+import com.steelfabpro.project.service.DashboardService;
+import com.steelfabpro.project.service.ProgressService;
 import com.steelfabpro.project.service.ProjectService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -13,6 +17,8 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ProjectController {
     private final ProjectService projectService;
+    private final ProgressService progressService;
+    private final DashboardService dashboardService;
 
     @PostMapping
     public ResponseEntity<Project> createProject(@RequestBody Project project) {
@@ -25,6 +31,14 @@ public class ProjectController {
         return ResponseEntity.ok(projectService.getAllProjects());
     }
 
+    @GetMapping("/progress")
+    public ResponseEntity<List<ProjectProgressView>> getProjectProgress(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "200") int limit) {
+        return ResponseEntity.ok(progressService.getProjects(afterId, status, Math.max(1, Math.min(limit, 1000))));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Project> getProjectById(@PathVariable Long id) {
         Project project = projectService.getProjectById(id);
@@ -33,4 +47,9 @@ public class ProjectController {
         }
         return ResponseEntity.ok(project);
     }
+
+    @GetMapping("/{id}/dashboard")
+    public ResponseEntity<ProjectDashboard> getDashboard(@PathVariable Long id) {
+        return ResponseEntity.ok(dashboardService.getDashboard(id));
+    }
 } 
\ No newline at end of file
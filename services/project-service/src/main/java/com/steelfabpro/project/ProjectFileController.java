@@ -3,10 +3,20 @@ package com.steelfabpro.project;
 import com.steelfabpro.project.model.ProjectFile;
 import com.steelfabpro.project.service.ProjectFileService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/projects/{projectId}/files")
@@ -21,7 +31,45 @@ public class ProjectFileController {
     }
 
     @GetMapping
-    public ResponseEntity<List<ProjectFile>> getFiles(@PathVariable Long projectId) {
-        return ResponseEntity.ok(projectFileService.getFilesByProject(projectId));
+    public ResponseEntity<List<ProjectFile>> getFiles(
+            @PathVariable Long projectId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(projectFileService.getFilesByProject(projectId, Math.max(page, 0), Math.min(Math.max(size, 1), 500)));
+    }
+
+    @GetMapping("/{fileId}/content")
+    public ResponseEntity<Resource> getContent(@PathVariable Long projectId, @PathVariable Long fileId) {
+        ProjectFile file = projectFileService.getStoredFile(projectId, fileId);
+        Resource content = new FileSystemResource(Path.of(file.getStoragePath()));
+        MediaType type = file.getFileType() != null && file.getFileType().contains("/")
+                ? MediaType.parseMediaType(file.getFileType())
+                : MediaTypeFactory.getMediaType(file.getFileName()).orElse(MediaType.APPLICATION_OCTET_STREAM);
+        return ResponseEntity.ok()
+                .contentType(type)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(file.getFileName()).build().toString())
+                .body(content);
+    }
+
+    @GetMapping("/{fileId}/previews/{size}")
+    public ResponseEntity<Resource> getPreview(
+            @PathVariable Long projectId,
+            @PathVariable Long fileId,
+            @PathVariable int size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = "\"preview-" + fileId + "-" + size + "\"";
+        CacheControl cacheControl = CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().immutable();
+        Path preview = projectFileService.getPreview(projectId, fileId, size);
+        if (etag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        if (preview == null) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).header(HttpHeaders.RETRY_AFTER, "2").cacheControl(CacheControl.noStore()).build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.IMAGE_JPEG)
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .body(new FileSystemResource(preview));
     }
 } 
\ No newline at end of file
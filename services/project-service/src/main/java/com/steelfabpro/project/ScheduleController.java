@@ -0,0 +1,39 @@
+package com.steelfabpro.project;
+
+import com.steelfabpro.project.dto.DependencyRequest;
+import com.steelfabpro.project.dto.ScheduleResponse;
+import com.steelfabpro.project.model.TaskDependency;
+import com.steelfabpro.project.service.ScheduleService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class ScheduleController {
+    private final ScheduleService scheduleService;
+
+    @GetMapping("/projects/{projectId}/schedule")
+    public ResponseEntity<ScheduleResponse> getSchedule(@PathVariable Long projectId) {
+        return ResponseEntity.ok(scheduleService.getSchedule(projectId));
+    }
+
+    @GetMapping("/tasks/{taskId}/dependencies")
+    public ResponseEntity<List<TaskDependency>> getDependencies(@PathVariable Long taskId) {
+        return ResponseEntity.ok(scheduleService.getDependencies(taskId));
+    }
+
+    @PostMapping("/tasks/{taskId}/dependencies")
+    public ResponseEntity<TaskDependency> addDependency(@PathVariable Long taskId, @RequestBody DependencyRequest request) {
+        return ResponseEntity.ok(scheduleService.addDependency(taskId, request.getPredecessorId()));
+    }
+
+    @DeleteMapping("/tasks/{taskId}/dependencies/{predecessorId}")
+    public ResponseEntity<Void> removeDependency(@PathVariable Long taskId, @PathVariable Long predecessorId) {
+        scheduleService.removeDependency(taskId, predecessorId);
+        return ResponseEntity.noContent().build();
+    }
+}
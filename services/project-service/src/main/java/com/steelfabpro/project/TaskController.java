@@ -1,5 +1,6 @@
 package com.steelfabpro.project;
 
+import com.steelfabpro.project.dto.TaskUpdate;
 import com.steelfabpro.project.model.Task;
 import com.steelfabpro.project.service.TaskService;
 import lombok.RequiredArgsConstructor;
@@ -24,4 +25,9 @@ public class TaskController {
     public ResponseEntity<List<Task>> getTasks(@PathVariable Long milestoneId) {
         return ResponseEntity.ok(taskService.getTasksByMilestone(milestoneId));
     }
-} 
\ No newline at end of file
+
+    @PatchMapping("/{taskId}")
+    public ResponseEntity<Task> updateTask(@PathVariable Long milestoneId, @PathVariable Long taskId, @RequestBody TaskUpdate update) {
+        return ResponseEntity.ok(taskService.updateTask(milestoneId, taskId, update));
+    }
+}
@@ -0,0 +1,51 @@
+package com.steelfabpro.project;
+
+import com.steelfabpro.project.dto.UploadRequest;
+import com.steelfabpro.project.dto.UploadStatusResponse;
+import com.steelfabpro.project.model.ProjectFile;
+import com.steelfabpro.project.service.UploadService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/projects/{projectId}/uploads")
+@RequiredArgsConstructor
+public class UploadController {
+    private final UploadService uploadService;
+
+    @PostMapping
+    public ResponseEntity<UploadStatusResponse> initiate(@PathVariable Long projectId, @RequestBody UploadRequest request) {
+        return ResponseEntity.ok(uploadService.initiate(projectId, request));
+    }
+
+    @GetMapping("/{uploadId}")
+    public ResponseEntity<UploadStatusResponse> getStatus(@PathVariable Long projectId, @PathVariable Long uploadId) {
+        return ResponseEntity.ok(uploadService.getStatus(projectId, uploadId));
+    }
+
+    @PutMapping(value = "/{uploadId}/chunks", consumes = MediaType.ALL_VALUE)
+    public ResponseEntity<UploadStatusResponse> writeChunk(
+            @PathVariable Long projectId,
+            @PathVariable Long uploadId,
+            @RequestParam long offset,
+            @RequestHeader(value = "X-Chunk-Sha256", required = false) String sha256,
+            InputStream body) throws IOException {
+        return ResponseEntity.ok(uploadService.writeChunk(projectId, uploadId, offset, sha256, body));
+    }
+
+    @PostMapping("/{uploadId}/complete")
+    public ResponseEntity<ProjectFile> complete(@PathVariable Long projectId, @PathVariable Long uploadId) {
+        return ResponseEntity.ok(uploadService.complete(projectId, uploadId));
+    }
+
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<Void> abort(@PathVariable Long projectId, @PathVariable Long uploadId) {
+        uploadService.abort(projectId, uploadId);
+        return ResponseEntity.noContent().build();
+    }
+}
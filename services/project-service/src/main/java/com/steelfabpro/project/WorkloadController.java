@@ -0,0 +1,37 @@
+package com.steelfabpro.project;
+
+import com.steelfabpro.project.dto.AssigneeWorkloadResponse;
+import com.steelfabpro.project.model.Task;
+import com.steelfabpro.project.service.TaskService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class WorkloadController {
+    private final TaskService taskService;
+
+    @GetMapping("/assignees/{assigneeId}/tasks")
+    public ResponseEntity<List<Task>> getTasksByAssignee(@PathVariable Long assigneeId, @RequestParam(required = false) String status) {
+        return ResponseEntity.ok(taskService.getTasksByAssignee(assigneeId, status));
+    }
+
+    @GetMapping("/assignees/{assigneeId}/workload")
+    public ResponseEntity<AssigneeWorkloadResponse> getWorkload(
+            @PathVariable Long assigneeId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate week) {
+        return ResponseEntity.ok(taskService.getWorkload(assigneeId, week));
+    }
+
+    @GetMapping("/workload")
+    public ResponseEntity<List<AssigneeWorkloadResponse>> getWorkloadForWeek(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate week) {
+        return ResponseEntity.ok(taskService.getWorkloadForWeek(week));
+    }
+}
@@ -0,0 +1,12 @@
+package com.steelfabpro.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DependencyRequest {
+    private Long predecessorId;
+}
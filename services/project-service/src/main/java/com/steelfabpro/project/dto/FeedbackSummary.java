@@ -0,0 +1,16 @@
+package com.steelfabpro.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class FeedbackSummary {
+    private Long id;
+    private Long userId;
+    private String comment;
+    private Integer rating;
+    private LocalDateTime createdAt;
+}
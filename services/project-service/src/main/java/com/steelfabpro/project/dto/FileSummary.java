@@ -0,0 +1,16 @@
+package com.steelfabpro.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class FileSummary {
+    private Long id;
+    private String fileUrl;
+    private String fileType;
+    private Long uploadedBy;
+    private LocalDateTime uploadedAt;
+}
@@ -0,0 +1,18 @@
+package com.steelfabpro.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+public class MilestoneSummary {
+    private Long id;
+    private String name;
+    private LocalDate dueDate;
+    private String status;
+    private LocalDate completedAt;
+    private Long totalTasks;
+    private Long completedTasks;
+}
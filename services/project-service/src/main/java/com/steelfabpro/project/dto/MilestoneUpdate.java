@@ -0,0 +1,17 @@
+package com.steelfabpro.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MilestoneUpdate {
+    private String name;
+    private LocalDate dueDate;
+    private String status;
+    private LocalDate completedAt;
+}
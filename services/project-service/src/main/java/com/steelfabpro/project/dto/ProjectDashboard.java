@@ -0,0 +1,17 @@
+package com.steelfabpro.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ProjectDashboard {
+    private ProjectSummary project;
+    private List<MilestoneSummary> milestones;
+    private List<TaskSummary> tasks;
+    private boolean tasksTruncated;
+    private List<FileSummary> recentFiles;
+    private List<FeedbackSummary> recentFeedback;
+}
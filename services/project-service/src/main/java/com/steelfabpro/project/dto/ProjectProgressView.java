@@ -0,0 +1,35 @@
+package com.steelfabpro.project.dto;
+
+import java.time.LocalDate;
+
+public interface ProjectProgressView {
+    Long getProjectId();
+
+    String getName();
+
+    String getStatus();
+
+    LocalDate getStartDate();
+
+    LocalDate getEndDate();
+
+    Long getTotalMilestones();
+
+    Long getCompletedMilestones();
+
+    Long getTotalTasks();
+
+    Long getCompletedTasks();
+
+    default double getMilestonePercent() {
+        return percent(getCompletedMilestones(), getTotalMilestones());
+    }
+
+    default double getTaskPercent() {
+        return percent(getCompletedTasks(), getTotalTasks());
+    }
+
+    private static double percent(Long completed, Long total) {
+        return total == null || total == 0 ? 0 : Math.round(completed * 1000.0 / total) / 10.0;
+    }
+}
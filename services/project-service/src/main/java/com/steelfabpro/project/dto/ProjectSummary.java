@@ -0,0 +1,21 @@
+package com.steelfabpro.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+public class ProjectSummary {
+    private Long id;
+    private String name;
+    private String description;
+    private String status;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Long totalMilestones;
+    private Long completedMilestones;
+    private Long totalTasks;
+    private Long completedTasks;
+}
@@ -0,0 +1,26 @@
+package com.steelfabpro.project.dto;
+
+public interface RatingAggregateView {
+    Long getProjectId();
+
+    Long getClientId();
+
+    Long getRatingCount();
+
+    Long getRatingSum();
+
+    Long getRating1();
+
+    Long getRating2();
+
+    Long getRating3();
+
+    Long getRating4();
+
+    Long getRating5();
+
+    default double getAverage() {
+        Long count = getRatingCount();
+        return count == null || count == 0 ? 0 : Math.round(getRatingSum() * 100.0 / count) / 100.0;
+    }
+}
@@ -0,0 +1,16 @@
+package com.steelfabpro.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class RatingSummaryResponse {
+    private RatingAggregateView allTime;
+    private LocalDate windowStart;
+    private RatingAggregateView window;
+    private List<RatingTrendView> weeklyTrend;
+}
@@ -0,0 +1,16 @@
+package com.steelfabpro.project.dto;
+
+import java.time.LocalDate;
+
+public interface RatingTrendView {
+    LocalDate getWeekStart();
+
+    Long getRatingCount();
+
+    Long getRatingSum();
+
+    default double getAverage() {
+        Long count = getRatingCount();
+        return count == null || count == 0 ? 0 : Math.round(getRatingSum() * 100.0 / count) / 100.0;
+    }
+}
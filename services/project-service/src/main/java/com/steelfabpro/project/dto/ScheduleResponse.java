@@ -0,0 +1,18 @@
+package com.steelfabpro.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ScheduleResponse {
+    private Long projectId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private LocalDate projectedEndDate;
+    private List<Long> criticalPath;
+    private List<ScheduledTask> tasks;
+}
@@ -0,0 +1,18 @@
+package com.steelfabpro.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+public class ScheduledTask {
+    private Long taskId;
+    private LocalDate earliestStart;
+    private LocalDate earliestFinish;
+    private LocalDate latestStart;
+    private LocalDate latestFinish;
+    private int slackDays;
+    private boolean critical;
+}
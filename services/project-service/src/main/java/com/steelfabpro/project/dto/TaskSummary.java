@@ -0,0 +1,19 @@
+package com.steelfabpro.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+public class TaskSummary {
+    private Long id;
+    private Long milestoneId;
+    private Long assigneeId;
+    private String description;
+    private String status;
+    private LocalDate dueDate;
+    private LocalDate completedAt;
+    private Double estimatedHours;
+}
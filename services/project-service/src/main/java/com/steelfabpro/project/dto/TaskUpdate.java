@@ -0,0 +1,21 @@
+package com.steelfabpro.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskUpdate {
+    private Long assigneeId;
+    private String description;
+    private String status;
+    private LocalDate dueDate;
+    private LocalDate completedAt;
+    private Double estimatedHours;
+    /** Clears {@code completedAt} and, unless a status is given, sets the status back to {@code OPEN}. */
+    private Boolean reopen;
+}
@@ -0,0 +1,16 @@
+package com.steelfabpro.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadRequest {
+    private String fileName;
+    private String fileType;
+    private Long uploadedBy;
+    private Long totalSize;
+    private Integer chunkSize;
+}
@@ -0,0 +1,20 @@
+package com.steelfabpro.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class UploadStatusResponse {
+    private Long uploadId;
+    private String status;
+    private long totalSize;
+    private int chunkSize;
+    private int chunkCount;
+    private int receivedChunks;
+    private Long nextOffset;
+    private List<Long> missingOffsets;
+    private Long projectFileId;
+}
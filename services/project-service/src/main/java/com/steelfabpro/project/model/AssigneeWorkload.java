@@ -0,0 +1,31 @@
+package com.steelfabpro.project.model;
+
+import lombok.*;
+import javax.persistence.*;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "assignee_workload", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_assignee_workload_assignee_week", columnNames = {"assignee_id", "week_start"})
+}, indexes = @Index(name = "idx_assignee_workload_week", columnList = "week_start"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AssigneeWorkload {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long assigneeId;
+
+    @Column(nullable = false)
+    private LocalDate weekStart;
+
+    @Column(nullable = false)
+    private Long openTasks;
+
+    @Column(nullable = false)
+    private Double openHours;
+}
@@ -0,0 +1,36 @@
+package com.steelfabpro.project.model;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface AssigneeWorkloadRepository extends JpaRepository<AssigneeWorkload, Long> {
+    Optional<AssigneeWorkload> findByAssigneeIdAndWeekStart(Long assigneeId, LocalDate weekStart);
+
+    List<AssigneeWorkload> findByWeekStartAndOpenTasksGreaterThanOrderByOpenHoursDesc(LocalDate weekStart, Long openTasks);
+
+    @Modifying
+    @Query(value = "insert into assignee_workload (assignee_id, week_start, open_tasks, open_hours) " +
+            "values (:assigneeId, :weekStart, greatest(:tasks, 0), greatest(:hours, 0)) " +
+            "on conflict (assignee_id, week_start) do update set " +
+            "open_tasks = greatest(assignee_workload.open_tasks + :tasks, 0), " +
+            "open_hours = greatest(assignee_workload.open_hours + :hours, 0)",
+            nativeQuery = true)
+    int add(@Param("assigneeId") Long assigneeId, @Param("weekStart") LocalDate weekStart,
+            @Param("tasks") long tasks, @Param("hours") double hours);
+
+    @Modifying
+    @Query(value = "insert into assignee_workload (assignee_id, week_start, open_tasks, open_hours) " +
+            "select t.assignee_id, cast(date_trunc('week', t.due_date) as date), count(*), coalesce(sum(t.estimated_hours), 0) " +
+            "from tasks t where t.due_date is not null and t.completed_at is null " +
+            "and (t.status is null or upper(t.status) not in ('DONE', 'COMPLETED', 'CANCELLED')) " +
+            "group by t.assignee_id, cast(date_trunc('week', t.due_date) as date) " +
+            "on conflict (assignee_id, week_start) do nothing",
+            nativeQuery = true)
+    int backfill();
+}
@@ -5,7 +5,7 @@ import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "feedback")
+@Table(name = "feedback", indexes = @Index(name = "idx_feedback_project_created_at", columnList = "project_id, created_at"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
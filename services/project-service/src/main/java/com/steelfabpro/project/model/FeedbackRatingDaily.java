@@ -0,0 +1,52 @@
+package com.steelfabpro.project.model;
+
+import lombok.*;
+import javax.persistence.*;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "feedback_rating_daily", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_feedback_rating_daily_project_date", columnNames = {"project_id", "rating_date"})
+}, indexes = {
+        @Index(name = "idx_feedback_rating_daily_client_date", columnList = "client_id, rating_date"),
+        @Index(name = "idx_feedback_rating_daily_date", columnList = "rating_date")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FeedbackRatingDaily {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    @Column(name = "client_id", nullable = false)
+    private Long clientId;
+
+    @Column(name = "rating_date", nullable = false)
+    private LocalDate ratingDate;
+
+    @Column(nullable = false)
+    private Long ratingCount;
+
+    @Column(nullable = false)
+    private Long ratingSum;
+
+    @Column(nullable = false)
+    private Long rating1;
+
+    @Column(nullable = false)
+    private Long rating2;
+
+    @Column(nullable = false)
+    private Long rating3;
+
+    @Column(nullable = false)
+    private Long rating4;
+
+    @Column(nullable = false)
+    private Long rating5;
+}
@@ -0,0 +1,82 @@
+package com.steelfabpro.project.model;
+
+import com.steelfabpro.project.dto.RatingAggregateView;
+import com.steelfabpro.project.dto.RatingTrendView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface FeedbackRatingDailyRepository extends JpaRepository<FeedbackRatingDaily, Long> {
+    String SUMS = FeedbackRatingTotalRepository.SUMS;
+
+    @Modifying
+    @Query(value = "insert into feedback_rating_daily (project_id, client_id, rating_date, rating_count, rating_sum, rating1, rating2, rating3, rating4, rating5) " +
+            "values (:projectId, :clientId, :ratingDate, 1, :rating, " +
+            "case when :rating = 1 then 1 else 0 end, case when :rating = 2 then 1 else 0 end, case when :rating = 3 then 1 else 0 end, " +
+            "case when :rating = 4 then 1 else 0 end, case when :rating = 5 then 1 else 0 end) " +
+            "on conflict (project_id, rating_date) do update set " +
+            "rating_count = feedback_rating_daily.rating_count + 1, " +
+            "rating_sum = feedback_rating_daily.rating_sum + excluded.rating_sum, " +
+            "rating1 = feedback_rating_daily.rating1 + excluded.rating1, " +
+            "rating2 = feedback_rating_daily.rating2 + excluded.rating2, " +
+            "rating3 = feedback_rating_daily.rating3 + excluded.rating3, " +
+            "rating4 = feedback_rating_daily.rating4 + excluded.rating4, " +
+            "rating5 = feedback_rating_daily.rating5 + excluded.rating5",
+            nativeQuery = true)
+    int add(@Param("projectId") Long projectId, @Param("clientId") Long clientId, @Param("ratingDate") LocalDate ratingDate,
+            @Param("rating") int rating);
+
+    @Modifying
+    @Query(value = "insert into feedback_rating_daily (project_id, client_id, rating_date, rating_count, rating_sum, rating1, rating2, rating3, rating4, rating5) " +
+            "select p.id, p.client_id, cast(f.created_at as date), count(*), sum(f.rating), " +
+            "count(*) filter (where f.rating = 1), count(*) filter (where f.rating = 2), count(*) filter (where f.rating = 3), " +
+            "count(*) filter (where f.rating = 4), count(*) filter (where f.rating = 5) " +
+            "from feedback f join projects p on p.id = f.project_id " +
+            "where f.rating between 1 and 5 and f.created_at >= :from " +
+            "group by p.id, p.client_id, cast(f.created_at as date) " +
+            "on conflict (project_id, rating_date) do nothing",
+            nativeQuery = true)
+    int backfill(@Param("from") LocalDate from);
+
+    @Modifying
+    @Query(value = "delete from feedback_rating_daily where rating_date < :before", nativeQuery = true)
+    int deleteBefore(@Param("before") LocalDate before);
+
+    @Query(value = "select cast(:projectId as bigint) as projectId, max(client_id) as clientId, " + SUMS +
+            "from feedback_rating_daily where project_id = :projectId and rating_date >= :from",
+            nativeQuery = true)
+    RatingAggregateView findProjectWindow(@Param("projectId") Long projectId, @Param("from") LocalDate from);
+
+    @Query(value = "select cast(null as bigint) as projectId, cast(:clientId as bigint) as clientId, " + SUMS +
+            "from feedback_rating_daily where client_id = :clientId and rating_date >= :from",
+            nativeQuery = true)
+    RatingAggregateView findClientWindow(@Param("clientId") Long clientId, @Param("from") LocalDate from);
+
+    @Query(value = "select cast(date_trunc('week', rating_date) as date) as weekStart, sum(rating_count) as ratingCount, sum(rating_sum) as ratingSum " +
+            "from feedback_rating_daily where project_id = :projectId and rating_date >= :from " +
+            "group by cast(date_trunc('week', rating_date) as date) order by weekStart",
+            nativeQuery = true)
+    List<RatingTrendView> findProjectTrend(@Param("projectId") Long projectId, @Param("from") LocalDate from);
+
+    @Query(value = "select cast(date_trunc('week', rating_date) as date) as weekStart, sum(rating_count) as ratingCount, sum(rating_sum) as ratingSum " +
+            "from feedback_rating_daily where client_id = :clientId and rating_date >= :from " +
+            "group by cast(date_trunc('week', rating_date) as date) order by weekStart",
+            nativeQuery = true)
+    List<RatingTrendView> findClientTrend(@Param("clientId") Long clientId, @Param("from") LocalDate from);
+
+    @Query(value = "select project_id as projectId, max(client_id) as clientId, " + SUMS +
+            "from feedback_rating_daily where rating_date >= :from group by project_id having sum(rating_count) >= :minCount " +
+            "order by cast(sum(rating_sum) as float8) / sum(rating_count) desc, sum(rating_count) desc, project_id limit :limit",
+            nativeQuery = true)
+    List<RatingAggregateView> findProjectLeaderboard(@Param("from") LocalDate from, @Param("minCount") long minCount, @Param("limit") int limit);
+
+    @Query(value = "select cast(null as bigint) as projectId, client_id as clientId, " + SUMS +
+            "from feedback_rating_daily where rating_date >= :from group by client_id having sum(rating_count) >= :minCount " +
+            "order by cast(sum(rating_sum) as float8) / sum(rating_count) desc, sum(rating_count) desc, client_id limit :limit",
+            nativeQuery = true)
+    List<RatingAggregateView> findClientLeaderboard(@Param("from") LocalDate from, @Param("minCount") long minCount, @Param("limit") int limit);
+}
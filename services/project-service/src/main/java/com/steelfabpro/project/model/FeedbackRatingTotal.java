@@ -0,0 +1,40 @@
+package com.steelfabpro.project.model;
+
+import lombok.*;
+import javax.persistence.*;
+
+@Entity
+@Table(name = "feedback_rating_totals", indexes = @Index(name = "idx_feedback_rating_totals_client", columnList = "client_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FeedbackRatingTotal {
+    @Id
+    @Column(name = "project_id")
+    private Long projectId;
+
+    @Column(name = "client_id", nullable = false)
+    private Long clientId;
+
+    @Column(nullable = false)
+    private Long ratingCount;
+
+    @Column(nullable = false)
+    private Long ratingSum;
+
+    @Column(nullable = false)
+    private Long rating1;
+
+    @Column(nullable = false)
+    private Long rating2;
+
+    @Column(nullable = false)
+    private Long rating3;
+
+    @Column(nullable = false)
+    private Long rating4;
+
+    @Column(nullable = false)
+    private Long rating5;
+}
@@ -0,0 +1,65 @@
+package com.steelfabpro.project.model;
+
+import com.steelfabpro.project.dto.RatingAggregateView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface FeedbackRatingTotalRepository extends JpaRepository<FeedbackRatingTotal, Long> {
+    String SUMS = "coalesce(sum(rating_count), 0) as ratingCount, coalesce(sum(rating_sum), 0) as ratingSum, " +
+            "coalesce(sum(rating1), 0) as rating1, coalesce(sum(rating2), 0) as rating2, coalesce(sum(rating3), 0) as rating3, " +
+            "coalesce(sum(rating4), 0) as rating4, coalesce(sum(rating5), 0) as rating5 ";
+
+    @Modifying
+    @Query(value = "insert into feedback_rating_totals (project_id, client_id, rating_count, rating_sum, rating1, rating2, rating3, rating4, rating5) " +
+            "values (:projectId, :clientId, 1, :rating, " +
+            "case when :rating = 1 then 1 else 0 end, case when :rating = 2 then 1 else 0 end, case when :rating = 3 then 1 else 0 end, " +
+            "case when :rating = 4 then 1 else 0 end, case when :rating = 5 then 1 else 0 end) " +
+            "on conflict (project_id) do update set " +
+            "rating_count = feedback_rating_totals.rating_count + 1, " +
+            "rating_sum = feedback_rating_totals.rating_sum + excluded.rating_sum, " +
+            "rating1 = feedback_rating_totals.rating1 + excluded.rating1, " +
+            "rating2 = feedback_rating_totals.rating2 + excluded.rating2, " +
+            "rating3 = feedback_rating_totals.rating3 + excluded.rating3, " +
+            "rating4 = feedback_rating_totals.rating4 + excluded.rating4, " +
+            "rating5 = feedback_rating_totals.rating5 + excluded.rating5",
+            nativeQuery = true)
+    int add(@Param("projectId") Long projectId, @Param("clientId") Long clientId, @Param("rating") int rating);
+
+    @Modifying
+    @Query(value = "insert into feedback_rating_totals (project_id, client_id, rating_count, rating_sum, rating1, rating2, rating3, rating4, rating5) " +
+            "select p.id, p.client_id, count(*), sum(f.rating), " +
+            "count(*) filter (where f.rating = 1), count(*) filter (where f.rating = 2), count(*) filter (where f.rating = 3), " +
+            "count(*) filter (where f.rating = 4), count(*) filter (where f.rating = 5) " +
+            "from feedback f join projects p on p.id = f.project_id where f.rating between 1 and 5 " +
+            "group by p.id, p.client_id " +
+            "on conflict (project_id) do nothing",
+            nativeQuery = true)
+    int backfill();
+
+    @Query(value = "select cast(:projectId as bigint) as projectId, max(client_id) as clientId, " + SUMS +
+            "from feedback_rating_totals where project_id = :projectId",
+            nativeQuery = true)
+    RatingAggregateView findProjectTotals(@Param("projectId") Long projectId);
+
+    @Query(value = "select cast(null as bigint) as projectId, cast(:clientId as bigint) as clientId, " + SUMS +
+            "from feedback_rating_totals where client_id = :clientId",
+            nativeQuery = true)
+    RatingAggregateView findClientTotals(@Param("clientId") Long clientId);
+
+    @Query(value = "select project_id as projectId, client_id as clientId, rating_count as ratingCount, rating_sum as ratingSum, " +
+            "rating1, rating2, rating3, rating4, rating5 " +
+            "from feedback_rating_totals where rating_count >= :minCount " +
+            "order by cast(rating_sum as float8) / rating_count desc, rating_count desc, project_id limit :limit",
+            nativeQuery = true)
+    List<RatingAggregateView> findProjectLeaderboard(@Param("minCount") long minCount, @Param("limit") int limit);
+
+    @Query(value = "select cast(null as bigint) as projectId, client_id as clientId, " + SUMS +
+            "from feedback_rating_totals group by client_id having sum(rating_count) >= :minCount " +
+            "order by cast(sum(rating_sum) as float8) / sum(rating_count) desc, sum(rating_count) desc, client_id limit :limit",
+            nativeQuery = true)
+    List<RatingAggregateView> findClientLeaderboard(@Param("minCount") long minCount, @Param("limit") int limit);
+}
@@ -1,6 +1,17 @@
 package com.steelfabpro.project.model;
 
+import com.steelfabpro.project.dto.FeedbackSummary;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
-} 
\ No newline at end of file
+    List<Feedback> findByProjectIdOrderByCreatedAtDescIdDesc(Long projectId, Pageable pageable);
+
+    @Query("select new com.steelfabpro.project.dto.FeedbackSummary(f.id, f.userId, f.comment, f.rating, f.createdAt) " +
+            "from Feedback f where f.project.id = :projectId order by f.createdAt desc nulls last, f.id desc")
+    List<FeedbackSummary> findRecentByProject(@Param("projectId") Long projectId, Pageable pageable);
+}
@@ -0,0 +1,53 @@
+package com.steelfabpro.project.model;
+
+import lombok.*;
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "file_uploads", indexes = @Index(name = "idx_file_uploads_status_updated_at", columnList = "status, updated_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FileUpload {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long projectId;
+
+    @Column(nullable = false)
+    private String fileName;
+
+    private String fileType;
+    private Long uploadedBy;
+
+    @Column(nullable = false)
+    private Long totalSize;
+
+    @Column(nullable = false)
+    private Integer chunkSize;
+
+    @Column(nullable = false)
+    private Integer chunkCount;
+
+    @Column(nullable = false)
+    private Integer receivedChunks;
+
+    /** Bit i is set once chunk i has been written, checksummed and flushed. */
+    @Column(nullable = false)
+    private byte[] chunkMap;
+
+    @Column(nullable = false)
+    private String status;
+
+    private Long projectFileId;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,21 @@
+package com.steelfabpro.project.model;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface FileUploadRepository extends JpaRepository<FileUpload, Long> {
+    Optional<FileUpload> findByIdAndProjectId(Long id, Long projectId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select u from FileUpload u where u.id = :id")
+    Optional<FileUpload> lockById(@Param("id") Long id);
+
+    List<FileUpload> findByStatusAndUpdatedAtBefore(String status, LocalDateTime updatedAt);
+}
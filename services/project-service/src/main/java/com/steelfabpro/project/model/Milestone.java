@@ -5,7 +5,7 @@ import javax.persistence.*;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "milestones")
+@Table(name = "milestones", indexes = @Index(name = "idx_milestones_project_due_date", columnList = "project_id, due_date"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
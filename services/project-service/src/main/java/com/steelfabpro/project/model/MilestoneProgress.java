@@ -0,0 +1,25 @@
+package com.steelfabpro.project.model;
+
+import lombok.*;
+import javax.persistence.*;
+
+@Entity
+@Table(name = "milestone_progress", indexes = @Index(name = "idx_milestone_progress_project", columnList = "project_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MilestoneProgress {
+    @Id
+    @Column(name = "milestone_id")
+    private Long milestoneId;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    @Column(nullable = false)
+    private Long totalTasks;
+
+    @Column(nullable = false)
+    private Long completedTasks;
+}
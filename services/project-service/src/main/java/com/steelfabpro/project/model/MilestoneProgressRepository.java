@@ -0,0 +1,32 @@
+package com.steelfabpro.project.model;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface MilestoneProgressRepository extends JpaRepository<MilestoneProgress, Long> {
+    List<MilestoneProgress> findByProjectId(Long projectId);
+
+    @Modifying
+    @Query(value = "insert into milestone_progress (milestone_id, project_id, total_tasks, completed_tasks) " +
+            "values (:milestoneId, :projectId, greatest(:tasks, 0), greatest(:completed, 0)) " +
+            "on conflict (milestone_id) do update set " +
+            "total_tasks = greatest(milestone_progress.total_tasks + :tasks, 0), " +
+            "completed_tasks = greatest(milestone_progress.completed_tasks + :completed, 0)",
+            nativeQuery = true)
+    int add(@Param("milestoneId") Long milestoneId, @Param("projectId") Long projectId,
+            @Param("tasks") long tasks, @Param("completed") long completed);
+
+    @Modifying
+    @Query(value = "insert into milestone_progress (milestone_id, project_id, total_tasks, completed_tasks) " +
+            "select m.id, m.project_id, count(t.id), " +
+            "count(t.id) filter (where t.completed_at is not null or upper(t.status) in ('DONE', 'COMPLETED', 'CANCELLED')) " +
+            "from milestones m left join tasks t on t.milestone_id = m.id " +
+            "group by m.id, m.project_id " +
+            "on conflict (milestone_id) do nothing",
+            nativeQuery = true)
+    int backfill();
+}
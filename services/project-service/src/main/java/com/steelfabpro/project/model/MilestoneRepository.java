@@ -1,6 +1,29 @@
 package com.steelfabpro.project.model;
 
+import com.steelfabpro.project.dto.MilestoneSummary;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
+import java.util.List;
+import java.util.Optional;
 
 public interface MilestoneRepository extends JpaRepository<Milestone, Long> {
-} 
\ No newline at end of file
+    List<Milestone> findByProjectIdOrderByDueDateAscIdAsc(Long projectId, Pageable pageable);
+
+    @Query("select m.project.id from Milestone m where m.id = :id")
+    Optional<Long> findProjectId(@Param("id") Long id);
+
+    @Query("select new com.steelfabpro.project.dto.MilestoneSummary(m.id, m.name, m.dueDate, m.status, m.completedAt, " +
+            "coalesce(mp.totalTasks, 0L), coalesce(mp.completedTasks, 0L)) " +
+            "from Milestone m left join MilestoneProgress mp on mp.milestoneId = m.id " +
+            "where m.project.id = :projectId order by m.dueDate asc nulls last, m.id asc")
+    List<MilestoneSummary> findSummariesByProject(@Param("projectId") Long projectId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select m from Milestone m where m.id = :id and m.project.id = :projectId")
+    Optional<Milestone> lockByIdAndProject(@Param("id") Long id, @Param("projectId") Long projectId);
+}
\ No newline at end of file
@@ -1,11 +1,12 @@
 package com.steelfabpro.project.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "project_files")
+@Table(name = "project_files", indexes = @Index(name = "idx_project_files_project_uploaded_at", columnList = "project_id, uploaded_at"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -25,4 +26,9 @@ public class ProjectFile {
     private String fileType;
     private Long uploadedBy;
     private LocalDateTime uploadedAt;
+    private String fileName;
+    private Long sizeBytes;
+
+    @JsonIgnore
+    private String storagePath;
 } 
\ No newline at end of file
@@ -1,6 +1,20 @@
 package com.steelfabpro.project.model;
 
+import com.steelfabpro.project.dto.FileSummary;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
 
 public interface ProjectFileRepository extends JpaRepository<ProjectFile, Long> {
-} 
\ No newline at end of file
+    Optional<ProjectFile> findByIdAndProjectId(Long id, Long projectId);
+
+    List<ProjectFile> findByProjectIdOrderByUploadedAtDescIdDesc(Long projectId, Pageable pageable);
+
+    @Query("select new com.steelfabpro.project.dto.FileSummary(f.id, f.fileUrl, f.fileType, f.uploadedBy, f.uploadedAt) " +
+            "from ProjectFile f where f.project.id = :projectId order by f.uploadedAt desc nulls last, f.id desc")
+    List<FileSummary> findRecentByProject(@Param("projectId") Long projectId, Pageable pageable);
+}
@@ -0,0 +1,28 @@
+package com.steelfabpro.project.model;
+
+import lombok.*;
+import javax.persistence.*;
+
+@Entity
+@Table(name = "project_progress")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProjectProgress {
+    @Id
+    @Column(name = "project_id")
+    private Long projectId;
+
+    @Column(nullable = false)
+    private Long totalMilestones;
+
+    @Column(nullable = false)
+    private Long completedMilestones;
+
+    @Column(nullable = false)
+    private Long totalTasks;
+
+    @Column(nullable = false)
+    private Long completedTasks;
+}
@@ -0,0 +1,47 @@
+package com.steelfabpro.project.model;
+
+import com.steelfabpro.project.dto.ProjectProgressView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface ProjectProgressRepository extends JpaRepository<ProjectProgress, Long> {
+    @Modifying
+    @Query(value = "insert into project_progress (project_id, total_milestones, completed_milestones, total_tasks, completed_tasks) " +
+            "values (:projectId, greatest(:milestones, 0), greatest(:completedMilestones, 0), greatest(:tasks, 0), greatest(:completedTasks, 0)) " +
+            "on conflict (project_id) do update set " +
+            "total_milestones = greatest(project_progress.total_milestones + :milestones, 0), " +
+            "completed_milestones = greatest(project_progress.completed_milestones + :completedMilestones, 0), " +
+            "total_tasks = greatest(project_progress.total_tasks + :tasks, 0), " +
+            "completed_tasks = greatest(project_progress.completed_tasks + :completedTasks, 0)",
+            nativeQuery = true)
+    int add(@Param("projectId") Long projectId, @Param("milestones") long milestones,
+            @Param("completedMilestones") long completedMilestones,
+            @Param("tasks") long tasks, @Param("completedTasks") long completedTasks);
+
+    @Modifying
+    @Query(value = "insert into project_progress (project_id, total_milestones, completed_milestones, total_tasks, completed_tasks) " +
+            "select p.id, " +
+            "(select count(*) from milestones m where m.project_id = p.id), " +
+            "(select count(*) from milestones m where m.project_id = p.id " +
+            "   and (m.completed_at is not null or upper(m.status) in ('DONE', 'COMPLETED', 'CANCELLED'))), " +
+            "(select count(*) from tasks t join milestones m on m.id = t.milestone_id where m.project_id = p.id), " +
+            "(select count(*) from tasks t join milestones m on m.id = t.milestone_id where m.project_id = p.id " +
+            "   and (t.completed_at is not null or upper(t.status) in ('DONE', 'COMPLETED', 'CANCELLED'))) " +
+            "from projects p " +
+            "on conflict (project_id) do nothing",
+            nativeQuery = true)
+    int backfill();
+
+    @Query(value = "select p.id as projectId, p.name as name, p.status as status, p.start_date as startDate, p.end_date as endDate, " +
+            "coalesce(pp.total_milestones, 0) as totalMilestones, coalesce(pp.completed_milestones, 0) as completedMilestones, " +
+            "coalesce(pp.total_tasks, 0) as totalTasks, coalesce(pp.completed_tasks, 0) as completedTasks " +
+            "from projects p left join project_progress pp on pp.project_id = p.id " +
+            "where p.id > :afterId and (cast(:status as varchar) is null or p.status = :status) " +
+            "order by p.id limit :limit",
+            nativeQuery = true)
+    List<ProjectProgressView> findProjects(@Param("afterId") Long afterId, @Param("status") String status, @Param("limit") int limit);
+}
@@ -1,6 +1,21 @@
 package com.steelfabpro.project.model;
 
+import com.steelfabpro.project.dto.ProjectSummary;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
+import java.util.Optional;
 
 public interface ProjectRepository extends JpaRepository<Project, Long> {
+    @Query("select new com.steelfabpro.project.dto.ProjectSummary(p.id, p.name, p.description, p.status, p.startDate, p.endDate, " +
+            "coalesce(pp.totalMilestones, 0L), coalesce(pp.completedMilestones, 0L), coalesce(pp.totalTasks, 0L), coalesce(pp.completedTasks, 0L)) " +
+            "from Project p left join ProjectProgress pp on pp.projectId = p.id where p.id = :id")
+    Optional<ProjectSummary> findSummary(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Project p where p.id = :id")
+    Optional<Project> lockById(@Param("id") Long id);
 } 
\ No newline at end of file
@@ -5,7 +5,10 @@ import javax.persistence.*;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_milestone_due_date", columnList = "milestone_id, due_date"),
+        @Index(name = "idx_tasks_assignee_status_due_date", columnList = "assignee_id, status, due_date")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -26,4 +29,5 @@ public class Task {
     private String status;
     private LocalDate dueDate;
     private LocalDate completedAt;
+    private Double estimatedHours;
 } 
\ No newline at end of file
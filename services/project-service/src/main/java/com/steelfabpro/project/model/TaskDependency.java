@@ -0,0 +1,30 @@
+package com.steelfabpro.project.model;
+
+import lombok.*;
+import javax.persistence.*;
+
+@Entity
+@Table(name = "task_dependencies",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"predecessor_id", "successor_id"}),
+        indexes = {
+                @Index(name = "idx_task_dependencies_project_id", columnList = "project_id"),
+                @Index(name = "idx_task_dependencies_successor_id", columnList = "successor_id")
+        })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskDependency {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    @Column(name = "predecessor_id", nullable = false)
+    private Long predecessorId;
+
+    @Column(name = "successor_id", nullable = false)
+    private Long successorId;
+}
@@ -0,0 +1,20 @@
+package com.steelfabpro.project.model;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface TaskDependencyRepository extends JpaRepository<TaskDependency, Long> {
+    List<TaskDependency> findByProjectId(Long projectId);
+
+    List<TaskDependency> findBySuccessorId(Long successorId);
+
+    boolean existsByPredecessorIdAndSuccessorId(Long predecessorId, Long successorId);
+
+    @Modifying
+    @Query("delete from TaskDependency d where d.predecessorId = :predecessorId and d.successorId = :successorId")
+    int deleteLink(@Param("predecessorId") Long predecessorId, @Param("successorId") Long successorId);
+}
@@ -1,6 +1,41 @@
 package com.steelfabpro.project.model;
 
+import com.steelfabpro.project.dto.TaskSummary;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
+import java.util.List;
+import java.util.Optional;
 
 public interface TaskRepository extends JpaRepository<Task, Long> {
-} 
\ No newline at end of file
+    @Query("select t from Task t where t.milestone.id = :milestoneId order by t.dueDate asc nulls last, t.id asc")
+    List<Task> findByMilestone(@Param("milestoneId") Long milestoneId);
+
+    @Query("select t from Task t where t.assigneeId = :assigneeId and (:status is null or t.status = :status) " +
+            "order by t.dueDate asc nulls last, t.id asc")
+    List<Task> findByAssignee(@Param("assigneeId") Long assigneeId, @Param("status") String status);
+
+    @Query("select t from Task t where t.milestone.project.id = :projectId")
+    List<Task> findByProject(@Param("projectId") Long projectId);
+
+    @Query("select new com.steelfabpro.project.dto.TaskSummary(t.id, t.milestone.id, t.assigneeId, t.description, t.status, " +
+            "t.dueDate, t.completedAt, t.estimatedHours) " +
+            "from Task t where t.milestone.project.id = :projectId order by t.dueDate asc nulls last, t.id asc")
+    List<TaskSummary> findSummariesByProject(@Param("projectId") Long projectId, Pageable pageable);
+
+    @Query("select t.milestone.project.id from Task t where t.id = :id")
+    Optional<Long> findProjectId(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Task t where t.id = :id and t.milestone.id = :milestoneId")
+    Optional<Task> lockByIdAndMilestone(@Param("id") Long id, @Param("milestoneId") Long milestoneId);
+
+    @Modifying
+    @Query(value = "update tasks set status = upper(trim(status)) where status <> upper(trim(status))", nativeQuery = true)
+    int normalizeStatuses();
+}
@@ -0,0 +1,322 @@
+package com.steelfabpro.project.schedule;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Critical path method over a task dependency DAG. Times are whole days relative to the project
+ * start. Tasks are stored by dense index with predecessor and successor lists in compressed
+ * (CSR) form, and both passes walk a precomputed topological order. A task's own due date caps its
+ * latest finish, so a late task shows up with negative slack. {@link #update} recomputes
+ * only the tasks downstream (forward pass) and upstream (backward pass) of the changed task,
+ * stopping where values no longer change.
+ */
+public final class ScheduleGraph {
+    public static final int NO_DUE_DATE = Integer.MAX_VALUE;
+
+    private final long[] taskIds;
+    private final Map<Long, Integer> indexById;
+    private final int[] predStart;
+    private final int[] preds;
+    private final int[] succStart;
+    private final int[] succs;
+    private final int[] order;
+    private final int[] position;
+    private final int[] duration;
+    private final int[] release;
+    private final int[] due;
+    private final int[] earliestStart;
+    private final int[] earliestFinish;
+    private final int[] latestStart;
+    private final int[] latestFinish;
+    private final Integer deadline;
+    private final BitSet dirty;
+    private int finish;
+
+    private ScheduleGraph(long[] taskIds, int[] duration, int[] release, int[] due, long[][] dependencies, Integer deadline) {
+        int n = taskIds.length;
+        this.taskIds = taskIds.clone();
+        this.duration = duration.clone();
+        this.release = release.clone();
+        this.due = due.clone();
+        this.deadline = deadline;
+        this.indexById = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            if (indexById.put(taskIds[i], i) != null) {
+                throw new IllegalArgumentException("Duplicate task " + taskIds[i]);
+            }
+        }
+
+        int[] from = new int[dependencies.length];
+        int[] to = new int[dependencies.length];
+        int[] predCount = new int[n + 1];
+        int[] succCount = new int[n + 1];
+        for (int e = 0; e < dependencies.length; e++) {
+            from[e] = indexOf(dependencies[e][0]);
+            to[e] = indexOf(dependencies[e][1]);
+            if (from[e] == to[e]) {
+                throw new IllegalArgumentException("Task " + dependencies[e][0] + " cannot depend on itself");
+            }
+            succCount[from[e] + 1]++;
+            predCount[to[e] + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            succCount[i + 1] += succCount[i];
+            predCount[i + 1] += predCount[i];
+        }
+        this.succStart = succCount;
+        this.predStart = predCount;
+        this.succs = new int[dependencies.length];
+        this.preds = new int[dependencies.length];
+        int[] succFill = Arrays.copyOf(succStart, n);
+        int[] predFill = Arrays.copyOf(predStart, n);
+        for (int e = 0; e < dependencies.length; e++) {
+            succs[succFill[from[e]]++] = to[e];
+            preds[predFill[to[e]]++] = from[e];
+        }
+
+        this.order = topologicalOrder(n);
+        this.position = new int[n];
+        for (int k = 0; k < n; k++) {
+            position[order[k]] = k;
+        }
+        this.earliestStart = new int[n];
+        this.earliestFinish = new int[n];
+        this.latestStart = new int[n];
+        this.latestFinish = new int[n];
+        this.dirty = new BitSet(n);
+        computeAll();
+    }
+
+    /**
+     * @param release      earliest day each task may start
+     * @param due          latest day each task may finish, or {@link #NO_DUE_DATE}
+     * @param dependencies pairs of {@code {predecessorId, successorId}}
+     * @param deadline     project end in days from the start, or {@code null} to use the computed finish
+     */
+    public static ScheduleGraph build(long[] taskIds, int[] duration, int[] release, int[] due, long[][] dependencies, Integer deadline) {
+        return new ScheduleGraph(taskIds, duration, release, due, dependencies, deadline);
+    }
+
+    public void computeAll() {
+        for (int v : order) {
+            forward(v);
+        }
+        finish = computeFinish();
+        int horizon = horizon();
+        for (int k = order.length - 1; k >= 0; k--) {
+            backward(order[k], horizon);
+        }
+    }
+
+    /** Applies new inputs to one task and returns the number of tasks recomputed. */
+    public int update(long taskId, int newDuration, int newRelease, int newDue) {
+        int changed = indexOf(taskId);
+        duration[changed] = newDuration;
+        release[changed] = newRelease;
+        due[changed] = newDue;
+        int visited = 0;
+
+        dirty.clear();
+        dirty.set(position[changed]);
+        for (int k = dirty.nextSetBit(0); k >= 0; k = dirty.nextSetBit(k + 1)) {
+            int v = order[k];
+            visited++;
+            if (forward(v)) {
+                for (int s = succStart[v]; s < succStart[v + 1]; s++) {
+                    dirty.set(position[succs[s]]);
+                }
+            }
+        }
+
+        int previousHorizon = horizon();
+        finish = computeFinish();
+        int horizon = horizon();
+        if (horizon != previousHorizon) {
+            for (int k = order.length - 1; k >= 0; k--) {
+                backward(order[k], horizon);
+            }
+            return visited + order.length;
+        }
+
+        dirty.clear();
+        dirty.set(position[changed]);
+        for (int k = dirty.previousSetBit(order.length); k >= 0; k = dirty.previousSetBit(k - 1)) {
+            int v = order[k];
+            visited++;
+            if (backward(v, horizon)) {
+                for (int p = predStart[v]; p < predStart[v + 1]; p++) {
+                    dirty.set(position[preds[p]]);
+                }
+            }
+        }
+        return visited;
+    }
+
+    /** Whether {@code toId} is reachable from {@code fromId} along dependency edges. */
+    public boolean reaches(long fromId, long toId) {
+        int from = indexOf(fromId);
+        int to = indexOf(toId);
+        if (position[to] < position[from]) {
+            return false;
+        }
+        BitSet seen = new BitSet(order.length);
+        ArrayDeque<Integer> pending = new ArrayDeque<>();
+        pending.add(from);
+        seen.set(from);
+        while (!pending.isEmpty()) {
+            int v = pending.poll();
+            if (v == to) {
+                return true;
+            }
+            for (int s = succStart[v]; s < succStart[v + 1]; s++) {
+                int next = succs[s];
+                if (!seen.get(next) && position[next] <= position[to]) {
+                    seen.set(next);
+                    pending.add(next);
+                }
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return taskIds.length;
+    }
+
+    public long taskId(int index) {
+        return taskIds[index];
+    }
+
+    public boolean contains(long taskId) {
+        return indexById.containsKey(taskId);
+    }
+
+    public int earliestStart(int index) {
+        return earliestStart[index];
+    }
+
+    public int earliestFinish(int index) {
+        return earliestFinish[index];
+    }
+
+    public int latestStart(int index) {
+        return latestStart[index];
+    }
+
+    public int latestFinish(int index) {
+        return latestFinish[index];
+    }
+
+    public int slack(int index) {
+        return latestStart[index] - earliestStart[index];
+    }
+
+    public int finish() {
+        return finish;
+    }
+
+    /** Walks back from the task that finishes last along predecessors that leave it no slack. */
+    public List<Long> criticalPath() {
+        List<Long> path = new ArrayList<>();
+        int current = -1;
+        for (int v = 0; v < taskIds.length; v++) {
+            if (current < 0 || earliestFinish[v] > earliestFinish[current]
+                    || (earliestFinish[v] == earliestFinish[current] && slack(v) < slack(current))) {
+                current = v;
+            }
+        }
+        while (current >= 0) {
+            path.add(taskIds[current]);
+            int next = -1;
+            for (int p = predStart[current]; p < predStart[current + 1]; p++) {
+                int candidate = preds[p];
+                if (earliestFinish[candidate] == earliestStart[current]
+                        && (next < 0 || slack(candidate) < slack(next))) {
+                    next = candidate;
+                }
+            }
+            current = next;
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    private boolean forward(int v) {
+        int start = release[v];
+        for (int p = predStart[v]; p < predStart[v + 1]; p++) {
+            start = Math.max(start, earliestFinish[preds[p]]);
+        }
+        int end = start + duration[v];
+        boolean changed = start != earliestStart[v] || end != earliestFinish[v];
+        earliestStart[v] = start;
+        earliestFinish[v] = end;
+        return changed;
+    }
+
+    private boolean backward(int v, int horizon) {
+        int end = Math.min(horizon, due[v]);
+        for (int s = succStart[v]; s < succStart[v + 1]; s++) {
+            end = Math.min(end, latestStart[succs[s]]);
+        }
+        int start = end - duration[v];
+        boolean changed = start != latestStart[v] || end != latestFinish[v];
+        latestStart[v] = start;
+        latestFinish[v] = end;
+        return changed;
+    }
+
+    private int computeFinish() {
+        int max = 0;
+        for (int v = 0; v < taskIds.length; v++) {
+            max = Math.max(max, earliestFinish[v]);
+        }
+        return max;
+    }
+
+    private int horizon() {
+        return deadline != null ? deadline : finish;
+    }
+
+    private int[] topologicalOrder(int n) {
+        int[] inDegree = new int[n];
+        for (int v = 0; v < n; v++) {
+            inDegree[v] = predStart[v + 1] - predStart[v];
+        }
+        ArrayDeque<Integer> ready = new ArrayDeque<>();
+        for (int v = 0; v < n; v++) {
+            if (inDegree[v] == 0) {
+                ready.add(v);
+            }
+        }
+        int[] sorted = new int[n];
+        int count = 0;
+        while (!ready.isEmpty()) {
+            int v = ready.poll();
+            sorted[count++] = v;
+            for (int s = succStart[v]; s < succStart[v + 1]; s++) {
+                if (--inDegree[succs[s]] == 0) {
+                    ready.add(succs[s]);
+                }
+            }
+        }
+        if (count != n) {
+            throw new IllegalArgumentException("Task dependencies contain a cycle");
+        }
+        return sorted;
+    }
+
+    private int indexOf(long taskId) {
+        Integer index = indexById.get(taskId);
+        if (index == null) {
+            throw new IllegalArgumentException("Task not found: " + taskId);
+        }
+        return index;
+    }
+}
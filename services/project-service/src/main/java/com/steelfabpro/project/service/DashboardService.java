@@ -0,0 +1,90 @@
+package com.steelfabpro.project.service;
+
+import com.steelfabpro.project.dto.FeedbackSummary;
+import com.steelfabpro.project.dto.FileSummary;
+import com.steelfabpro.project.dto.MilestoneSummary;
+import com.steelfabpro.project.dto.ProjectDashboard;
+import com.steelfabpro.project.dto.ProjectSummary;
+import com.steelfabpro.project.dto.TaskSummary;
+import com.steelfabpro.project.model.FeedbackRepository;
+import com.steelfabpro.project.model.MilestoneRepository;
+import com.steelfabpro.project.model.ProjectFileRepository;
+import com.steelfabpro.project.model.ProjectRepository;
+import com.steelfabpro.project.model.TaskRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Assembles the project page from {@link #QUERIES} indexed queries issued in parallel. Each query
+ * selects straight into a summary DTO, so no entities or lazy associations are loaded.
+ */
+@Service
+public class DashboardService {
+    public static final int QUERIES = 5;
+
+    private final ProjectRepository projectRepository;
+    private final MilestoneRepository milestoneRepository;
+    private final TaskRepository taskRepository;
+    private final ProjectFileRepository projectFileRepository;
+    private final FeedbackRepository feedbackRepository;
+    private final ExecutorService executor;
+    private final int taskLimit;
+    private final int recentLimit;
+
+    public DashboardService(ProjectRepository projectRepository, MilestoneRepository milestoneRepository,
+                            TaskRepository taskRepository, ProjectFileRepository projectFileRepository,
+                            FeedbackRepository feedbackRepository,
+                            @Value("${project.dashboard.threads:8}") int threads,
+                            @Value("${project.dashboard.task-limit:500}") int taskLimit,
+                            @Value("${project.dashboard.recent-limit:10}") int recentLimit) {
+        this.projectRepository = projectRepository;
+        this.milestoneRepository = milestoneRepository;
+        this.taskRepository = taskRepository;
+        this.projectFileRepository = projectFileRepository;
+        this.feedbackRepository = feedbackRepository;
+        this.executor = Executors.newFixedThreadPool(threads);
+        this.taskLimit = taskLimit;
+        this.recentLimit = recentLimit;
+    }
+
+    public ProjectDashboard getDashboard(Long projectId) {
+        CompletableFuture<Optional<ProjectSummary>> project = CompletableFuture.supplyAsync(
+                () -> projectRepository.findSummary(projectId), executor);
+        CompletableFuture<List<MilestoneSummary>> milestones = CompletableFuture.supplyAsync(
+                () -> milestoneRepository.findSummariesByProject(projectId), executor);
+        CompletableFuture<List<TaskSummary>> tasks = CompletableFuture.supplyAsync(
+                () -> taskRepository.findSummariesByProject(projectId, PageRequest.of(0, taskLimit + 1)), executor);
+        CompletableFuture<List<FileSummary>> files = CompletableFuture.supplyAsync(
+                () -> projectFileRepository.findRecentByProject(projectId, PageRequest.of(0, recentLimit)), executor);
+        CompletableFuture<List<FeedbackSummary>> feedback = CompletableFuture.supplyAsync(
+                () -> feedbackRepository.findRecentByProject(projectId, PageRequest.of(0, recentLimit)), executor);
+
+        try {
+            CompletableFuture.allOf(project, milestones, tasks, files, feedback).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        ProjectSummary summary = project.join().orElseThrow(() -> new IllegalArgumentException("Project not found"));
+        List<TaskSummary> taskList = tasks.join();
+        boolean truncated = taskList.size() > taskLimit;
+        return new ProjectDashboard(summary, milestones.join(), truncated ? taskList.subList(0, taskLimit) : taskList,
+                truncated, files.join(), feedback.join());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -1,28 +1,122 @@
 package com.steelfabpro.project.service;
 
+import com.steelfabpro.project.dto.RatingAggregateView;
+import com.steelfabpro.project.dto.RatingSummaryResponse;
 import com.steelfabpro.project.model.Feedback;
+import com.steelfabpro.project.model.FeedbackRatingDailyRepository;
+import com.steelfabpro.project.model.FeedbackRatingTotalRepository;
 import com.steelfabpro.project.model.FeedbackRepository;
 import com.steelfabpro.project.model.Project;
 import com.steelfabpro.project.model.ProjectRepository;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class FeedbackService {
     private final FeedbackRepository feedbackRepository;
     private final ProjectRepository projectRepository;
+    private final FeedbackRatingTotalRepository ratingTotalRepository;
+    private final FeedbackRatingDailyRepository ratingDailyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int windowDays;
+
+    public FeedbackService(FeedbackRepository feedbackRepository, ProjectRepository projectRepository,
+                           FeedbackRatingTotalRepository ratingTotalRepository, FeedbackRatingDailyRepository ratingDailyRepository,
+                           TransactionTemplate transactionTemplate,
+                           @Value("${project.feedback.rating-window-days:90}") int windowDays) {
+        this.feedbackRepository = feedbackRepository;
+        this.projectRepository = projectRepository;
+        this.ratingTotalRepository = ratingTotalRepository;
+        this.ratingDailyRepository = ratingDailyRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.windowDays = windowDays;
+    }
+
+    @PostConstruct
+    public void backfillRatings() {
+        if (ratingTotalRepository.count() == 0 && feedbackRepository.count() > 0) {
+            Integer rows = transactionTemplate.execute(status -> {
+                ratingDailyRepository.backfill(windowStart());
+                return ratingTotalRepository.backfill();
+            });
+            log.info("Backfilled rating aggregates for {} projects", rows);
+        }
+    }
 
     public Feedback addFeedback(Long projectId, Feedback feedback) {
         Project project = projectRepository.findById(projectId).orElseThrow(() -> new IllegalArgumentException("Project not found"));
+        if (feedback.getRating() != null && (feedback.getRating() < 1 || feedback.getRating() > 5)) {
+            throw new IllegalArgumentException("Rating must be between 1 and 5");
+        }
         feedback.setProject(project);
-        return feedbackRepository.save(feedback);
+        if (feedback.getCreatedAt() == null) {
+            feedback.setCreatedAt(LocalDateTime.now());
+        }
+        return transactionTemplate.execute(status -> {
+            Feedback saved = feedbackRepository.save(feedback);
+            if (saved.getRating() != null) {
+                ratingTotalRepository.add(projectId, project.getClientId(), saved.getRating());
+                ratingDailyRepository.add(projectId, project.getClientId(), saved.getCreatedAt().toLocalDate(), saved.getRating());
+            }
+            return saved;
+        });
     }
 
-    public List<Feedback> getFeedbackByProject(Long projectId) {
-        Project project = projectRepository.findById(projectId).orElseThrow(() -> new IllegalArgumentException("Project not found"));
-        return feedbackRepository.findAll().stream().filter(f -> f.getProject().equals(project)).toList();
+    public List<Feedback> getFeedbackByProject(Long projectId, int page, int size) {
+        List<Feedback> feedback = feedbackRepository.findByProjectIdOrderByCreatedAtDescIdDesc(projectId, PageRequest.of(page, size));
+        if (feedback.isEmpty() && !projectRepository.existsById(projectId)) {
+            throw new IllegalArgumentException("Project not found");
+        }
+        return feedback;
+    }
+
+    public RatingSummaryResponse getProjectRatings(Long projectId) {
+        if (!projectRepository.existsById(projectId)) {
+            throw new IllegalArgumentException("Project not found");
+        }
+        LocalDate from = windowStart();
+        return new RatingSummaryResponse(ratingTotalRepository.findProjectTotals(projectId), from,
+                ratingDailyRepository.findProjectWindow(projectId, from), ratingDailyRepository.findProjectTrend(projectId, from));
+    }
+
+    public RatingSummaryResponse getClientRatings(Long clientId) {
+        LocalDate from = windowStart();
+        return new RatingSummaryResponse(ratingTotalRepository.findClientTotals(clientId), from,
+                ratingDailyRepository.findClientWindow(clientId, from), ratingDailyRepository.findClientTrend(clientId, from));
+    }
+
+    public List<RatingAggregateView> getLeaderboard(String by, boolean window, long minCount, int limit) {
+        boolean clients = "client".equalsIgnoreCase(by);
+        if (!clients && !"project".equalsIgnoreCase(by)) {
+            throw new IllegalArgumentException("Leaderboard must be by project or client");
+        }
+        if (window) {
+            return clients
+                    ? ratingDailyRepository.findClientLeaderboard(windowStart(), minCount, limit)
+                    : ratingDailyRepository.findProjectLeaderboard(windowStart(), minCount, limit);
+        }
+        return clients
+                ? ratingTotalRepository.findClientLeaderboard(minCount, limit)
+                : ratingTotalRepository.findProjectLeaderboard(minCount, limit);
+    }
+
+    @Scheduled(cron = "${project.feedback.rating-prune-cron:0 15 3 * * *}")
+    public void pruneRatingWindow() {
+        Integer removed = transactionTemplate.execute(status -> ratingDailyRepository.deleteBefore(windowStart()));
+        log.debug("Pruned {} daily rating rows outside the {}-day window", removed, windowDays);
+    }
+
+    private LocalDate windowStart() {
+        return LocalDate.now().minusDays(windowDays - 1L);
     }
-} 
\ No newline at end of file
+}
@@ -1,11 +1,14 @@
 package com.steelfabpro.project.service;
 
+import com.steelfabpro.project.dto.MilestoneUpdate;
 import com.steelfabpro.project.model.Milestone;
 import com.steelfabpro.project.model.MilestoneRepository;
 import com.steelfabpro.project.model.Project;
 import com.steelfabpro.project.model.ProjectRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 
@@ -14,15 +17,46 @@ import java.util.List;
 public class MilestoneService {
     private final MilestoneRepository milestoneRepository;
     private final ProjectRepository projectRepository;
+    private final ProgressService progressService;
+    private final TransactionTemplate transactionTemplate;
 
     public Milestone createMilestone(Long projectId, Milestone milestone) {
         Project project = projectRepository.findById(projectId).orElseThrow(() -> new IllegalArgumentException("Project not found"));
         milestone.setProject(project);
-        return milestoneRepository.save(milestone);
+        return transactionTemplate.execute(status -> {
+            Milestone saved = milestoneRepository.save(milestone);
+            progressService.milestoneCreated(projectId, saved);
+            return saved;
+        });
     }
 
-    public List<Milestone> getMilestonesByProject(Long projectId) {
-        Project project = projectRepository.findById(projectId).orElseThrow(() -> new IllegalArgumentException("Project not found"));
-        return milestoneRepository.findAll().stream().filter(m -> m.getProject().equals(project)).toList();
+    public Milestone updateMilestone(Long projectId, Long milestoneId, MilestoneUpdate update) {
+        return transactionTemplate.execute(status -> {
+            Milestone milestone = milestoneRepository.lockByIdAndProject(milestoneId, projectId).orElseThrow(() -> new IllegalArgumentException("Milestone not found"));
+            boolean wasCompleted = ProgressService.isCompleted(milestone);
+            if (update.getName() != null) {
+                milestone.setName(update.getName());
+            }
+            if (update.getDueDate() != null) {
+                milestone.setDueDate(update.getDueDate());
+            }
+            if (update.getStatus() != null) {
+                milestone.setStatus(update.getStatus());
+            }
+            if (update.getCompletedAt() != null) {
+                milestone.setCompletedAt(update.getCompletedAt());
+            }
+            Milestone saved = milestoneRepository.save(milestone);
+            progressService.milestoneChanged(projectId, wasCompleted, ProgressService.isCompleted(saved));
+            return saved;
+        });
+    }
+
+    public List<Milestone> getMilestonesByProject(Long projectId, int page, int size) {
+        List<Milestone> milestones = milestoneRepository.findByProjectIdOrderByDueDateAscIdAsc(projectId, PageRequest.of(page, size));
+        if (milestones.isEmpty() && !projectRepository.existsById(projectId)) {
+            throw new IllegalArgumentException("Project not found");
+        }
+        return milestones;
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
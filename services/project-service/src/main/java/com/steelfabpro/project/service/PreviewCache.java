@@ -0,0 +1,105 @@
+package com.steelfabpro.project.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Rendered previews on local disk as {@code <fileId>/<size>.jpg}, bounded by total bytes. An
+ * access-ordered map mirrors the directory so the least recently served preview is evicted first;
+ * on startup it is rebuilt from the files present, oldest modification first.
+ */
+@Slf4j
+@Component
+public class PreviewCache {
+    private final Path root;
+    private final long maxBytes;
+    private final LinkedHashMap<Path, Long> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+
+    public PreviewCache(@Value("${project.previews.dir:data/previews}") String directory,
+                        @Value("${project.previews.cache-max-bytes:1073741824}") long maxBytes) {
+        this.root = Path.of(directory).toAbsolutePath();
+        this.maxBytes = maxBytes;
+        try {
+            Files.createDirectories(root);
+            try (Stream<Path> leftovers = Files.list(root)) {
+                for (Path path : (Iterable<Path>) leftovers.filter(path -> path.toString().endsWith(".tmp"))::iterator) {
+                    Files.deleteIfExists(path);
+                }
+            }
+            try (Stream<Path> files = Files.walk(root)) {
+                files.filter(path -> path.toString().endsWith(".jpg"))
+                        .map(path -> Map.entry(path, attributes(path)))
+                        .sorted(Comparator.comparing(entry -> entry.getValue().lastModifiedTime()))
+                        .forEach(entry -> {
+                            entries.put(entry.getKey(), entry.getValue().size());
+                            totalBytes += entry.getValue().size();
+                        });
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        evict();
+    }
+
+    public synchronized Path get(Long fileId, int size) {
+        Path path = pathOf(fileId, size);
+        return entries.get(path) != null ? path : null;
+    }
+
+    /** Moves a rendered temp file into place and evicts older previews if the cache is over budget. */
+    public void put(Long fileId, int size, Path rendered) throws IOException {
+        Path target = pathOf(fileId, size);
+        Files.createDirectories(target.getParent());
+        Files.move(rendered, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        long bytes = Files.size(target);
+        synchronized (this) {
+            Long previous = entries.put(target, bytes);
+            totalBytes += bytes - (previous != null ? previous : 0);
+            evict();
+        }
+    }
+
+    public Path tempFile() throws IOException {
+        return Files.createTempFile(root, "render-", ".tmp");
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<Path, Long>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<Path, Long> entry = eldest.next();
+            eldest.remove();
+            totalBytes -= entry.getValue();
+            try {
+                Files.deleteIfExists(entry.getKey());
+            } catch (IOException e) {
+                log.warn("Could not evict preview {}", entry.getKey(), e);
+            }
+        }
+    }
+
+    private Path pathOf(Long fileId, int size) {
+        return root.resolve(fileId.toString()).resolve(size + ".jpg");
+    }
+
+    private static BasicFileAttributes attributes(Path path) {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.steelfabpro.project.service;
+
+import com.steelfabpro.project.model.ProjectFile;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders JPEG thumbnails of stored PDFs (first page, via PDFBox) and images (via ImageIO) on a
+ * bounded worker pool, so {@link ProjectFileService#addFile} only enqueues work. The source is
+ * rendered once at the largest configured size and scaled down for the others. When the queue is
+ * full the job is dropped and rendered again the first time one of its previews is requested.
+ */
+@Slf4j
+@Service
+public class PreviewService {
+    private static final Set<String> IMAGE_EXTENSIONS = Set.of("png", "jpg", "jpeg", "gif", "bmp");
+
+    private final PreviewCache previewCache;
+    private final ThreadPoolExecutor executor;
+    private final int[] sizes;
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+
+    public PreviewService(PreviewCache previewCache,
+                          @Value("${project.previews.threads:2}") int threads,
+                          @Value("${project.previews.queue-capacity:500}") int queueCapacity,
+                          @Value("${project.previews.sizes:128,512,1024}") int[] sizes) {
+        this.previewCache = previewCache;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity));
+        this.sizes = Arrays.stream(sizes).sorted().toArray();
+    }
+
+    public boolean isPreviewable(ProjectFile file) {
+        return file.getStoragePath() != null && kind(file) != null;
+    }
+
+    public boolean isSupportedSize(int size) {
+        return Arrays.binarySearch(sizes, size) >= 0;
+    }
+
+    public void submit(ProjectFile file) {
+        if (!isPreviewable(file) || !pending.add(file.getId())) {
+            return;
+        }
+        Long fileId = file.getId();
+        Path source = Path.of(file.getStoragePath());
+        String kind = kind(file);
+        try {
+            executor.execute(() -> {
+                try {
+                    render(fileId, source, kind);
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Could not render previews for file {}", fileId, e);
+                } finally {
+                    pending.remove(fileId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(fileId);
+            log.debug("Preview queue full, file {} will be rendered on demand", fileId);
+        }
+    }
+
+    private void render(Long fileId, Path source, String kind) throws IOException {
+        int largest = sizes[sizes.length - 1];
+        BufferedImage image = "pdf".equals(kind) ? renderPdf(source, largest) : readImage(source, largest);
+        if (image == null) {
+            log.debug("File {} has no renderable content", fileId);
+            return;
+        }
+        long start = System.nanoTime();
+        for (int i = sizes.length - 1; i >= 0; i--) {
+            image = scale(image, sizes[i]);
+            Path temp = previewCache.tempFile();
+            try {
+                if (!ImageIO.write(image, "jpg", temp.toFile())) {
+                    throw new IOException("No JPEG writer available");
+                }
+                previewCache.put(fileId, sizes[i], temp);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+        log.debug("Rendered {} previews for file {} in {} ms", sizes.length, fileId, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static BufferedImage renderPdf(Path source, int maxDimension) throws IOException {
+        try (PDDocument document = Loader.loadPDF(source.toFile())) {
+            if (document.getNumberOfPages() == 0) {
+                return null;
+            }
+            PDRectangle box = document.getPage(0).getCropBox();
+            float longestInches = Math.max(box.getWidth(), box.getHeight()) / 72f;
+            float dpi = Math.max(1f, maxDimension / longestInches);
+            return new PDFRenderer(document).renderImageWithDPI(0, dpi, ImageType.RGB);
+        }
+    }
+
+    /** Decodes with source subsampling so a large drawing is never fully materialised in memory. */
+    private static BufferedImage readImage(Path source, int maxDimension) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int longest = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int step = Math.max(1, longest / (maxDimension * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /** Scales to fit {@code maxDimension}, halving repeatedly first to keep downscaled drawings legible. */
+    private static BufferedImage scale(BufferedImage image, int maxDimension) {
+        int longest = Math.max(image.getWidth(), image.getHeight());
+        while (longest > maxDimension * 2) {
+            image = resize(image, Math.max(1, image.getWidth() / 2), Math.max(1, image.getHeight() / 2));
+            longest = Math.max(image.getWidth(), image.getHeight());
+        }
+        double ratio = Math.min(1.0, (double) maxDimension / longest);
+        int width = Math.max(1, (int) Math.round(image.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * ratio));
+        return ratio == 1.0 && image.getType() == BufferedImage.TYPE_INT_RGB ? image : resize(image, width, height);
+    }
+
+    private static BufferedImage resize(BufferedImage image, int width, int height) {
+        BufferedImage resized = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = resized.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return resized;
+    }
+
+    private static String kind(ProjectFile file) {
+        String type = file.getFileType() != null ? file.getFileType().toLowerCase(Locale.ROOT) : "";
+        String name = file.getFileName() != null ? file.getFileName().toLowerCase(Locale.ROOT) : "";
+        String extension = name.contains(".") ? name.substring(name.lastIndexOf('.') + 1) : "";
+        if (type.equals("application/pdf") || type.equals("pdf") || extension.equals("pdf")) {
+            return "pdf";
+        }
+        if (type.startsWith("image/") || IMAGE_EXTENSIONS.contains(type) || IMAGE_EXTENSIONS.contains(extension)) {
+            return "image";
+        }
+        return null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
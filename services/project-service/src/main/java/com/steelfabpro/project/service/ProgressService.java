@@ -0,0 +1,80 @@
+package com.steelfabpro.project.service;
+
+import com.steelfabpro.project.dto.ProjectProgressView;
+import com.steelfabpro.project.model.Milestone;
+import com.steelfabpro.project.model.MilestoneProgress;
+import com.steelfabpro.project.model.MilestoneProgressRepository;
+import com.steelfabpro.project.model.ProjectProgressRepository;
+import com.steelfabpro.project.model.ProjectRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Completion counters per milestone and project. Callers apply deltas inside the transaction that
+ * changes the task or milestone, so the counters never drift from the rows they summarise.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProgressService {
+    private final MilestoneProgressRepository milestoneProgressRepository;
+    private final ProjectProgressRepository projectProgressRepository;
+    private final ProjectRepository projectRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void backfillProgress() {
+        if (projectProgressRepository.count() == 0 && projectRepository.count() > 0) {
+            Integer rows = transactionTemplate.execute(status -> {
+                milestoneProgressRepository.backfill();
+                return projectProgressRepository.backfill();
+            });
+            log.info("Backfilled progress counters for {} projects", rows);
+        }
+    }
+
+    public void milestoneCreated(Long projectId, Milestone milestone) {
+        milestoneProgressRepository.add(milestone.getId(), projectId, 0, 0);
+        projectProgressRepository.add(projectId, 1, isCompleted(milestone) ? 1 : 0, 0, 0);
+    }
+
+    public void milestoneChanged(Long projectId, boolean wasCompleted, boolean completed) {
+        if (wasCompleted != completed) {
+            projectProgressRepository.add(projectId, 0, completed ? 1 : -1, 0, 0);
+        }
+    }
+
+    public void taskCreated(Long projectId, Long milestoneId, boolean completed) {
+        milestoneProgressRepository.add(milestoneId, projectId, 1, completed ? 1 : 0);
+        projectProgressRepository.add(projectId, 0, 0, 1, completed ? 1 : 0);
+    }
+
+    public void taskChanged(Long projectId, Long milestoneId, boolean wasCompleted, boolean completed) {
+        if (wasCompleted != completed) {
+            milestoneProgressRepository.add(milestoneId, projectId, 0, completed ? 1 : -1);
+            projectProgressRepository.add(projectId, 0, 0, 0, completed ? 1 : -1);
+        }
+    }
+
+    public List<ProjectProgressView> getProjects(Long afterId, String status, int limit) {
+        return projectProgressRepository.findProjects(afterId != null ? afterId : 0L, status, limit);
+    }
+
+    public List<MilestoneProgress> getMilestones(Long projectId) {
+        if (!projectRepository.existsById(projectId)) {
+            throw new IllegalArgumentException("Project not found");
+        }
+        return milestoneProgressRepository.findByProjectId(projectId);
+    }
+
+    static boolean isCompleted(Milestone milestone) {
+        return milestone.getCompletedAt() != null
+                || (milestone.getStatus() != null && TaskService.CLOSED_STATUSES.contains(milestone.getStatus().toUpperCase(Locale.ROOT)));
+    }
+}
@@ -5,8 +5,13 @@ import com.steelfabpro.project.model.ProjectFile;
 import com.steelfabpro.project.model.ProjectFileRepository;
 import com.steelfabpro.project.model.ProjectRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
@@ -14,15 +19,65 @@ import java.util.List;
 public class ProjectFileService {
     private final ProjectFileRepository projectFileRepository;
     private final ProjectRepository projectRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final PreviewService previewService;
+    private final PreviewCache previewCache;
 
     public ProjectFile addFile(Long projectId, ProjectFile file) {
         Project project = projectRepository.findById(projectId).orElseThrow(() -> new IllegalArgumentException("Project not found"));
         file.setProject(project);
-        return projectFileRepository.save(file);
+        if (file.getUploadedAt() == null) {
+            file.setUploadedAt(LocalDateTime.now());
+        }
+        if (file.getFileUrl() != null) {
+            return projectFileRepository.save(file);
+        }
+        if (file.getStoragePath() == null) {
+            throw new IllegalArgumentException("fileUrl is required");
+        }
+        ProjectFile stored = transactionTemplate.execute(status -> {
+            file.setFileUrl("");
+            ProjectFile saved = projectFileRepository.save(file);
+            saved.setFileUrl("/api/projects/" + projectId + "/files/" + saved.getId() + "/content");
+            return saved;
+        });
+        previewService.submit(stored);
+        return stored;
     }
 
-    public List<ProjectFile> getFilesByProject(Long projectId) {
-        Project project = projectRepository.findById(projectId).orElseThrow(() -> new IllegalArgumentException("Project not found"));
-        return projectFileRepository.findAll().stream().filter(f -> f.getProject().equals(project)).toList();
+    public List<ProjectFile> getFilesByProject(Long projectId, int page, int size) {
+        List<ProjectFile> files = projectFileRepository.findByProjectIdOrderByUploadedAtDescIdDesc(projectId, PageRequest.of(page, size));
+        if (files.isEmpty() && !projectRepository.existsById(projectId)) {
+            throw new IllegalArgumentException("Project not found");
+        }
+        return files;
+    }
+
+    public ProjectFile getStoredFile(Long projectId, Long fileId) {
+        ProjectFile file = projectFileRepository.findByIdAndProjectId(fileId, projectId).orElseThrow(() -> new IllegalArgumentException("File not found"));
+        if (file.getStoragePath() == null || !Files.isRegularFile(Path.of(file.getStoragePath()))) {
+            throw new IllegalArgumentException("File has no stored content");
+        }
+        return file;
+    }
+
+    /** Returns the cached preview, or {@code null} after queueing it for rendering. */
+    public Path getPreview(Long projectId, Long fileId, int size) {
+        if (!previewService.isSupportedSize(size)) {
+            throw new IllegalArgumentException("Unsupported preview size");
+        }
+        ProjectFile file = projectFileRepository.findByIdAndProjectId(fileId, projectId).orElseThrow(() -> new IllegalArgumentException("File not found"));
+        Path cached = previewCache.get(fileId, size);
+        if (cached != null) {
+            return cached;
+        }
+        if (file.getStoragePath() == null || !Files.isRegularFile(Path.of(file.getStoragePath()))) {
+            throw new IllegalArgumentException("File has no stored content");
+        }
+        if (!previewService.isPreviewable(file)) {
+            throw new IllegalArgumentException("File has no preview");
+        }
+        previewService.submit(file);
+        return null;
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,243 @@
+package com.steelfabpro.project.service;
+
+import com.steelfabpro.project.dto.ScheduleResponse;
+import com.steelfabpro.project.dto.ScheduledTask;
+import com.steelfabpro.project.model.Project;
+import com.steelfabpro.project.model.ProjectRepository;
+import com.steelfabpro.project.model.Task;
+import com.steelfabpro.project.model.TaskDependency;
+import com.steelfabpro.project.model.TaskDependencyRepository;
+import com.steelfabpro.project.model.TaskRepository;
+import com.steelfabpro.project.schedule.ScheduleGraph;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps one {@link ScheduleGraph} per project in memory. The graph is built from the database on
+ * first use (and again each day, since open tasks cannot start before today); task edits are then
+ * applied incrementally, while structural changes such as new tasks or dependencies drop it.
+ */
+@Slf4j
+@Service
+public class ScheduleService {
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final TaskDependencyRepository taskDependencyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final double hoursPerDay;
+    private final Map<Long, ProjectSchedule> schedules = new ConcurrentHashMap<>();
+
+    public ScheduleService(ProjectRepository projectRepository, TaskRepository taskRepository,
+                           TaskDependencyRepository taskDependencyRepository, TransactionTemplate transactionTemplate,
+                           @Value("${project.schedule.hours-per-day:8}") double hoursPerDay) {
+        this.projectRepository = projectRepository;
+        this.taskRepository = taskRepository;
+        this.taskDependencyRepository = taskDependencyRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.hoursPerDay = hoursPerDay;
+    }
+
+    public ScheduleResponse getSchedule(Long projectId) {
+        ProjectSchedule schedule = schedule(projectId);
+        ScheduleGraph graph = schedule.graph();
+        synchronized (graph) {
+            List<ScheduledTask> tasks = new ArrayList<>(graph.size());
+            for (int i = 0; i < graph.size(); i++) {
+                tasks.add(new ScheduledTask(graph.taskId(i),
+                        schedule.date(graph.earliestStart(i)), schedule.finishDate(graph.earliestStart(i), graph.earliestFinish(i)),
+                        schedule.date(graph.latestStart(i)), schedule.finishDate(graph.latestStart(i), graph.latestFinish(i)),
+                        graph.slack(i), graph.slack(i) <= 0));
+            }
+            return new ScheduleResponse(projectId, schedule.start(), schedule.endDate(), schedule.finishDate(0, graph.finish()),
+                    graph.criticalPath(), tasks);
+        }
+    }
+
+    public void taskCreated(Long projectId) {
+        schedules.remove(projectId);
+    }
+
+    public void taskUpdated(Long projectId, Task task) {
+        ProjectSchedule schedule = schedules.get(projectId);
+        if (schedule == null || !schedule.builtOn().equals(LocalDate.now())) {
+            schedules.remove(projectId);
+            return;
+        }
+        ScheduleGraph graph = schedule.graph();
+        synchronized (graph) {
+            if (!graph.contains(task.getId())) {
+                schedules.remove(projectId);
+                return;
+            }
+            int recomputed = graph.update(task.getId(), duration(task), release(task, schedule), due(task, schedule));
+            log.debug("Rescheduled task {} in project {}: {} of {} tasks recomputed", task.getId(), projectId, recomputed, graph.size());
+        }
+    }
+
+    public TaskDependency addDependency(Long successorId, Long predecessorId) {
+        if (predecessorId == null) {
+            throw new IllegalArgumentException("predecessorId is required");
+        }
+        Long projectId = taskRepository.findProjectId(successorId).orElseThrow(() -> new IllegalArgumentException("Task not found"));
+        Long predecessorProjectId = taskRepository.findProjectId(predecessorId).orElseThrow(() -> new IllegalArgumentException("Task not found"));
+        if (!projectId.equals(predecessorProjectId)) {
+            throw new IllegalArgumentException("Dependent tasks must belong to the same project");
+        }
+        if (successorId.equals(predecessorId)) {
+            throw new IllegalArgumentException("Task cannot depend on itself");
+        }
+        if (taskDependencyRepository.existsByPredecessorIdAndSuccessorId(predecessorId, successorId)) {
+            throw new IllegalArgumentException("Dependency already exists");
+        }
+        ScheduleGraph graph = schedule(projectId).graph();
+        synchronized (graph) {
+            if (graph.contains(successorId) && graph.contains(predecessorId) && graph.reaches(successorId, predecessorId)) {
+                throw new IllegalArgumentException("Dependency would create a cycle");
+            }
+        }
+        // The cached graph may predate a concurrent insert, so the check is repeated against the
+        // committed edges while the project row is locked; concurrent inserts for a project queue here.
+        TaskDependency saved = transactionTemplate.execute(status -> {
+            projectRepository.lockById(projectId).orElseThrow(() -> new IllegalArgumentException("Project not found"));
+            if (taskDependencyRepository.existsByPredecessorIdAndSuccessorId(predecessorId, successorId)) {
+                throw new IllegalArgumentException("Dependency already exists");
+            }
+            if (reaches(taskDependencyRepository.findByProjectId(projectId), successorId, predecessorId)) {
+                throw new IllegalArgumentException("Dependency would create a cycle");
+            }
+            return taskDependencyRepository.save(TaskDependency.builder()
+                    .projectId(projectId)
+                    .predecessorId(predecessorId)
+                    .successorId(successorId)
+                    .build());
+        });
+        schedules.remove(projectId);
+        return saved;
+    }
+
+    public void removeDependency(Long successorId, Long predecessorId) {
+        Long projectId = taskRepository.findProjectId(successorId).orElseThrow(() -> new IllegalArgumentException("Task not found"));
+        Integer removed = transactionTemplate.execute(status -> taskDependencyRepository.deleteLink(predecessorId, successorId));
+        if (removed == null || removed == 0) {
+            throw new IllegalArgumentException("Dependency not found");
+        }
+        schedules.remove(projectId);
+    }
+
+    public List<TaskDependency> getDependencies(Long taskId) {
+        if (!taskRepository.existsById(taskId)) {
+            throw new IllegalArgumentException("Task not found");
+        }
+        return taskDependencyRepository.findBySuccessorId(taskId);
+    }
+
+    private static boolean reaches(List<TaskDependency> dependencies, Long from, Long to) {
+        Map<Long, List<Long>> successors = new HashMap<>();
+        for (TaskDependency dependency : dependencies) {
+            successors.computeIfAbsent(dependency.getPredecessorId(), id -> new ArrayList<>()).add(dependency.getSuccessorId());
+        }
+        Set<Long> seen = new HashSet<>();
+        ArrayDeque<Long> queue = new ArrayDeque<>(List.of(from));
+        while (!queue.isEmpty()) {
+            Long id = queue.poll();
+            if (id.equals(to)) {
+                return true;
+            }
+            if (seen.add(id)) {
+                queue.addAll(successors.getOrDefault(id, List.of()));
+            }
+        }
+        return false;
+    }
+
+    private ProjectSchedule schedule(Long projectId) {
+        LocalDate today = LocalDate.now();
+        ProjectSchedule schedule = schedules.get(projectId);
+        if (schedule != null && schedule.builtOn().equals(today)) {
+            return schedule;
+        }
+        schedule = build(projectId, today);
+        schedules.put(projectId, schedule);
+        return schedule;
+    }
+
+    private ProjectSchedule build(Long projectId, LocalDate today) {
+        Project project = projectRepository.findById(projectId).orElseThrow(() -> new IllegalArgumentException("Project not found"));
+        List<Task> tasks = taskRepository.findByProject(projectId);
+        List<TaskDependency> dependencies = taskDependencyRepository.findByProjectId(projectId);
+        LocalDate start = project.getStartDate() != null ? project.getStartDate() : project.getCreatedAt().toLocalDate();
+        ProjectSchedule schedule = new ProjectSchedule(null, start, project.getEndDate(), today);
+
+        long[] ids = new long[tasks.size()];
+        int[] duration = new int[tasks.size()];
+        int[] release = new int[tasks.size()];
+        int[] due = new int[tasks.size()];
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            ids[i] = task.getId();
+            duration[i] = duration(task);
+            release[i] = release(task, schedule);
+            due[i] = due(task, schedule);
+        }
+        long[][] edges = new long[dependencies.size()][];
+        for (int i = 0; i < dependencies.size(); i++) {
+            edges[i] = new long[] {dependencies.get(i).getPredecessorId(), dependencies.get(i).getSuccessorId()};
+        }
+        Integer deadline = project.getEndDate() != null ? schedule.offset(project.getEndDate()) + 1 : null;
+
+        long startedAt = System.nanoTime();
+        ScheduleGraph graph = ScheduleGraph.build(ids, duration, release, due, edges, deadline);
+        log.debug("Built schedule for project {} with {} tasks and {} dependencies in {} ms", projectId, ids.length,
+                edges.length, (System.nanoTime() - startedAt) / 1_000_000);
+        return new ProjectSchedule(graph, start, project.getEndDate(), today);
+    }
+
+    private int duration(Task task) {
+        if (!TaskService.isOpen(task)) {
+            return task.getCompletedAt() != null ? 1 : 0;
+        }
+        if (task.getEstimatedHours() == null || task.getEstimatedHours() <= 0) {
+            return 1;
+        }
+        return (int) Math.ceil(task.getEstimatedHours() / hoursPerDay);
+    }
+
+    private static int release(Task task, ProjectSchedule schedule) {
+        if (!TaskService.isOpen(task)) {
+            return task.getCompletedAt() != null ? Math.max(0, schedule.offset(task.getCompletedAt())) : 0;
+        }
+        return Math.max(0, schedule.offset(schedule.builtOn()));
+    }
+
+    private static int due(Task task, ProjectSchedule schedule) {
+        return task.getDueDate() != null ? schedule.offset(task.getDueDate()) + 1 : ScheduleGraph.NO_DUE_DATE;
+    }
+
+    private record ProjectSchedule(ScheduleGraph graph, LocalDate start, LocalDate endDate, LocalDate builtOn) {
+        int offset(LocalDate date) {
+            return (int) ChronoUnit.DAYS.between(start, date);
+        }
+
+        LocalDate date(int offset) {
+            return start.plusDays(offset);
+        }
+
+        /** Offsets are exclusive ends; a task occupying days [start, finish) finishes on day finish - 1. */
+        LocalDate finishDate(int startOffset, int finishOffset) {
+            return start.plusDays(Math.max(startOffset, finishOffset - 1));
+        }
+    }
+}
@@ -1 +1,159 @@
- 
\ No newline at end of file
+package com.steelfabpro.project.service;
+
+import com.steelfabpro.project.dto.AssigneeWorkloadResponse;
+import com.steelfabpro.project.dto.TaskUpdate;
+import com.steelfabpro.project.model.AssigneeWorkload;
+import com.steelfabpro.project.model.AssigneeWorkloadRepository;
+import com.steelfabpro.project.model.Milestone;
+import com.steelfabpro.project.model.MilestoneRepository;
+import com.steelfabpro.project.model.Task;
+import com.steelfabpro.project.model.TaskRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskService {
+    /** Statuses that close a task or milestone; cancelled work counts as done in the progress counters. */
+    static final Set<String> CLOSED_STATUSES = Set.of("DONE", "COMPLETED", "CANCELLED");
+    static final String OPEN = "OPEN";
+
+    private final TaskRepository taskRepository;
+    private final MilestoneRepository milestoneRepository;
+    private final AssigneeWorkloadRepository assigneeWorkloadRepository;
+    private final ScheduleService scheduleService;
+    private final ProgressService progressService;
+    private final TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void backfill() {
+        Integer normalized = transactionTemplate.execute(status -> taskRepository.normalizeStatuses());
+        if (normalized != null && normalized > 0) {
+            log.info("Normalized the status of {} tasks", normalized);
+        }
+        if (assigneeWorkloadRepository.count() == 0 && taskRepository.count() > 0) {
+            Integer rows = transactionTemplate.execute(status -> assigneeWorkloadRepository.backfill());
+            log.info("Backfilled {} assignee workload rows", rows);
+        }
+    }
+
+    public Task createTask(Long milestoneId, Task task) {
+        Milestone milestone = milestoneRepository.findById(milestoneId).orElseThrow(() -> new IllegalArgumentException("Milestone not found"));
+        task.setMilestone(milestone);
+        task.setStatus(normalizeStatus(task.getStatus()));
+        Long projectId = milestone.getProject().getId();
+        Task created = transactionTemplate.execute(status -> {
+            Task saved = taskRepository.save(task);
+            applyWorkload(saved, 1);
+            progressService.taskCreated(projectId, milestoneId, !isOpen(saved));
+            return saved;
+        });
+        scheduleService.taskCreated(projectId);
+        return created;
+    }
+
+    public Task updateTask(Long milestoneId, Long taskId, TaskUpdate update) {
+        String newStatus = normalizeStatus(update.getStatus());
+        boolean reopen = Boolean.TRUE.equals(update.getReopen());
+        if (reopen && (update.getCompletedAt() != null || (newStatus != null && CLOSED_STATUSES.contains(newStatus)))) {
+            throw new IllegalArgumentException("A reopened task cannot be completed in the same update");
+        }
+        Long projectId = milestoneRepository.findProjectId(milestoneId).orElseThrow(() -> new IllegalArgumentException("Milestone not found"));
+        Task updated = transactionTemplate.execute(status -> {
+            Task task = taskRepository.lockByIdAndMilestone(taskId, milestoneId).orElseThrow(() -> new IllegalArgumentException("Task not found"));
+            boolean wasOpen = isOpen(task);
+            applyWorkload(task, -1);
+            if (update.getAssigneeId() != null) {
+                task.setAssigneeId(update.getAssigneeId());
+            }
+            if (update.getDescription() != null) {
+                task.setDescription(update.getDescription());
+            }
+            if (newStatus != null) {
+                task.setStatus(newStatus);
+            }
+            if (update.getDueDate() != null) {
+                task.setDueDate(update.getDueDate());
+            }
+            if (update.getCompletedAt() != null) {
+                task.setCompletedAt(update.getCompletedAt());
+            }
+            if (update.getEstimatedHours() != null) {
+                task.setEstimatedHours(update.getEstimatedHours());
+            }
+            if (reopen) {
+                task.setCompletedAt(null);
+                if (newStatus == null && task.getStatus() != null && CLOSED_STATUSES.contains(task.getStatus().toUpperCase(Locale.ROOT))) {
+                    task.setStatus(OPEN);
+                }
+            }
+            Task saved = taskRepository.save(task);
+            applyWorkload(saved, 1);
+            progressService.taskChanged(projectId, milestoneId, !wasOpen, !isOpen(saved));
+            return saved;
+        });
+        scheduleService.taskUpdated(projectId, updated);
+        return updated;
+    }
+
+    public List<Task> getTasksByMilestone(Long milestoneId) {
+        if (!milestoneRepository.existsById(milestoneId)) {
+            throw new IllegalArgumentException("Milestone not found");
+        }
+        return taskRepository.findByMilestone(milestoneId);
+    }
+
+    public List<Task> getTasksByAssignee(Long assigneeId, String status) {
+        return taskRepository.findByAssignee(assigneeId, normalizeStatus(status));
+    }
+
+    public AssigneeWorkloadResponse getWorkload(Long assigneeId, LocalDate week) {
+        LocalDate weekStart = weekStart(week);
+        return assigneeWorkloadRepository.findByAssigneeIdAndWeekStart(assigneeId, weekStart)
+                .map(TaskService::toResponse)
+                .orElseGet(() -> new AssigneeWorkloadResponse(assigneeId, weekStart, 0, 0));
+    }
+
+    public List<AssigneeWorkloadResponse> getWorkloadForWeek(LocalDate week) {
+        return assigneeWorkloadRepository.findByWeekStartAndOpenTasksGreaterThanOrderByOpenHoursDesc(weekStart(week), 0L).stream()
+                .map(TaskService::toResponse)
+                .toList();
+    }
+
+    private void applyWorkload(Task task, int sign) {
+        if (!isOpen(task) || task.getDueDate() == null) {
+            return;
+        }
+        double hours = task.getEstimatedHours() != null ? task.getEstimatedHours() : 0;
+        assigneeWorkloadRepository.add(task.getAssigneeId(), weekStart(task.getDueDate()), sign, sign * hours);
+    }
+
+    static boolean isOpen(Task task) {
+        return task.getCompletedAt() == null
+                && (task.getStatus() == null || !CLOSED_STATUSES.contains(task.getStatus().toUpperCase(Locale.ROOT)));
+    }
+
+    /** Statuses are stored upper-case so the assignee filter can match them exactly against its index. */
+    static String normalizeStatus(String status) {
+        return status == null || status.isBlank() ? null : status.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static LocalDate weekStart(LocalDate date) {
+        return (date != null ? date : LocalDate.now()).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    private static AssigneeWorkloadResponse toResponse(AssigneeWorkload workload) {
+        return new AssigneeWorkloadResponse(workload.getAssigneeId(), workload.getWeekStart(), workload.getOpenTasks(), workload.getOpenHours());
+    }
+}
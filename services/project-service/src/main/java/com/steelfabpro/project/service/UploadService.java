@@ -0,0 +1,346 @@
+package com.steelfabpro.project.service;
+
+import com.steelfabpro.project.dto.UploadRequest;
+import com.steelfabpro.project.dto.UploadStatusResponse;
+import com.steelfabpro.project.model.FileUpload;
+import com.steelfabpro.project.model.FileUploadRepository;
+import com.steelfabpro.project.model.ProjectFile;
+import com.steelfabpro.project.model.ProjectRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Resumable chunked uploads. Initiating an upload preallocates {@code incoming/<id>.part} at its
+ * full size. Each chunk is spooled and checksummed first, then written in place at its offset and
+ * flushed under the upload's row lock before it is acknowledged in the chunk bitmap, so a corrupt
+ * or late duplicate can never overwrite acknowledged bytes. Completing renames the part file into
+ * {@code files/}.
+ */
+@Slf4j
+@Service
+public class UploadService {
+    public static final String UPLOADING = "UPLOADING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String ABORTED = "ABORTED";
+
+    private static final int BUFFER_SIZE = 256 * 1024;
+    private static final int MIN_CHUNK_SIZE = 256 * 1024;
+    private static final int MAX_MISSING_OFFSETS = 100;
+
+    private final FileUploadRepository fileUploadRepository;
+    private final ProjectRepository projectRepository;
+    private final ProjectFileService projectFileService;
+    private final TransactionTemplate transactionTemplate;
+    private final Path incoming;
+    private final Path files;
+    private final int defaultChunkSize;
+    private final int maxChunkSize;
+    private final long maxFileSize;
+    private final long expireHours;
+
+    public UploadService(FileUploadRepository fileUploadRepository, ProjectRepository projectRepository,
+                         ProjectFileService projectFileService, TransactionTemplate transactionTemplate,
+                         @Value("${project.uploads.dir:data/uploads}") String directory,
+                         @Value("${project.uploads.chunk-size:8388608}") int defaultChunkSize,
+                         @Value("${project.uploads.max-chunk-size:67108864}") int maxChunkSize,
+                         @Value("${project.uploads.max-file-size:21474836480}") long maxFileSize,
+                         @Value("${project.uploads.expire-hours:72}") long expireHours) {
+        this.fileUploadRepository = fileUploadRepository;
+        this.projectRepository = projectRepository;
+        this.projectFileService = projectFileService;
+        this.transactionTemplate = transactionTemplate;
+        Path root = Path.of(directory).toAbsolutePath();
+        this.incoming = root.resolve("incoming");
+        this.files = root.resolve("files");
+        this.defaultChunkSize = defaultChunkSize;
+        this.maxChunkSize = maxChunkSize;
+        this.maxFileSize = maxFileSize;
+        this.expireHours = expireHours;
+        try {
+            Files.createDirectories(incoming);
+            Files.createDirectories(files);
+            try (Stream<Path> leftovers = Files.list(incoming)) {
+                for (Path path : (Iterable<Path>) leftovers.filter(path -> path.toString().endsWith(".chunk"))::iterator) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public UploadStatusResponse initiate(Long projectId, UploadRequest request) {
+        if (!projectRepository.existsById(projectId)) {
+            throw new IllegalArgumentException("Project not found");
+        }
+        if (request.getFileName() == null || request.getFileName().isBlank()) {
+            throw new IllegalArgumentException("fileName is required");
+        }
+        if (request.getTotalSize() == null || request.getTotalSize() <= 0 || request.getTotalSize() > maxFileSize) {
+            throw new IllegalArgumentException("totalSize must be between 1 and " + maxFileSize + " bytes");
+        }
+        int chunkSize = request.getChunkSize() != null ? request.getChunkSize() : defaultChunkSize;
+        if (chunkSize < MIN_CHUNK_SIZE || chunkSize > maxChunkSize) {
+            throw new IllegalArgumentException("chunkSize must be between " + MIN_CHUNK_SIZE + " and " + maxChunkSize + " bytes");
+        }
+        long chunks = (request.getTotalSize() + chunkSize - 1) / chunkSize;
+        LocalDateTime now = LocalDateTime.now();
+        FileUpload upload = fileUploadRepository.save(FileUpload.builder()
+                .projectId(projectId)
+                .fileName(request.getFileName())
+                .fileType(request.getFileType())
+                .uploadedBy(request.getUploadedBy())
+                .totalSize(request.getTotalSize())
+                .chunkSize(chunkSize)
+                .chunkCount((int) chunks)
+                .receivedChunks(0)
+                .chunkMap(new byte[(int) ((chunks + 7) / 8)])
+                .status(UPLOADING)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+        try (RandomAccessFile part = new RandomAccessFile(partPath(upload.getId()).toFile(), "rw")) {
+            part.setLength(upload.getTotalSize());
+        } catch (IOException e) {
+            upload.setStatus(ABORTED);
+            fileUploadRepository.save(upload);
+            throw new UncheckedIOException(e);
+        }
+        log.debug("Initiated upload {} for project {}: {} bytes in {} chunks", upload.getId(), projectId, upload.getTotalSize(), chunks);
+        return toResponse(upload);
+    }
+
+    public UploadStatusResponse getStatus(Long projectId, Long uploadId) {
+        return toResponse(find(projectId, uploadId));
+    }
+
+    public UploadStatusResponse writeChunk(Long projectId, Long uploadId, long offset, String sha256, InputStream content) throws IOException {
+        FileUpload upload = find(projectId, uploadId);
+        requireUploading(upload);
+        if (offset < 0 || offset >= upload.getTotalSize() || offset % upload.getChunkSize() != 0) {
+            throw new IllegalArgumentException("offset must be a multiple of " + upload.getChunkSize() + " below " + upload.getTotalSize());
+        }
+        if (sha256 == null || sha256.isBlank()) {
+            throw new IllegalArgumentException("Chunk checksum is required");
+        }
+        int index = (int) (offset / upload.getChunkSize());
+        if (isReceived(upload.getChunkMap(), index)) {
+            return toResponse(upload);
+        }
+
+        long expected = Math.min(upload.getChunkSize(), upload.getTotalSize() - offset);
+        Path spool = Files.createTempFile(incoming, uploadId + "-", ".chunk");
+        try {
+            spool(content, spool, expected, offset, sha256.trim());
+            return transactionTemplate.execute(status -> {
+                FileUpload locked = fileUploadRepository.lockById(uploadId).orElseThrow(() -> new IllegalArgumentException("Upload not found"));
+                requireUploading(locked);
+                if (!isReceived(locked.getChunkMap(), index)) {
+                    writeAt(spool, partPath(uploadId), offset, expected);
+                    byte[] chunkMap = locked.getChunkMap().clone();
+                    chunkMap[index >>> 3] |= (byte) (1 << (index & 7));
+                    locked.setChunkMap(chunkMap);
+                    locked.setReceivedChunks(locked.getReceivedChunks() + 1);
+                }
+                locked.setUpdatedAt(LocalDateTime.now());
+                return toResponse(fileUploadRepository.save(locked));
+            });
+        } finally {
+            Files.deleteIfExists(spool);
+        }
+    }
+
+    /** Copies the request body to {@code spool}, hashing it on the way, and rejects it unless size and checksum match. */
+    private static void spool(InputStream content, Path spool, long expected, long offset, String sha256) throws IOException {
+        MessageDigest digest = sha256();
+        long written = 0;
+        try (ReadableByteChannel in = Channels.newChannel(content);
+             FileChannel out = FileChannel.open(spool, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            while (in.read(buffer) != -1) {
+                buffer.flip();
+                if (written + buffer.remaining() > expected) {
+                    throw new IllegalArgumentException("Chunk at offset " + offset + " must be " + expected + " bytes");
+                }
+                digest.update(buffer.duplicate());
+                while (buffer.hasRemaining()) {
+                    written += out.write(buffer);
+                }
+                buffer.clear();
+            }
+        }
+        if (written != expected) {
+            throw new IllegalArgumentException("Chunk at offset " + offset + " must be " + expected + " bytes");
+        }
+        if (!HexFormat.of().formatHex(digest.digest()).equalsIgnoreCase(sha256)) {
+            throw new IllegalArgumentException("Chunk checksum mismatch at offset " + offset);
+        }
+    }
+
+    /**
+     * Writes a verified chunk into the part file at its offset and flushes it. Called with the
+     * upload row locked, so a chunk is written at most once and never after the upload completes.
+     */
+    private static void writeAt(Path spool, Path part, long offset, long length) {
+        try (FileChannel in = FileChannel.open(spool, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(part, StandardOpenOption.WRITE)) {
+            long copied = 0;
+            while (copied < length) {
+                copied += out.transferFrom(in, offset + copied, length - copied);
+            }
+            out.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public ProjectFile complete(Long projectId, Long uploadId) {
+        return transactionTemplate.execute(status -> {
+            FileUpload upload = fileUploadRepository.lockById(uploadId)
+                    .filter(u -> u.getProjectId().equals(projectId))
+                    .orElseThrow(() -> new IllegalArgumentException("Upload not found"));
+            requireUploading(upload);
+            int missing = upload.getChunkCount() - upload.getReceivedChunks();
+            if (missing > 0) {
+                throw new IllegalArgumentException("Upload is missing " + missing + " chunks");
+            }
+            Path part = partPath(uploadId);
+            Path target = files.resolve(projectId.toString()).resolve(uploadId + "-" + safeName(upload.getFileName()));
+            try {
+                Files.createDirectories(target.getParent());
+                Files.move(part, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            try {
+                ProjectFile file = projectFileService.addFile(projectId, ProjectFile.builder()
+                        .fileName(upload.getFileName())
+                        .fileType(upload.getFileType())
+                        .uploadedBy(upload.getUploadedBy())
+                        .sizeBytes(upload.getTotalSize())
+                        .storagePath(target.toString())
+                        .build());
+                upload.setStatus(COMPLETED);
+                upload.setProjectFileId(file.getId());
+                upload.setUpdatedAt(LocalDateTime.now());
+                fileUploadRepository.save(upload);
+                return file;
+            } catch (RuntimeException e) {
+                moveBack(target, part);
+                throw e;
+            }
+        });
+    }
+
+    public void abort(Long projectId, Long uploadId) {
+        find(projectId, uploadId);
+        abort(uploadId);
+    }
+
+    @Scheduled(fixedDelayString = "${project.uploads.cleanup-ms:3600000}")
+    public void expireStaleUploads() {
+        List<FileUpload> stale = fileUploadRepository.findByStatusAndUpdatedAtBefore(UPLOADING, LocalDateTime.now().minusHours(expireHours));
+        for (FileUpload upload : stale) {
+            try {
+                abort(upload.getId());
+            } catch (IllegalArgumentException e) {
+                log.debug("Upload {} finished before it could expire", upload.getId());
+            }
+        }
+        if (!stale.isEmpty()) {
+            log.info("Expired {} stale uploads", stale.size());
+        }
+    }
+
+    private void abort(Long uploadId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            FileUpload upload = fileUploadRepository.lockById(uploadId).orElseThrow(() -> new IllegalArgumentException("Upload not found"));
+            requireUploading(upload);
+            upload.setStatus(ABORTED);
+            upload.setUpdatedAt(LocalDateTime.now());
+            fileUploadRepository.save(upload);
+        });
+        try {
+            Files.deleteIfExists(partPath(uploadId));
+        } catch (IOException e) {
+            log.warn("Could not delete part file for upload {}", uploadId, e);
+        }
+    }
+
+    private FileUpload find(Long projectId, Long uploadId) {
+        return fileUploadRepository.findByIdAndProjectId(uploadId, projectId).orElseThrow(() -> new IllegalArgumentException("Upload not found"));
+    }
+
+    private Path partPath(Long uploadId) {
+        return incoming.resolve(uploadId + ".part");
+    }
+
+    private void moveBack(Path target, Path part) {
+        try {
+            Files.move(target, part, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.error("Could not restore part file {} from {}", part, target, e);
+        }
+    }
+
+    private static void requireUploading(FileUpload upload) {
+        if (!UPLOADING.equals(upload.getStatus())) {
+            throw new IllegalArgumentException("Upload is " + upload.getStatus().toLowerCase());
+        }
+    }
+
+    private static boolean isReceived(byte[] chunkMap, int index) {
+        return (chunkMap[index >>> 3] & (1 << (index & 7))) != 0;
+    }
+
+    private static String safeName(String fileName) {
+        String name = fileName.substring(Math.max(fileName.lastIndexOf('/'), fileName.lastIndexOf('\\')) + 1)
+                .replaceAll("[^A-Za-z0-9._-]", "_");
+        return name.isEmpty() || name.startsWith(".") ? "file" + name : name;
+    }
+
+    private static UploadStatusResponse toResponse(FileUpload upload) {
+        List<Long> missing = new ArrayList<>();
+        if (UPLOADING.equals(upload.getStatus())) {
+            for (int i = 0; i < upload.getChunkCount() && missing.size() < MAX_MISSING_OFFSETS; i++) {
+                if (!isReceived(upload.getChunkMap(), i)) {
+                    missing.add((long) i * upload.getChunkSize());
+                }
+            }
+        }
+        return new UploadStatusResponse(upload.getId(), upload.getStatus(), upload.getTotalSize(), upload.getChunkSize(),
+                upload.getChunkCount(), upload.getReceivedChunks(), missing.isEmpty() ? null : missing.get(0), missing,
+                upload.getProjectFileId());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.steelfabpro.project.schedule;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("benchmark")
+class ScheduleGraphBenchmark {
+	private static final int TASKS = 50_000;
+	private static final int MAX_PREDECESSORS = 3;
+	private static final int WINDOW = 200;
+	private static final int UPDATES = 10_000;
+
+	@Test
+	void buildAndIncrementalUpdate() {
+		Random random = new Random(42);
+		long[] ids = new long[TASKS];
+		int[] duration = new int[TASKS];
+		int[] release = new int[TASKS];
+		int[] due = new int[TASKS];
+		List<long[]> edges = new ArrayList<>();
+		for (int i = 0; i < TASKS; i++) {
+			ids[i] = 1_000 + i;
+			duration[i] = 1 + random.nextInt(5);
+			due[i] = random.nextInt(20) == 0 ? i / 10 + 5 : ScheduleGraph.NO_DUE_DATE;
+			int predecessors = i == 0 ? 0 : random.nextInt(MAX_PREDECESSORS + 1);
+			for (int p = 0; p < predecessors; p++) {
+				int from = Math.max(0, i - 1 - random.nextInt(Math.min(i, WINDOW)));
+				edges.add(new long[] {ids[from], ids[i]});
+			}
+		}
+		long[][] dependencies = edges.stream().toArray(long[][]::new);
+
+		long buildStart = System.nanoTime();
+		ScheduleGraph graph = ScheduleGraph.build(ids, duration, release, due, dependencies, null);
+		long buildNanos = System.nanoTime() - buildStart;
+
+		long fullStart = System.nanoTime();
+		graph.computeAll();
+		long fullNanos = System.nanoTime() - fullStart;
+		List<Long> criticalPath = graph.criticalPath();
+		assertFalse(criticalPath.isEmpty());
+
+		long visited = 0;
+		long updateStart = System.nanoTime();
+		for (int u = 0; u < UPDATES; u++) {
+			int i = random.nextInt(TASKS);
+			duration[i] = 1 + random.nextInt(5);
+			release[i] = random.nextInt(10) == 0 ? random.nextInt(TASKS / 10) : 0;
+			visited += graph.update(ids[i], duration[i], release[i], due[i]);
+		}
+		long updateNanos = System.nanoTime() - updateStart;
+
+		ScheduleGraph expected = ScheduleGraph.build(ids, duration, release, due, dependencies, null);
+		for (int i = 0; i < TASKS; i++) {
+			assertEquals(expected.earliestStart(i), graph.earliestStart(i));
+			assertEquals(expected.latestStart(i), graph.latestStart(i));
+		}
+		assertTrue(buildNanos < 2_000_000_000L);
+
+		System.out.printf("build %,d tasks / %,d dependencies: %,d ms, full pass: %,d ms, critical path: %,d tasks%n",
+				TASKS, dependencies.length, buildNanos / 1_000_000, fullNanos / 1_000_000, criticalPath.size());
+		System.out.printf("%,d incremental updates: %,d ms (%,.1f us/update, %,.0f tasks recomputed per update)%n",
+				UPDATES, updateNanos / 1_000_000, updateNanos / 1e3 / UPDATES, (double) visited / UPDATES);
+	}
+}
@@ -0,0 +1,104 @@
+package com.steelfabpro.project.service;
+
+import com.steelfabpro.project.dto.ProjectDashboard;
+import com.steelfabpro.project.model.Feedback;
+import com.steelfabpro.project.model.Milestone;
+import com.steelfabpro.project.model.Project;
+import com.steelfabpro.project.model.ProjectFile;
+import com.steelfabpro.project.model.Task;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class DashboardServiceTests {
+	@Autowired
+	private ProjectService projectService;
+
+	@Autowired
+	private MilestoneService milestoneService;
+
+	@Autowired
+	private TaskService taskService;
+
+	@Autowired
+	private ProjectFileService projectFileService;
+
+	@Autowired
+	private FeedbackService feedbackService;
+
+	@Autowired
+	private DashboardService dashboardService;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void assemblesDashboardWithFixedNumberOfStatements() {
+		Project project = projectService.createProject(Project.builder()
+				.clientId(1L)
+				.name("Dashboard test")
+				.status("ACTIVE")
+				.startDate(LocalDate.now())
+				.build());
+		for (int m = 0; m < 3; m++) {
+			Milestone milestone = milestoneService.createMilestone(project.getId(), Milestone.builder()
+					.name("Milestone " + m)
+					.status(m == 0 ? "COMPLETED" : "OPEN")
+					.dueDate(LocalDate.now().plusWeeks(m))
+					.build());
+			for (int t = 0; t < 4; t++) {
+				taskService.createTask(milestone.getId(), Task.builder()
+						.assigneeId(10L + t)
+						.description("Task " + m + "." + t)
+						.status(t == 0 ? "DONE" : "OPEN")
+						.dueDate(LocalDate.now().plusDays(t))
+						.build());
+			}
+		}
+		for (int i = 0; i < 15; i++) {
+			projectFileService.addFile(project.getId(), ProjectFile.builder()
+					.fileUrl("/files/" + i)
+					.fileType("pdf")
+					.uploadedBy(10L)
+					.uploadedAt(LocalDateTime.now().plusMinutes(i))
+					.build());
+			feedbackService.addFeedback(project.getId(), Feedback.builder()
+					.userId(20L)
+					.comment("Feedback " + i)
+					.rating(1 + i % 5)
+					.createdAt(LocalDateTime.now().plusMinutes(i))
+					.build());
+		}
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		ProjectDashboard dashboard = dashboardService.getDashboard(project.getId());
+
+		assertEquals(DashboardService.QUERIES, statistics.getPrepareStatementCount());
+		assertEquals(3, dashboard.getMilestones().size());
+		assertEquals(12, dashboard.getTasks().size());
+		assertEquals(10, dashboard.getRecentFiles().size());
+		assertEquals(10, dashboard.getRecentFeedback().size());
+		assertEquals("/files/14", dashboard.getRecentFiles().get(0).getFileUrl());
+		assertEquals(3L, dashboard.getProject().getTotalMilestones());
+		assertEquals(1L, dashboard.getProject().getCompletedMilestones());
+		assertEquals(12L, dashboard.getProject().getTotalTasks());
+		assertEquals(3L, dashboard.getProject().getCompletedTasks());
+		assertEquals(4L, dashboard.getMilestones().get(0).getTotalTasks());
+	}
+
+	@Test
+	void rejectsUnknownProject() {
+		assertThrows(IllegalArgumentException.class, () -> dashboardService.getDashboard(-1L));
+	}
+}
@@ -0,0 +1,97 @@
+package com.steelfabpro.project.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("benchmark")
+@SpringBootTest
+class ProjectQueryBenchmark {
+	private static final int PROJECTS = 1_000;
+	private static final int[] ROWS_PER_TABLE = {10_000, 100_000, 1_000_000};
+	private static final int SAMPLES = 200;
+	private static final int PAGE_SIZE = 50;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private MilestoneService milestoneService;
+
+	@Autowired
+	private FeedbackService feedbackService;
+
+	@Autowired
+	private ProjectFileService projectFileService;
+
+	private long firstProjectId;
+
+	@Test
+	void perProjectQueriesStayFlatAsTablesGrow() {
+		long[] ids = jdbcTemplate.queryForObject(
+				"with inserted as (insert into projects (client_id, name, status, created_at) " +
+				"select 1, 'benchmark ' || g, 'ACTIVE', now() from generate_series(1, ?) g returning id) " +
+				"select min(id), max(id) from inserted", (rs, i) -> new long[] {rs.getLong(1), rs.getLong(2)}, PROJECTS);
+		firstProjectId = ids[0];
+		assertEquals(PROJECTS - 1, ids[1] - ids[0]);
+
+		int seeded = 0;
+		double[] medians = new double[ROWS_PER_TABLE.length];
+		for (int step = 0; step < ROWS_PER_TABLE.length; step++) {
+			seed(seeded, ROWS_PER_TABLE[step]);
+			seeded = ROWS_PER_TABLE[step];
+			jdbcTemplate.execute("analyze milestones; analyze feedback; analyze project_files");
+			medians[step] = measure();
+			System.out.printf("%,9d rows per table: median %.2f ms for milestones + feedback + files%n", seeded, medians[step]);
+		}
+		assertTrue(medians[medians.length - 1] <= medians[0] * 3 + 5,
+				"latency grew with table size: " + Arrays.toString(medians));
+	}
+
+	@AfterEach
+	void cleanUp() {
+		if (firstProjectId == 0) {
+			return;
+		}
+		long lastProjectId = firstProjectId + PROJECTS - 1;
+		jdbcTemplate.update("delete from project_files where project_id between ? and ?", firstProjectId, lastProjectId);
+		jdbcTemplate.update("delete from feedback where project_id between ? and ?", firstProjectId, lastProjectId);
+		jdbcTemplate.update("delete from milestones where project_id between ? and ?", firstProjectId, lastProjectId);
+		jdbcTemplate.update("delete from projects where id between ? and ?", firstProjectId, lastProjectId);
+	}
+
+	private void seed(int from, int to) {
+		jdbcTemplate.update("insert into milestones (project_id, name, due_date, status) " +
+				"select ? + g % ?, 'milestone ' || g, current_date + (g % 365), 'OPEN' from generate_series(?, ?) g",
+				firstProjectId, PROJECTS, from, to - 1);
+		jdbcTemplate.update("insert into feedback (project_id, user_id, comment, rating, created_at) " +
+				"select ? + g % ?, g % 500, 'feedback ' || g, 1 + g % 5, now() - g * interval '1 second' from generate_series(?, ?) g",
+				firstProjectId, PROJECTS, from, to - 1);
+		jdbcTemplate.update("insert into project_files (project_id, file_url, file_type, uploaded_by, uploaded_at) " +
+				"select ? + g % ?, '/files/' || g, 'pdf', g % 500, now() - g * interval '1 second' from generate_series(?, ?) g",
+				firstProjectId, PROJECTS, from, to - 1);
+	}
+
+	private double measure() {
+		long[] samples = new long[SAMPLES];
+		for (int i = 0; i < SAMPLES; i++) {
+			long projectId = firstProjectId + (i * 7L) % PROJECTS;
+			long start = System.nanoTime();
+			int rows = milestoneService.getMilestonesByProject(projectId, 0, PAGE_SIZE).size()
+					+ feedbackService.getFeedbackByProject(projectId, 0, PAGE_SIZE).size()
+					+ projectFileService.getFilesByProject(projectId, 0, PAGE_SIZE).size();
+			samples[i] = System.nanoTime() - start;
+			assertTrue(rows > 0);
+		}
+		Arrays.sort(samples);
+		return samples[SAMPLES / 2] / 1e6;
+	}
+}
@@ -0,0 +1,91 @@
+package com.steelfabpro.project.service;
+
+import com.steelfabpro.project.model.Project;
+import com.steelfabpro.project.model.ProjectRepository;
+import com.steelfabpro.project.model.Task;
+import com.steelfabpro.project.model.TaskDependency;
+import com.steelfabpro.project.model.TaskDependencyRepository;
+import com.steelfabpro.project.model.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ScheduleServiceTests {
+	private static final long PROJECT_ID = 3L;
+
+	private final List<TaskDependency> dependencies = new ArrayList<>();
+	private ProjectRepository projectRepository;
+	private TaskDependencyRepository taskDependencyRepository;
+	private ScheduleService scheduleService;
+
+	@BeforeEach
+	void setUp() {
+		Project project = Project.builder().id(PROJECT_ID).clientId(1L).name("Bridge").status("ACTIVE")
+				.startDate(LocalDate.now()).createdAt(LocalDateTime.now()).build();
+		projectRepository = mock(ProjectRepository.class);
+		when(projectRepository.findById(PROJECT_ID)).thenReturn(Optional.of(project));
+		when(projectRepository.lockById(PROJECT_ID)).thenReturn(Optional.of(project));
+
+		TaskRepository taskRepository = mock(TaskRepository.class);
+		when(taskRepository.findProjectId(anyLong())).thenReturn(Optional.of(PROJECT_ID));
+		when(taskRepository.findByProject(PROJECT_ID)).thenReturn(List.of(task(1L), task(2L), task(3L)));
+
+		taskDependencyRepository = mock(TaskDependencyRepository.class);
+		when(taskDependencyRepository.findByProjectId(PROJECT_ID)).thenAnswer(invocation -> List.copyOf(dependencies));
+		when(taskDependencyRepository.existsByPredecessorIdAndSuccessorId(anyLong(), anyLong())).thenAnswer(invocation ->
+				dependencies.stream().anyMatch(d -> d.getPredecessorId().equals(invocation.getArgument(0))
+						&& d.getSuccessorId().equals(invocation.getArgument(1))));
+		when(taskDependencyRepository.save(any(TaskDependency.class))).thenAnswer(invocation -> {
+			TaskDependency dependency = invocation.getArgument(0);
+			dependency.setId((long) dependencies.size() + 1);
+			dependencies.add(dependency);
+			return dependency;
+		});
+
+		scheduleService = new ScheduleService(projectRepository, taskRepository, taskDependencyRepository,
+				new TransactionTemplate(mock(PlatformTransactionManager.class)), 8);
+	}
+
+	@Test
+	void addsDependencyUnderTheProjectLock() {
+		TaskDependency saved = scheduleService.addDependency(2L, 1L);
+
+		assertEquals(1L, saved.getPredecessorId());
+		assertEquals(2L, saved.getSuccessorId());
+		verify(projectRepository).lockById(PROJECT_ID);
+		assertEquals(List.of(1L, 2L), scheduleService.getSchedule(PROJECT_ID).getCriticalPath());
+	}
+
+	@Test
+	void rejectsCycleCommittedAfterTheGraphWasCached() {
+		scheduleService.getSchedule(PROJECT_ID);
+		// Another instance links 1 -> 2 -> 3 after this one cached an edgeless graph.
+		dependencies.add(TaskDependency.builder().id(10L).projectId(PROJECT_ID).predecessorId(1L).successorId(2L).build());
+		dependencies.add(TaskDependency.builder().id(11L).projectId(PROJECT_ID).predecessorId(2L).successorId(3L).build());
+
+		IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () -> scheduleService.addDependency(1L, 3L));
+
+		assertEquals("Dependency would create a cycle", error.getMessage());
+		verify(taskDependencyRepository, never()).save(any(TaskDependency.class));
+	}
+
+	private static Task task(Long id) {
+		return Task.builder().id(id).assigneeId(1L).status("OPEN").estimatedHours(8.0).build();
+	}
+}
@@ -0,0 +1,97 @@
+package com.steelfabpro.project.service;
+
+import com.steelfabpro.project.dto.TaskUpdate;
+import com.steelfabpro.project.model.AssigneeWorkloadRepository;
+import com.steelfabpro.project.model.MilestoneRepository;
+import com.steelfabpro.project.model.Task;
+import com.steelfabpro.project.model.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TaskServiceTests {
+	private static final long PROJECT_ID = 4L;
+	private static final long MILESTONE_ID = 8L;
+	private static final LocalDate DUE = LocalDate.of(2026, 10, 21);
+
+	private TaskRepository taskRepository;
+	private AssigneeWorkloadRepository assigneeWorkloadRepository;
+	private ProgressService progressService;
+	private TaskService taskService;
+	private Task task;
+
+	@BeforeEach
+	void setUp() {
+		task = Task.builder().id(15L).assigneeId(3L).status("Done").dueDate(DUE).completedAt(LocalDate.of(2026, 10, 1))
+				.estimatedHours(6.0).build();
+		taskRepository = mock(TaskRepository.class);
+		when(taskRepository.lockByIdAndMilestone(15L, MILESTONE_ID)).thenReturn(Optional.of(task));
+		when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+		MilestoneRepository milestoneRepository = mock(MilestoneRepository.class);
+		when(milestoneRepository.findProjectId(MILESTONE_ID)).thenReturn(Optional.of(PROJECT_ID));
+		assigneeWorkloadRepository = mock(AssigneeWorkloadRepository.class);
+		progressService = mock(ProgressService.class);
+		taskService = new TaskService(taskRepository, milestoneRepository, assigneeWorkloadRepository, mock(ScheduleService.class),
+				progressService, new TransactionTemplate(mock(PlatformTransactionManager.class)));
+	}
+
+	@Test
+	void reopenClearsCompletionAndCountsTheTaskAsOpenAgain() {
+		TaskUpdate update = new TaskUpdate();
+		update.setReopen(true);
+
+		Task reopened = taskService.updateTask(MILESTONE_ID, 15L, update);
+
+		assertNull(reopened.getCompletedAt());
+		assertEquals(TaskService.OPEN, reopened.getStatus());
+		verify(progressService).taskChanged(PROJECT_ID, MILESTONE_ID, true, false);
+		verify(assigneeWorkloadRepository).add(3L, LocalDate.of(2026, 10, 19), 1, 6.0);
+	}
+
+	@Test
+	void reopenKeepsAnExplicitOpenStatus() {
+		TaskUpdate update = new TaskUpdate();
+		update.setReopen(true);
+		update.setStatus(" in_review ");
+
+		assertEquals("IN_REVIEW", taskService.updateTask(MILESTONE_ID, 15L, update).getStatus());
+	}
+
+	@Test
+	void rejectsReopeningAndCompletingTogether() {
+		TaskUpdate update = new TaskUpdate();
+		update.setReopen(true);
+		update.setStatus("completed");
+
+		assertThrows(IllegalArgumentException.class, () -> taskService.updateTask(MILESTONE_ID, 15L, update));
+		verify(taskRepository, never()).save(any(Task.class));
+	}
+
+	@Test
+	void storesAndFiltersStatusesUpperCase() {
+		task.setCompletedAt(null);
+		task.setStatus("OPEN");
+		TaskUpdate update = new TaskUpdate();
+		update.setStatus("done");
+
+		assertEquals("DONE", taskService.updateTask(MILESTONE_ID, 15L, update).getStatus());
+		verify(progressService).taskChanged(PROJECT_ID, MILESTONE_ID, false, true);
+
+		when(taskRepository.findByAssignee(3L, "DONE")).thenReturn(List.of(task));
+		assertEquals(List.of(task), taskService.getTasksByAssignee(3L, "Done"));
+	}
+}
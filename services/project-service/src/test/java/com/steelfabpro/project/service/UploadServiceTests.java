@@ -0,0 +1,178 @@
+package com.steelfabpro.project.service;
+
+import com.steelfabpro.project.dto.UploadRequest;
+import com.steelfabpro.project.dto.UploadStatusResponse;
+import com.steelfabpro.project.model.FileUpload;
+import com.steelfabpro.project.model.FileUploadRepository;
+import com.steelfabpro.project.model.ProjectFile;
+import com.steelfabpro.project.model.ProjectRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UploadServiceTests {
+	private static final long PROJECT_ID = 7L;
+	private static final int CHUNK_SIZE = 256 * 1024;
+
+	@TempDir
+	Path directory;
+
+	private final Map<Long, FileUpload> uploads = new HashMap<>();
+	private FileUploadRepository fileUploadRepository;
+	private UploadService uploadService;
+	private byte[] content;
+
+	@BeforeEach
+	void setUp() {
+		fileUploadRepository = mock(FileUploadRepository.class);
+		when(fileUploadRepository.save(any(FileUpload.class))).thenAnswer(invocation -> {
+			FileUpload upload = invocation.getArgument(0);
+			if (upload.getId() == null) {
+				upload.setId((long) uploads.size() + 1);
+			}
+			uploads.put(upload.getId(), upload);
+			return upload;
+		});
+		when(fileUploadRepository.lockById(anyLong())).thenAnswer(invocation -> Optional.ofNullable(uploads.get(invocation.<Long>getArgument(0))));
+		when(fileUploadRepository.findByIdAndProjectId(anyLong(), eq(PROJECT_ID)))
+				.thenAnswer(invocation -> Optional.ofNullable(uploads.get(invocation.<Long>getArgument(0))));
+		ProjectRepository projectRepository = mock(ProjectRepository.class);
+		when(projectRepository.existsById(PROJECT_ID)).thenReturn(true);
+		ProjectFileService projectFileService = mock(ProjectFileService.class);
+		when(projectFileService.addFile(eq(PROJECT_ID), any(ProjectFile.class))).thenAnswer(invocation -> {
+			ProjectFile file = invocation.getArgument(1);
+			file.setId(42L);
+			return file;
+		});
+		uploadService = new UploadService(fileUploadRepository, projectRepository, projectFileService,
+				new TransactionTemplate(mock(PlatformTransactionManager.class)), directory.toString(),
+				CHUNK_SIZE, CHUNK_SIZE * 4, 1L << 30, 72);
+		content = new byte[CHUNK_SIZE * 2 + 1_000];
+		new Random(1).nextBytes(content);
+	}
+
+	@Test
+	void resumesFromTheFirstMissingChunkAndAssemblesTheFile() throws IOException {
+		UploadStatusResponse started = uploadService.initiate(PROJECT_ID, request());
+		Long uploadId = started.getUploadId();
+		assertEquals(3, started.getChunkCount());
+		assertEquals(0L, started.getNextOffset());
+
+		put(uploadId, 0, chunk(0));
+		put(uploadId, 2L * CHUNK_SIZE, chunk(2));
+		UploadStatusResponse resumed = uploadService.getStatus(PROJECT_ID, uploadId);
+		assertEquals(2, resumed.getReceivedChunks());
+		assertEquals((long) CHUNK_SIZE, resumed.getNextOffset());
+		assertEquals(List.of((long) CHUNK_SIZE), resumed.getMissingOffsets());
+
+		UploadStatusResponse done = put(uploadId, CHUNK_SIZE, chunk(1));
+		assertNull(done.getNextOffset());
+		ProjectFile file = uploadService.complete(PROJECT_ID, uploadId);
+
+		assertEquals(42L, file.getId());
+		assertEquals((long) content.length, file.getSizeBytes());
+		assertArrayEquals(content, Files.readAllBytes(Path.of(file.getStoragePath())));
+		assertEquals(UploadService.COMPLETED, uploadService.getStatus(PROJECT_ID, uploadId).getStatus());
+	}
+
+	@Test
+	void corruptRetryNeverOverwritesAnAcknowledgedChunk() throws IOException {
+		Long uploadId = uploadService.initiate(PROJECT_ID, request()).getUploadId();
+		put(uploadId, 0, chunk(0));
+
+		byte[] corrupt = chunk(0);
+		corrupt[10] ^= 1;
+		assertThrows(IllegalArgumentException.class, () -> uploadService.writeChunk(PROJECT_ID, uploadId, 0, sha256(chunk(0)),
+				new ByteArrayInputStream(corrupt)));
+		put(uploadId, CHUNK_SIZE, chunk(1));
+		put(uploadId, 2L * CHUNK_SIZE, chunk(2));
+
+		ProjectFile file = uploadService.complete(PROJECT_ID, uploadId);
+		assertArrayEquals(content, Files.readAllBytes(Path.of(file.getStoragePath())));
+	}
+
+	@Test
+	void rejectsChunksWithTheWrongSizeOrChecksum() throws IOException {
+		Long uploadId = uploadService.initiate(PROJECT_ID, request()).getUploadId();
+
+		byte[] shortChunk = Arrays.copyOf(chunk(0), CHUNK_SIZE - 1);
+		assertThrows(IllegalArgumentException.class, () -> put(uploadId, 0, shortChunk));
+		assertThrows(IllegalArgumentException.class, () -> uploadService.writeChunk(PROJECT_ID, uploadId, 0, sha256(chunk(1)),
+				new ByteArrayInputStream(chunk(0))));
+		assertThrows(IllegalArgumentException.class, () -> put(uploadId, 100, chunk(0)));
+
+		assertEquals(0, uploadService.getStatus(PROJECT_ID, uploadId).getReceivedChunks());
+		assertThrows(IllegalArgumentException.class, () -> uploadService.complete(PROJECT_ID, uploadId));
+	}
+
+	@Test
+	void chunkRacingCompletionIsRejected() throws IOException {
+		Long uploadId = uploadService.initiate(PROJECT_ID, request()).getUploadId();
+		FileUpload beforeCompletion = FileUpload.builder()
+				.id(uploadId)
+				.projectId(PROJECT_ID)
+				.totalSize((long) content.length)
+				.chunkSize(CHUNK_SIZE)
+				.chunkCount(3)
+				.receivedChunks(0)
+				.chunkMap(new byte[1])
+				.status(UploadService.UPLOADING)
+				.build();
+		for (int i = 0; i < 3; i++) {
+			put(uploadId, (long) i * CHUNK_SIZE, chunk(i));
+		}
+		ProjectFile file = uploadService.complete(PROJECT_ID, uploadId);
+
+		when(fileUploadRepository.findByIdAndProjectId(uploadId, PROJECT_ID)).thenReturn(Optional.of(beforeCompletion));
+		IllegalArgumentException rejected = assertThrows(IllegalArgumentException.class, () -> put(uploadId, 0, chunk(0)));
+		assertEquals("Upload is completed", rejected.getMessage());
+		assertArrayEquals(content, Files.readAllBytes(Path.of(file.getStoragePath())));
+	}
+
+	private UploadRequest request() {
+		return new UploadRequest("drawing.pdf", "application/pdf", 3L, (long) content.length, CHUNK_SIZE);
+	}
+
+	private UploadStatusResponse put(Long uploadId, long offset, byte[] chunk) throws IOException {
+		return uploadService.writeChunk(PROJECT_ID, uploadId, offset, sha256(chunk), new ByteArrayInputStream(chunk));
+	}
+
+	private byte[] chunk(int index) {
+		int from = index * CHUNK_SIZE;
+		return Arrays.copyOfRange(content, from, Math.min(content.length, from + CHUNK_SIZE));
+	}
+
+	private static String sha256(byte[] bytes) {
+		try {
+			return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
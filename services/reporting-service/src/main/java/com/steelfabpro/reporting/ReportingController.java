@@ -1,18 +1,51 @@
 package com.steelfabpro.reporting.controller;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.steelfabpro.reporting.dto.EtlRunResult;
+import com.steelfabpro.reporting.dto.LogIngestResponse;
+import com.steelfabpro.reporting.dto.LogIngestStats;
+import com.steelfabpro.reporting.dto.MetricSketchSummary;
+import com.steelfabpro.reporting.dto.ReportCacheStats;
+import com.steelfabpro.reporting.dto.ReportGenerationResponse;
+import com.steelfabpro.reporting.dto.ReportResult;
+import com.steelfabpro.reporting.etl.EtlService;
+import com.steelfabpro.reporting.export.ExportFormat;
+import com.steelfabpro.reporting.export.RowSource;
+import com.steelfabpro.reporting.export.RowWriter;
 import com.steelfabpro.reporting.model.*;
+import com.steelfabpro.reporting.service.LogIngestionService;
 import com.steelfabpro.reporting.service.ReportingService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/reports")
 @RequiredArgsConstructor
 public class ReportingController {
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final ReportingService reportingService;
+    private final LogIngestionService logIngestionService;
+    private final EtlService etlService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ResponseEntity<Report> createReport(@RequestBody Report report) {
@@ -24,14 +57,109 @@ public class ReportingController {
         return ResponseEntity.ok(reportingService.getAllReports());
     }
 
+    @PostMapping("/{reportId}/generate")
+    public ResponseEntity<ReportGenerationResponse> generateReport(
+            @PathVariable Long reportId,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        return ResponseEntity.ok(reportingService.generateReport(reportId, authorization));
+    }
+
+    @GetMapping("/{reportId}/result")
+    public ResponseEntity<ReportResult> getReportResult(
+            @PathVariable Long reportId,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        return ResponseEntity.ok(reportingService.getReportResult(reportId, authorization));
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<ReportCacheStats> getReportCacheStats() {
+        return ResponseEntity.ok(reportingService.getReportCacheStats());
+    }
+
+    @PostMapping("/etl/run")
+    public ResponseEntity<EtlRunResult> runEtl() {
+        return ResponseEntity.ok(etlService.run());
+    }
+
+    @GetMapping("/etl/watermarks")
+    public ResponseEntity<List<EtlWatermark>> getEtlWatermarks() {
+        return ResponseEntity.ok(etlService.getWatermarks());
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportReports(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return export(ExportFormat.parse(format), "reports", acceptEncoding, writer -> {
+            writer.writeRow("id", "type", "generatedFor", "generatedBy", "period", "createdAt");
+            reportingService.streamReports(report -> writeRow(writer, report.getId(), report.getType(), report.getGeneratedFor(),
+                    report.getGeneratedBy(), report.getPeriod(), report.getCreatedAt()));
+        });
+    }
+
+    @GetMapping("/metrics/export")
+    public ResponseEntity<StreamingResponseBody> exportMetrics(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String metricName,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return export(ExportFormat.parse(format), "metrics", acceptEncoding, writer -> {
+            writer.writeRow("reportId", "id", "metricName", "value", "recordedAt");
+            reportingService.streamMetricsForExport(from, to, metricName, metric -> writeRow(writer, metric.getReportId(),
+                    metric.getId(), metric.getMetricName(), metric.getValue(), metric.getRecordedAt()));
+        });
+    }
+
+    @GetMapping("/{reportId}/metrics/export")
+    public ResponseEntity<StreamingResponseBody> exportReportMetrics(
+            @PathVariable Long reportId,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String metricName,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        reportingService.requireReport(reportId);
+        return export(ExportFormat.parse(format), "report-" + reportId + "-metrics", acceptEncoding, writer -> {
+            writer.writeRow("id", "metricName", "value", "recordedAt");
+            reportingService.streamMetricsByReport(reportId, from, to, metricName, metric -> writeRow(writer,
+                    metric.getId(), metric.getMetricName(), metric.getValue(), metric.getRecordedAt()));
+        });
+    }
+
+    @GetMapping("/metrics/{metricName}/summary")
+    public ResponseEntity<MetricSketchSummary> getMetricSummary(
+            @PathVariable String metricName,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "0.5,0.95,0.99") List<Double> quantiles) {
+        return ResponseEntity.ok(reportingService.getMetricSummary(metricName, from, to, quantiles));
+    }
+
     @PostMapping("/{reportId}/metrics")
     public ResponseEntity<Metric> addMetric(@PathVariable Long reportId, @RequestBody Metric metric) {
         return ResponseEntity.ok(reportingService.addMetric(reportId, metric));
     }
 
     @GetMapping("/{reportId}/metrics")
-    public ResponseEntity<List<Metric>> getMetricsByReport(@PathVariable Long reportId) {
-        return ResponseEntity.ok(reportingService.getMetricsByReport(reportId));
+    public ResponseEntity<StreamingResponseBody> getMetricsByReport(
+            @PathVariable Long reportId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String metricName) {
+        reportingService.requireReport(reportId);
+        StreamingResponseBody body = out -> {
+            try (SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(out)) {
+                reportingService.streamMetricsByReport(reportId, from, to, metricName, metric -> {
+                    try {
+                        writer.write(metric);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
     }
 
     @PostMapping("/logs")
@@ -39,8 +167,67 @@ public class ReportingController {
         return ResponseEntity.ok(reportingService.logEvent(log));
     }
 
+    @PostMapping(value = "/logs/bulk", consumes = "application/x-ndjson")
+    public ResponseEntity<LogIngestResponse> ingestLogs(InputStream body) throws IOException {
+        long accepted = 0;
+        long dropped = 0;
+        try (MappingIterator<Log> lines = objectMapper.readerFor(Log.class).readValues(body)) {
+            while (lines.hasNext()) {
+                if (logIngestionService.submit(lines.next())) {
+                    accepted++;
+                } else {
+                    dropped++;
+                }
+            }
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(new LogIngestResponse(accepted, dropped));
+    }
+
+    @GetMapping("/logs/ingest/stats")
+    public ResponseEntity<LogIngestStats> getLogIngestStats() {
+        return ResponseEntity.ok(logIngestionService.getStats());
+    }
+
     @GetMapping("/logs")
     public ResponseEntity<List<Log>> getAllLogs() {
         return ResponseEntity.ok(reportingService.getAllLogs());
     }
-} 
\ No newline at end of file
+
+    @GetMapping("/logs/search")
+    public ResponseEntity<List<Log>> searchLogs(
+            @RequestParam String q,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(reportingService.searchLogs(q, from, to, Math.max(1, Math.min(limit, 1000))));
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(ExportFormat format, String baseName, String acceptEncoding, RowSource rows) {
+        boolean gzip = format.compressible() && acceptEncoding != null && acceptEncoding.contains("gzip");
+        StreamingResponseBody body = out -> {
+            OutputStream target = gzip ? new GZIPOutputStream(out, 64 * 1024) : out;
+            try (RowWriter writer = format.open(target, baseName)) {
+                rows.writeTo(writer);
+            }
+            if (target instanceof GZIPOutputStream compressed) {
+                compressed.finish();
+            }
+        };
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(format.mediaType());
+        headers.setContentDisposition(ContentDisposition.attachment().filename(format.fileName(baseName)).build());
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            headers.add(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return ResponseEntity.ok().headers(headers).body(body);
+    }
+
+    private static void writeRow(RowWriter writer, Object... values) {
+        try {
+            writer.writeRow(values);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
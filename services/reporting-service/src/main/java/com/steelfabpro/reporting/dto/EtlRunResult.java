@@ -0,0 +1,17 @@
+package com.steelfabpro.reporting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+public class EtlRunResult {
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private Map<String, Long> rowsLoaded;
+    private List<String> failedTables;
+}
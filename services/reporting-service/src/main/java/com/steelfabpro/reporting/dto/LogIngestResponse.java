@@ -0,0 +1,11 @@
+package com.steelfabpro.reporting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class LogIngestResponse {
+    private long accepted;
+    private long dropped;
+}
@@ -0,0 +1,15 @@
+package com.steelfabpro.reporting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class LogIngestStats {
+    private int queueDepth;
+    private int capacity;
+    private long accepted;
+    private long dropped;
+    private long written;
+    private long failed;
+}
@@ -0,0 +1,18 @@
+package com.steelfabpro.reporting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MetricExportRow {
+    private Long reportId;
+    private Long id;
+    private String metricName;
+    private Double value;
+    private LocalDateTime recordedAt;
+}
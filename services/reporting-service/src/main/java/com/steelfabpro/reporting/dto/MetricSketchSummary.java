@@ -0,0 +1,20 @@
+package com.steelfabpro.reporting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+public class MetricSketchSummary {
+    private String metricName;
+    private LocalDate from;
+    private LocalDate to;
+    private long count;
+    private Double min;
+    private Double max;
+    private Map<String, Double> quantiles;
+    private long distinctCount;
+}
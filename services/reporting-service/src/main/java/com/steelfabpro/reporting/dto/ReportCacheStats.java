@@ -0,0 +1,15 @@
+package com.steelfabpro.reporting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ReportCacheStats {
+    private int size;
+    private int maxSize;
+    private long hits;
+    private long misses;
+    private long incrementalRefreshes;
+    private long evictions;
+}
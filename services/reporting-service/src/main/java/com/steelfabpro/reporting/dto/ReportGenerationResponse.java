@@ -0,0 +1,14 @@
+package com.steelfabpro.reporting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ReportGenerationResponse {
+    private Long reportId;
+    private List<MetricResponse> metrics;
+    private List<String> failedSources;
+}
@@ -0,0 +1,19 @@
+package com.steelfabpro.reporting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+public class ReportResult {
+    private Long reportId;
+    private String type;
+    private String generatedFor;
+    private String period;
+    private boolean closed;
+    private LocalDateTime computedAt;
+    private Map<String, Double> metrics;
+}
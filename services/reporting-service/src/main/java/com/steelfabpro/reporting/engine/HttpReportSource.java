@@ -0,0 +1,24 @@
+package com.steelfabpro.reporting.engine;
+
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+
+public abstract class HttpReportSource implements ReportSource {
+    protected final RestClient client;
+    private final Duration timeout;
+
+    protected HttpReportSource(RestClient.Builder builder, String baseUrl, long timeoutMs) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout((int) timeoutMs);
+        requestFactory.setReadTimeout((int) timeoutMs);
+        this.client = builder.baseUrl(baseUrl).requestFactory(requestFactory).build();
+        this.timeout = Duration.ofMillis(timeoutMs);
+    }
+
+    @Override
+    public Duration timeout() {
+        return timeout;
+    }
+}
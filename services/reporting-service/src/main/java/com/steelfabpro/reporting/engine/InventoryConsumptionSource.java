@@ -0,0 +1,46 @@
+package com.steelfabpro.reporting.engine;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/** Material issued to the report's project; stock-outs not booked against a project are not counted. */
+@Component
+public class InventoryConsumptionSource extends HttpReportSource {
+
+    public InventoryConsumptionSource(RestClient.Builder builder,
+                                      @Value("${reporting.sources.inventory.url}") String baseUrl,
+                                      @Value("${reporting.sources.inventory.timeout-ms:5000}") long timeoutMs) {
+        super(builder, baseUrl, timeoutMs);
+    }
+
+    @Override
+    public String name() {
+        return "inventory";
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Double>> collect(ReportContext context) {
+        return context.get(client, "/api/inventory-logs/consumption?projectId={projectId}&from={from}&to={to}",
+                        context.projectId(), context.period().start(), context.period().end())
+                .thenApply(this::summarize);
+    }
+
+    private Map<String, Double> summarize(JsonNode consumption) {
+        Map<String, Double> metrics = new LinkedHashMap<>();
+        double total = 0;
+        for (JsonNode material : consumption) {
+            double quantity = material.get("quantity").asDouble();
+            total += quantity;
+            metrics.put("inventory.consumed.material." + material.get("materialId").asLong(), quantity);
+        }
+        metrics.put("inventory.consumed.total", total);
+        metrics.put("inventory.consumed.materials", (double) consumption.size());
+        return metrics;
+    }
+}
@@ -0,0 +1,123 @@
+package com.steelfabpro.reporting.engine;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Message activity per project. The project's thread summaries are paged most recently active
+ * first, and only threads active since the start of the period are read. Each of those threads'
+ * messages is paged newest first with the {@code before} cursor until a page reaches back past the
+ * start of the period, so long threads are counted in full without fetching history the report
+ * does not cover.
+ */
+@Component
+public class MessageActivitySource extends HttpReportSource {
+    static final int PAGE_SIZE = 200;
+    static final int THREAD_PAGE_SIZE = 100;
+
+    public MessageActivitySource(RestClient.Builder builder,
+                                 @Value("${reporting.sources.communication.url}") String baseUrl,
+                                 @Value("${reporting.sources.communication.timeout-ms:5000}") long timeoutMs) {
+        super(builder, baseUrl, timeoutMs);
+    }
+
+    @Override
+    public String name() {
+        return "communication";
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Double>> collect(ReportContext context) {
+        return collectThreads(context, null, new ProjectThreads())
+                .thenCompose(threads -> ReportContext.all(threads.activity).thenApply(activity -> summarize(threads.total, activity)));
+    }
+
+    /**
+     * Pages the project's thread summaries. Threads last active before the period have no messages
+     * in it and are only counted; the others are read concurrently.
+     */
+    private CompletableFuture<ProjectThreads> collectThreads(ReportContext context, Long before, ProjectThreads projectThreads) {
+        CompletableFuture<JsonNode> page = before == null
+                ? context.get(client, "/api/projects/{projectId}/threads?limit={limit}", context.projectId(), THREAD_PAGE_SIZE)
+                : context.get(client, "/api/projects/{projectId}/threads?before={before}&limit={limit}",
+                        context.projectId(), before, THREAD_PAGE_SIZE);
+        return page.thenCompose(threads -> {
+            for (JsonNode thread : threads) {
+                projectThreads.total++;
+                LocalDateTime lastActivityAt = ReportContext.dateTime(thread, "lastActivityAt");
+                if (lastActivityAt == null || !lastActivityAt.isBefore(context.period().start())) {
+                    projectThreads.activity.add(collectThread(context, thread.get("threadId").asLong(), null, new ThreadActivity()));
+                }
+            }
+            if (threads.size() < THREAD_PAGE_SIZE) {
+                return CompletableFuture.completedFuture(projectThreads);
+            }
+            return collectThreads(context, threads.get(threads.size() - 1).get("threadId").asLong(), projectThreads);
+        });
+    }
+
+    private CompletableFuture<ThreadActivity> collectThread(ReportContext context, long threadId, Long before, ThreadActivity activity) {
+        CompletableFuture<JsonNode> page = before == null
+                ? context.get(client, "/api/threads/{threadId}/messages?limit={limit}", threadId, PAGE_SIZE)
+                : context.get(client, "/api/threads/{threadId}/messages?before={before}&limit={limit}", threadId, before, PAGE_SIZE);
+        return page.thenCompose(messages -> {
+            boolean reachedStart = false;
+            for (JsonNode message : messages) {
+                LocalDateTime sentAt = ReportContext.dateTime(message, "sentAt");
+                if (context.period().contains(sentAt)) {
+                    activity.messages++;
+                    activity.senders.add(message.get("senderId").asLong());
+                    context.activeUser(message, "senderId");
+                } else if (sentAt != null && sentAt.isBefore(context.period().start())) {
+                    reachedStart = true;
+                }
+            }
+            if (reachedStart || messages.size() < PAGE_SIZE) {
+                return CompletableFuture.completedFuture(activity);
+            }
+            return collectThread(context, threadId, messages.get(0).get("id").asLong(), activity);
+        });
+    }
+
+    private Map<String, Double> summarize(int totalThreads, List<ThreadActivity> perThread) {
+        int messageCount = 0;
+        int activeThreads = 0;
+        Set<Long> senders = new HashSet<>();
+        for (ThreadActivity activity : perThread) {
+            messageCount += activity.messages;
+            senders.addAll(activity.senders);
+            if (activity.messages > 0) {
+                activeThreads++;
+            }
+        }
+        Map<String, Double> metrics = new LinkedHashMap<>();
+        metrics.put("messages.threads.total", (double) totalThreads);
+        metrics.put("messages.threads.active", (double) activeThreads);
+        metrics.put("messages.count", (double) messageCount);
+        metrics.put("messages.senders.distinct", (double) senders.size());
+        return metrics;
+    }
+
+    /** Thread count and per-thread reads gathered while paging the project's thread list. */
+    private static final class ProjectThreads {
+        private int total;
+        private final List<CompletableFuture<ThreadActivity>> activity = new ArrayList<>();
+    }
+
+    /** Accumulated across the pages of one thread, which are fetched one after another. */
+    private static final class ThreadActivity {
+        private int messages;
+        private final Set<Long> senders = new HashSet<>();
+    }
+}
@@ -0,0 +1,64 @@
+package com.steelfabpro.reporting.engine;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+@Component
+public class PaymentSource extends HttpReportSource {
+
+    public PaymentSource(RestClient.Builder builder,
+                         @Value("${reporting.sources.payment.url}") String baseUrl,
+                         @Value("${reporting.sources.payment.timeout-ms:5000}") long timeoutMs) {
+        super(builder, baseUrl, timeoutMs);
+    }
+
+    @Override
+    public String name() {
+        return "payment";
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Double>> collect(ReportContext context) {
+        return context.get(client, "/api/projects/{projectId}/invoices", context.projectId())
+                .thenApply(invoices -> summarize(context, invoices));
+    }
+
+    private Map<String, Double> summarize(ReportContext context, JsonNode invoices) {
+        int count = 0;
+        int overdue = 0;
+        double invoiced = 0;
+        double paid = 0;
+        double paidInPeriod = 0;
+        for (JsonNode invoice : invoices) {
+            double amount = invoice.get("amount").asDouble();
+            count++;
+            invoiced += amount;
+            if (ReportContext.hasStatus(invoice, "PAID")) {
+                paid += amount;
+                if (context.period().contains(ReportContext.dateTime(invoice, "paidAt"))) {
+                    paidInPeriod += amount;
+                }
+            } else {
+                LocalDateTime dueDate = ReportContext.dateTime(invoice, "dueDate");
+                if (dueDate != null && dueDate.isBefore(context.period().end())) {
+                    overdue++;
+                }
+            }
+        }
+        Map<String, Double> metrics = new LinkedHashMap<>();
+        metrics.put("payments.invoices.total", (double) count);
+        metrics.put("payments.invoiced.amount", invoiced);
+        metrics.put("payments.paid.amount", paid);
+        metrics.put("payments.paidInPeriod.amount", paidInPeriod);
+        metrics.put("payments.outstanding.amount", invoiced - paid);
+        metrics.put("payments.overdue.count", (double) overdue);
+        return metrics;
+    }
+}
@@ -0,0 +1,91 @@
+package com.steelfabpro.reporting.engine;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Milestone and task progress for one project. Milestones are read a page at a time until a short
+ * page comes back, then each milestone's tasks are fetched concurrently.
+ */
+@Component
+public class ProjectProgressSource extends HttpReportSource {
+    static final int PAGE_SIZE = 500;
+
+    public ProjectProgressSource(RestClient.Builder builder,
+                                 @Value("${reporting.sources.project.url}") String baseUrl,
+                                 @Value("${reporting.sources.project.timeout-ms:5000}") long timeoutMs) {
+        super(builder, baseUrl, timeoutMs);
+    }
+
+    @Override
+    public String name() {
+        return "project";
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Double>> collect(ReportContext context) {
+        return collectMilestones(context, 0, new ArrayList<>())
+                .thenCompose(milestones -> {
+                    List<CompletableFuture<JsonNode>> tasks = new ArrayList<>();
+                    milestones.forEach(milestone -> tasks.add(
+                            context.get(client, "/api/milestones/{milestoneId}/tasks", milestone.get("id").asLong())));
+                    return ReportContext.all(tasks).thenApply(taskLists -> summarize(context, milestones, taskLists));
+                });
+    }
+
+    private CompletableFuture<List<JsonNode>> collectMilestones(ReportContext context, int page, List<JsonNode> milestones) {
+        return context.get(client, "/api/projects/{projectId}/milestones?page={page}&size={size}", context.projectId(), page, PAGE_SIZE)
+                .thenCompose(batch -> {
+                    batch.forEach(milestones::add);
+                    return batch.size() < PAGE_SIZE
+                            ? CompletableFuture.completedFuture(milestones)
+                            : collectMilestones(context, page + 1, milestones);
+                });
+    }
+
+    private Map<String, Double> summarize(ReportContext context, List<JsonNode> milestones, List<JsonNode> taskLists) {
+        int milestonesCompleted = 0;
+        for (JsonNode milestone : milestones) {
+            if (ReportContext.hasStatus(milestone, "COMPLETED")) {
+                milestonesCompleted++;
+            }
+        }
+        int tasksTotal = 0;
+        int tasksCompleted = 0;
+        int tasksCompletedInPeriod = 0;
+        for (JsonNode tasks : taskLists) {
+            for (JsonNode task : tasks) {
+                tasksTotal++;
+                if (ReportContext.hasStatus(task, "COMPLETED")) {
+                    tasksCompleted++;
+                    LocalDate completedAt = ReportContext.date(task, "completedAt");
+                    if (completedAt != null && context.period().contains(completedAt.atStartOfDay())) {
+                        tasksCompletedInPeriod++;
+                        context.activeUser(task, "assigneeId");
+                    }
+                }
+            }
+        }
+        double progress = tasksTotal > 0
+                ? 100.0 * tasksCompleted / tasksTotal
+                : milestones.size() > 0 ? 100.0 * milestonesCompleted / milestones.size() : 0.0;
+
+        Map<String, Double> metrics = new LinkedHashMap<>();
+        metrics.put("project.milestones.total", (double) milestones.size());
+        metrics.put("project.milestones.completed", (double) milestonesCompleted);
+        metrics.put("project.tasks.total", (double) tasksTotal);
+        metrics.put("project.tasks.completed", (double) tasksCompleted);
+        metrics.put("project.tasks.completedInPeriod", (double) tasksCompletedInPeriod);
+        metrics.put("project.progress.percent", progress);
+        return metrics;
+    }
+}
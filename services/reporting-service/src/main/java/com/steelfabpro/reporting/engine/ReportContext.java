@@ -0,0 +1,59 @@
+package com.steelfabpro.reporting.engine;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.client.RestClient;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Shared by every source of one report generation. {@code activeUsers} is a concurrent set that
+ * sources add the ids of users who were active in the project during the period to.
+ */
+public record ReportContext(Long projectId, ReportPeriod period, String authorization, Executor executor, Set<Long> activeUsers) {
+
+    public CompletableFuture<JsonNode> get(RestClient client, String uri, Object... uriVariables) {
+        return CompletableFuture.supplyAsync(() -> client.get()
+                .uri(uri, uriVariables)
+                .headers(headers -> {
+                    if (authorization != null) {
+                        headers.set(HttpHeaders.AUTHORIZATION, authorization);
+                    }
+                })
+                .retrieve()
+                .body(JsonNode.class), executor);
+    }
+
+    /** Marks the user id held in {@code field} of {@code node}, if any, as active in the period. */
+    public void activeUser(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        if (value != null && !value.isNull()) {
+            activeUsers.add(value.asLong());
+        }
+    }
+
+    public static <T> CompletableFuture<List<T>> all(List<CompletableFuture<T>> futures) {
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> futures.stream().map(CompletableFuture::join).toList());
+    }
+
+    public static LocalDateTime dateTime(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : LocalDateTime.parse(value.asText());
+    }
+
+    public static LocalDate date(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : LocalDate.parse(value.asText());
+    }
+
+    public static boolean hasStatus(JsonNode node, String status) {
+        JsonNode value = node.get("status");
+        return value != null && status.equalsIgnoreCase(value.asText());
+    }
+}
@@ -0,0 +1,55 @@
+package com.steelfabpro.reporting.engine;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Service
+public class ReportEngine {
+    private final List<ReportSource> sources;
+    private final ExecutorService executor;
+
+    public ReportEngine(List<ReportSource> sources, @Value("${reporting.engine.threads:16}") int threads) {
+        this.sources = sources;
+        this.executor = Executors.newFixedThreadPool(threads);
+    }
+
+    public ReportGeneration generate(Long projectId, ReportPeriod period, String authorization) {
+        ReportContext context = new ReportContext(projectId, period, authorization, executor, ConcurrentHashMap.newKeySet());
+        Map<String, CompletableFuture<Map<String, Double>>> pending = new LinkedHashMap<>();
+        for (ReportSource source : sources) {
+            pending.put(source.name(), source.collect(context)
+                    .orTimeout(source.timeout().toMillis(), TimeUnit.MILLISECONDS));
+        }
+
+        Map<String, Double> metrics = new LinkedHashMap<>();
+        List<String> failedSources = new ArrayList<>();
+        pending.forEach((name, future) -> {
+            try {
+                metrics.putAll(future.join());
+            } catch (RuntimeException e) {
+                log.warn("Report source {} failed for project {}", name, projectId, e);
+                failedSources.add(name);
+            }
+        });
+        return new ReportGeneration(metrics, Set.copyOf(context.activeUsers()), failedSources);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
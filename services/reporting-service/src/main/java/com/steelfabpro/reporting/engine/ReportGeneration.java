@@ -0,0 +1,8 @@
+package com.steelfabpro.reporting.engine;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public record ReportGeneration(Map<String, Double> metrics, Set<Long> activeUsers, List<String> failedSources) {
+}
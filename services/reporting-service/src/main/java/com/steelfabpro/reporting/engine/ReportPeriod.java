@@ -0,0 +1,55 @@
+package com.steelfabpro.reporting.engine;
+
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.IsoFields;
+import java.time.temporal.TemporalAdjusters;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public record ReportPeriod(LocalDateTime start, LocalDateTime end) {
+    private static final Pattern ISO_WEEK = Pattern.compile("(\\d{4})-W(\\d{1,2})");
+    private static final Pattern MONTH = Pattern.compile("\\d{4}-\\d{2}");
+
+    public ReportPeriod {
+        if (!end.isAfter(start)) {
+            throw new IllegalArgumentException("Report period must end after it starts");
+        }
+    }
+
+    public static ReportPeriod parse(String period) {
+        if (period == null || period.isBlank()) {
+            throw new IllegalArgumentException("Report period is required");
+        }
+        try {
+            Matcher week = ISO_WEEK.matcher(period);
+            if (week.matches()) {
+                LocalDate january4 = LocalDate.of(Integer.parseInt(week.group(1)), 1, 4);
+                // with() accepts week 53 in a 52-week year and rolls into the next year, so check the year's own range.
+                int weekOfYear = IsoFields.WEEK_OF_WEEK_BASED_YEAR.rangeRefinedBy(january4)
+                        .checkValidIntValue(Integer.parseInt(week.group(2)), IsoFields.WEEK_OF_WEEK_BASED_YEAR);
+                LocalDate monday = january4.with(IsoFields.WEEK_OF_WEEK_BASED_YEAR, weekOfYear)
+                        .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                return new ReportPeriod(monday.atStartOfDay(), monday.plusWeeks(1).atStartOfDay());
+            }
+            if (MONTH.matcher(period).matches()) {
+                YearMonth month = YearMonth.parse(period);
+                return new ReportPeriod(month.atDay(1).atStartOfDay(), month.plusMonths(1).atDay(1).atStartOfDay());
+            }
+            String[] range = period.split("/");
+            if (range.length == 2) {
+                return new ReportPeriod(LocalDate.parse(range[0]).atStartOfDay(), LocalDate.parse(range[1]).atStartOfDay());
+            }
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Unsupported report period: " + period);
+        }
+        throw new IllegalArgumentException("Unsupported report period: " + period);
+    }
+
+    public boolean contains(LocalDateTime instant) {
+        return instant != null && !instant.isBefore(start) && instant.isBefore(end);
+    }
+}
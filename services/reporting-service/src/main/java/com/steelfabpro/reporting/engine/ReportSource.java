@@ -0,0 +1,13 @@
+package com.steelfabpro.reporting.engine;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+public interface ReportSource {
+    String name();
+
+    Duration timeout();
+
+    CompletableFuture<Map<String, Double>> collect(ReportContext context);
+}
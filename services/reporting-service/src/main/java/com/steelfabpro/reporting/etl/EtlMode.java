@@ -0,0 +1,10 @@
+package com.steelfabpro.reporting.etl;
+
+public enum EtlMode {
+    /** Append-only source table; rows after the last extracted id. */
+    APPEND,
+    /** Mutable source table; rows after the last (change timestamp, id) pair. */
+    CHANGED,
+    /** Small table without a change column; re-extracted in full each run. */
+    FULL
+}
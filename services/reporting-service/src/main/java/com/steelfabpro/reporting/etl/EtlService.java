@@ -0,0 +1,212 @@
+package com.steelfabpro.reporting.etl;
+
+import com.steelfabpro.reporting.dto.EtlRunResult;
+import com.steelfabpro.reporting.model.EtlWatermark;
+import com.steelfabpro.reporting.model.EtlWatermarkRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSetMetaData;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.IsoFields;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Copies rows from the other services' databases into the local star schema. Each source database
+ * is extracted on its own thread; within a source, tables are paged by keyset in batches of
+ * {@code reporting.etl.batch-size}, and every batch is loaded together with its watermark so an
+ * interrupted run resumes where it stopped.
+ */
+@Slf4j
+@Service
+public class EtlService {
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final String INSERT_DATE = "insert into dim_date (date_key, date, year, month, iso_week, day_of_week) " +
+            "values (?, ?, ?, ?, ?, ?) on conflict (date_key) do nothing";
+    private static final RowMapper<Object[]> ROW = (rs, rowNum) -> {
+        ResultSetMetaData meta = rs.getMetaData();
+        Object[] row = new Object[meta.getColumnCount()];
+        for (int i = 0; i < row.length; i++) {
+            row[i] = rs.getObject(i + 1);
+        }
+        return row;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EtlWatermarkRepository watermarkRepository;
+    private final Map<String, HikariDataSource> sources = new LinkedHashMap<>();
+    private final ExecutorService executor;
+    private final int batchSize;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public EtlService(JdbcTemplate jdbcTemplate,
+                      TransactionTemplate transactionTemplate,
+                      EtlWatermarkRepository watermarkRepository,
+                      @Value("${reporting.etl.sources.project.url:jdbc:postgresql://localhost:5432/steelfabpro_project}") String projectUrl,
+                      @Value("${reporting.etl.sources.inventory.url:jdbc:postgresql://localhost:5432/steelfabpro_inventory}") String inventoryUrl,
+                      @Value("${reporting.etl.sources.payment.url:jdbc:postgresql://localhost:5432/steelfabpro_payment}") String paymentUrl,
+                      @Value("${reporting.etl.sources.communication.url:jdbc:postgresql://localhost:5432/steelfabpro_communication}") String communicationUrl,
+                      @Value("${reporting.etl.username:${spring.datasource.username}}") String username,
+                      @Value("${reporting.etl.password:${spring.datasource.password}}") String password,
+                      @Value("${reporting.etl.batch-size:5000}") int batchSize,
+                      @Value("${reporting.etl.threads:4}") int threads) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.watermarkRepository = watermarkRepository;
+        this.batchSize = batchSize;
+        this.executor = Executors.newFixedThreadPool(threads);
+        sources.put(StarSchema.PROJECT, dataSource(StarSchema.PROJECT, projectUrl, username, password));
+        sources.put(StarSchema.INVENTORY, dataSource(StarSchema.INVENTORY, inventoryUrl, username, password));
+        sources.put(StarSchema.PAYMENT, dataSource(StarSchema.PAYMENT, paymentUrl, username, password));
+        sources.put(StarSchema.COMMUNICATION, dataSource(StarSchema.COMMUNICATION, communicationUrl, username, password));
+    }
+
+    @Scheduled(cron = "${reporting.etl.cron:0 0 2 * * *}")
+    public void runNightly() {
+        if (running.get()) {
+            log.info("Skipping scheduled ETL run; previous run still in progress");
+            return;
+        }
+        EtlRunResult result = run();
+        log.info("ETL run loaded {} with failures {}", result.getRowsLoaded(), result.getFailedTables());
+    }
+
+    public EtlRunResult run() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("ETL run already in progress");
+        }
+        try {
+            LocalDateTime startedAt = LocalDateTime.now();
+            Map<String, Long> rowsLoaded = new ConcurrentHashMap<>();
+            List<String> failedTables = Collections.synchronizedList(new ArrayList<>());
+            Map<String, List<EtlTable>> bySource = StarSchema.TABLES.stream()
+                    .collect(Collectors.groupingBy(EtlTable::source, LinkedHashMap::new, Collectors.toList()));
+
+            List<CompletableFuture<Void>> pending = new ArrayList<>();
+            bySource.forEach((source, tables) -> pending.add(CompletableFuture.runAsync(() -> {
+                JdbcTemplate sourceJdbc = new JdbcTemplate(sources.get(source));
+                for (EtlTable table : tables) {
+                    try {
+                        rowsLoaded.put(table.name(), extract(table, sourceJdbc));
+                    } catch (RuntimeException e) {
+                        log.warn("ETL for {} from {} failed", table.name(), source, e);
+                        failedTables.add(table.name());
+                    }
+                }
+            }, executor)));
+            CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).join();
+
+            Map<String, Long> ordered = new LinkedHashMap<>();
+            StarSchema.TABLES.forEach(t -> ordered.put(t.name(), rowsLoaded.getOrDefault(t.name(), 0L)));
+            return new EtlRunResult(startedAt, LocalDateTime.now(), ordered, List.copyOf(failedTables));
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public List<EtlWatermark> getWatermarks() {
+        return watermarkRepository.findAll();
+    }
+
+    private long extract(EtlTable table, JdbcTemplate sourceJdbc) {
+        EtlWatermark watermark = watermarkRepository.findById(table.name())
+                .orElseGet(() -> new EtlWatermark(table.name(), EPOCH, 0L, 0L, null));
+        if (table.mode() == EtlMode.FULL) {
+            watermark.setLastId(0L);
+        }
+
+        long loaded = 0;
+        List<Object[]> rows;
+        do {
+            rows = table.mode() == EtlMode.CHANGED
+                    ? sourceJdbc.query(table.extractSql(), ROW, Timestamp.valueOf(watermark.getChangedAt()), watermark.getLastId(), batchSize)
+                    : sourceJdbc.query(table.extractSql(), ROW, watermark.getLastId(), batchSize);
+            if (rows.isEmpty()) {
+                break;
+            }
+
+            Object[] last = rows.get(rows.size() - 1);
+            watermark.setLastId(((Number) last[0]).longValue());
+            List<Object[]> batch = rows;
+            if (table.mode() == EtlMode.CHANGED) {
+                watermark.setChangedAt(((Timestamp) last[last.length - 1]).toLocalDateTime());
+                batch = rows.stream().map(row -> Arrays.copyOf(row, row.length - 1)).toList();
+            }
+            loaded += rows.size();
+            watermark.setRowsLoaded(loaded);
+            watermark.setLastRunAt(LocalDateTime.now());
+
+            List<Object[]> load = batch;
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(table.loadSql(), load);
+                if (table.dateKeyColumn() > 0) {
+                    registerDates(load, table.dateKeyColumn() - 1);
+                }
+                watermarkRepository.save(watermark);
+            });
+        } while (rows.size() == batchSize);
+
+        if (loaded == 0) {
+            watermark.setRowsLoaded(0L);
+            watermark.setLastRunAt(LocalDateTime.now());
+            watermarkRepository.save(watermark);
+        }
+        return loaded;
+    }
+
+    private void registerDates(List<Object[]> rows, int column) {
+        Set<Integer> keys = new TreeSet<>();
+        for (Object[] row : rows) {
+            if (row[column] instanceof Number key) {
+                keys.add(key.intValue());
+            }
+        }
+        List<Object[]> dates = new ArrayList<>(keys.size());
+        for (int key : keys) {
+            LocalDate date = LocalDate.of(key / 10000, key / 100 % 100, key % 100);
+            dates.add(new Object[]{key, date, date.getYear(), date.getMonthValue(),
+                    date.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR), date.getDayOfWeek().getValue()});
+        }
+        jdbcTemplate.batchUpdate(INSERT_DATE, dates);
+    }
+
+    private static HikariDataSource dataSource(String name, String url, String username, String password) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("etl-" + name);
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setMaximumPoolSize(2);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        sources.values().forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,11 @@
+package com.steelfabpro.reporting.etl;
+
+/**
+ * One source-to-target mapping. The extract query selects the target columns in insert order with
+ * the source id first and is keyset-paginated: {@code (lastId, limit)} for {@link EtlMode#APPEND}
+ * and {@link EtlMode#FULL}, {@code (changedAt, lastId, limit)} for {@link EtlMode#CHANGED}, where
+ * the change timestamp is selected as a trailing extra column. {@code dateKeyColumn} is the
+ * 1-based position of a {@code yyyymmdd} key to register in {@code dim_date}, or 0.
+ */
+public record EtlTable(String name, String source, EtlMode mode, String extractSql, String loadSql, int dateKeyColumn) {
+}
@@ -0,0 +1,68 @@
+package com.steelfabpro.reporting.etl;
+
+import java.util.List;
+
+final class StarSchema {
+    static final String PROJECT = "project";
+    static final String INVENTORY = "inventory";
+    static final String PAYMENT = "payment";
+    static final String COMMUNICATION = "communication";
+
+    static final List<EtlTable> TABLES = List.of(
+            new EtlTable("dim_project", PROJECT, EtlMode.FULL,
+                    "select p.id, p.client_id, p.name, p.status, p.start_date, p.end_date, p.created_at " +
+                            "from projects p where p.id > ? order by p.id limit ?",
+                    "insert into dim_project (project_id, client_id, name, status, start_date, end_date, created_at) " +
+                            "values (?, ?, ?, ?, ?, ?, ?) on conflict (project_id) do update set " +
+                            "client_id = excluded.client_id, name = excluded.name, status = excluded.status, " +
+                            "start_date = excluded.start_date, end_date = excluded.end_date, created_at = excluded.created_at",
+                    0),
+            new EtlTable("dim_material", INVENTORY, EtlMode.FULL,
+                    "select m.id, m.name, m.type, m.unit, s.id, s.name, m.min_stock " +
+                            "from materials m left join suppliers s on s.id = m.supplier_id " +
+                            "where m.id > ? order by m.id limit ?",
+                    "insert into dim_material (material_id, name, type, unit, supplier_id, supplier_name, min_stock) " +
+                            "values (?, ?, ?, ?, ?, ?, ?) on conflict (material_id) do update set " +
+                            "name = excluded.name, type = excluded.type, unit = excluded.unit, supplier_id = excluded.supplier_id, " +
+                            "supplier_name = excluded.supplier_name, min_stock = excluded.min_stock",
+                    0),
+            new EtlTable("fact_inventory_movement", INVENTORY, EtlMode.APPEND,
+                    "select l.id, l.material_id, l.change_type, l.quantity, l.user_id, " +
+                            "cast(to_char(l.timestamp, 'YYYYMMDD') as integer), l.timestamp " +
+                            "from inventory_logs l where l.id > ? order by l.id limit ?",
+                    "insert into fact_inventory_movement (inventory_log_id, material_id, change_type, quantity, user_id, date_key, occurred_at) " +
+                            "values (?, ?, ?, ?, ?, ?, ?) on conflict (inventory_log_id) do nothing",
+                    6),
+            new EtlTable("fact_invoice", PAYMENT, EtlMode.CHANGED,
+                    "select i.id, i.project_id, i.amount, i.status, cast(to_char(i.issued_at, 'YYYYMMDD') as integer), " +
+                            "i.issued_at, i.due_date, i.paid_at, i.updated_at " +
+                            "from invoices i where (i.updated_at, i.id) > (?, ?) " +
+                            "order by i.updated_at, i.id limit ?",
+                    "insert into fact_invoice (invoice_id, project_id, amount, status, issued_date_key, issued_at, due_date, paid_at) " +
+                            "values (?, ?, ?, ?, ?, ?, ?, ?) on conflict (invoice_id) do update set " +
+                            "project_id = excluded.project_id, amount = excluded.amount, status = excluded.status, " +
+                            "issued_date_key = excluded.issued_date_key, issued_at = excluded.issued_at, " +
+                            "due_date = excluded.due_date, paid_at = excluded.paid_at",
+                    5),
+            new EtlTable("fact_payment", PAYMENT, EtlMode.APPEND,
+                    "select p.id, p.invoice_id, i.project_id, p.payer_id, p.amount, pm.type, " +
+                            "cast(to_char(p.paid_at, 'YYYYMMDD') as integer), p.paid_at " +
+                            "from payments p join invoices i on i.id = p.invoice_id " +
+                            "left join payment_methods pm on pm.id = p.payment_method_id " +
+                            "where p.id > ? order by p.id limit ?",
+                    "insert into fact_payment (payment_id, invoice_id, project_id, payer_id, amount, payment_method_type, date_key, paid_at) " +
+                            "values (?, ?, ?, ?, ?, ?, ?, ?) on conflict (payment_id) do nothing",
+                    7),
+            new EtlTable("fact_message", COMMUNICATION, EtlMode.APPEND,
+                    "select m.id, m.thread_id, t.project_id, m.sender_id, m.message_type, " +
+                            "cast(to_char(m.sent_at, 'YYYYMMDD') as integer), m.sent_at " +
+                            "from messages m join threads t on t.id = m.thread_id " +
+                            "where m.id > ? order by m.id limit ?",
+                    "insert into fact_message (message_id, thread_id, project_id, sender_id, message_type, date_key, sent_at) " +
+                            "values (?, ?, ?, ?, ?, ?, ?) on conflict (message_id) do nothing",
+                    6)
+    );
+
+    private StarSchema() {
+    }
+}
@@ -0,0 +1,44 @@
+package com.steelfabpro.reporting.export;
+
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+
+public enum ExportFormat {
+    CSV("text/csv", "csv"),
+    XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(String mediaType, String extension) {
+        this.mediaType = MediaType.parseMediaType(mediaType);
+        this.extension = extension;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    public String fileName(String baseName) {
+        return baseName + "." + extension;
+    }
+
+    public boolean compressible() {
+        return this == CSV;
+    }
+
+    public RowWriter open(OutputStream out, String sheetName) throws IOException {
+        return this == CSV ? new CsvRowWriter(out) : new XlsxRowWriter(out, sheetName);
+    }
+
+    public static ExportFormat parse(String format) {
+        try {
+            return valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported export format: " + format);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.steelfabpro.reporting.export;
+
+import java.io.IOException;
+
+@FunctionalInterface
+public interface RowSource {
+    void writeTo(RowWriter writer) throws IOException;
+}
@@ -0,0 +1,8 @@
+package com.steelfabpro.reporting.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+public interface RowWriter extends Closeable {
+    void writeRow(Object... values) throws IOException;
+}
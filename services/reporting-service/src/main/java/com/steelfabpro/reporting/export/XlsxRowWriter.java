@@ -0,0 +1,159 @@
+package com.steelfabpro.reporting.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Streams a workbook without buffering rows: sheet XML is written straight into its zip entry and
+ * the workbook parts that list the sheets are written last. A new sheet, repeating the header row,
+ * is started whenever one reaches the spreadsheet row limit.
+ */
+public class XlsxRowWriter implements RowWriter {
+    static final int MAX_ROWS_PER_SHEET = 1_048_576;
+
+    private static final String ROOT_RELS = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+            <Relationship Id="rId1" Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument" Target="xl/workbook.xml"/>\
+            </Relationships>""";
+    private static final String STYLES = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <styleSheet xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main">\
+            <fonts count="1"><font><sz val="11"/><name val="Calibri"/></font></fonts>\
+            <fills count="1"><fill><patternFill patternType="none"/></fill></fills>\
+            <borders count="1"><border/></borders>\
+            <cellStyleXfs count="1"><xf/></cellStyleXfs>\
+            <cellXfs count="1"><xf/></cellXfs>\
+            </styleSheet>""";
+    private static final String XML_HEADER = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+
+    private final ZipOutputStream zip;
+    private final Writer writer;
+    private final String sheetName;
+    private Object[] header;
+    private int sheetCount;
+    private int rowsInSheet;
+
+    public XlsxRowWriter(OutputStream out, String sheetName) throws IOException {
+        this.zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        this.writer = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8), 64 * 1024);
+        this.sheetName = sheetName;
+        writeEntry("_rels/.rels", ROOT_RELS);
+        writeEntry("xl/styles.xml", STYLES);
+        startSheet();
+    }
+
+    @Override
+    public void writeRow(Object... values) throws IOException {
+        if (header == null) {
+            header = values.clone();
+        } else if (rowsInSheet == MAX_ROWS_PER_SHEET) {
+            endSheet();
+            startSheet();
+            appendRow(header);
+        }
+        appendRow(values);
+    }
+
+    @Override
+    public void close() throws IOException {
+        endSheet();
+
+        StringBuilder contentTypes = new StringBuilder(XML_HEADER)
+                .append("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">")
+                .append("<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>")
+                .append("<Default Extension=\"xml\" ContentType=\"application/xml\"/>")
+                .append("<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>")
+                .append("<Override PartName=\"/xl/styles.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>");
+        StringBuilder workbook = new StringBuilder(XML_HEADER)
+                .append("<workbook xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" ")
+                .append("xmlns:r=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships\"><sheets>");
+        StringBuilder relationships = new StringBuilder(XML_HEADER)
+                .append("<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">")
+                .append("<Relationship Id=\"rId0\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/styles\" Target=\"styles.xml\"/>");
+        for (int sheet = 1; sheet <= sheetCount; sheet++) {
+            String name = sheetCount == 1 ? sheetName : sheetName + " " + sheet;
+            contentTypes.append("<Override PartName=\"/xl/worksheets/sheet").append(sheet)
+                    .append(".xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>");
+            workbook.append("<sheet name=\"").append(escape(name)).append("\" sheetId=\"").append(sheet)
+                    .append("\" r:id=\"rId").append(sheet).append("\"/>");
+            relationships.append("<Relationship Id=\"rId").append(sheet)
+                    .append("\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet\" Target=\"worksheets/sheet")
+                    .append(sheet).append(".xml\"/>");
+        }
+        writeEntry("xl/workbook.xml", workbook.append("</sheets></workbook>").toString());
+        writeEntry("xl/_rels/workbook.xml.rels", relationships.append("</Relationships>").toString());
+        writeEntry("[Content_Types].xml", contentTypes.append("</Types>").toString());
+        zip.finish();
+    }
+
+    private void startSheet() throws IOException {
+        sheetCount++;
+        rowsInSheet = 0;
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet" + sheetCount + ".xml"));
+        writer.write(XML_HEADER);
+        writer.write("<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\"><sheetData>");
+    }
+
+    private void endSheet() throws IOException {
+        writer.write("</sheetData></worksheet>");
+        writer.flush();
+        zip.closeEntry();
+    }
+
+    private void appendRow(Object[] values) throws IOException {
+        rowsInSheet++;
+        writer.write("<row>");
+        for (Object value : values) {
+            if (value == null) {
+                writer.write("<c/>");
+            } else if (value instanceof Number number) {
+                writer.write("<c><v>");
+                writer.write(number.toString());
+                writer.write("</v></c>");
+            } else {
+                writer.write("<c t=\"inlineStr\"><is><t>");
+                writer.write(escape(value.toString()));
+                writer.write("</t></is></c>");
+            }
+        }
+        writer.write("</row>");
+    }
+
+    private void writeEntry(String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    private static String escape(String text) {
+        StringBuilder escaped = null;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            String replacement = switch (c) {
+                case '&' -> "&amp;";
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '"' -> "&quot;";
+                default -> c < 0x20 && c != '\t' && c != '\n' && c != '\r' ? "" : null;
+            };
+            if (replacement != null && escaped == null) {
+                escaped = new StringBuilder(text.length() + 16).append(text, 0, i);
+            }
+            if (escaped != null) {
+                if (replacement != null) {
+                    escaped.append(replacement);
+                } else {
+                    escaped.append(c);
+                }
+            }
+        }
+        return escaped == null ? text : escaped.toString();
+    }
+}
@@ -0,0 +1,24 @@
+package com.steelfabpro.reporting.model;
+
+import lombok.*;
+import javax.persistence.*;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "dim_date")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DimDate {
+    @Id
+    private Integer dateKey;
+
+    @Column(nullable = false)
+    private LocalDate date;
+
+    private Integer year;
+    private Integer month;
+    private Integer isoWeek;
+    private Integer dayOfWeek;
+}
@@ -0,0 +1,22 @@
+package com.steelfabpro.reporting.model;
+
+import lombok.*;
+import javax.persistence.*;
+
+@Entity
+@Table(name = "dim_material")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DimMaterial {
+    @Id
+    private Long materialId;
+
+    private String name;
+    private String type;
+    private String unit;
+    private Long supplierId;
+    private String supplierName;
+    private Integer minStock;
+}
@@ -0,0 +1,24 @@
+package com.steelfabpro.reporting.model;
+
+import lombok.*;
+import javax.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "dim_project")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DimProject {
+    @Id
+    private Long projectId;
+
+    private Long clientId;
+    private String name;
+    private String status;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private LocalDateTime createdAt;
+}
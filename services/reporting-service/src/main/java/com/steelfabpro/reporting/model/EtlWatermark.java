@@ -0,0 +1,21 @@
+package com.steelfabpro.reporting.model;
+
+import lombok.*;
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "etl_watermarks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EtlWatermark {
+    @Id
+    private String tableName;
+
+    private LocalDateTime changedAt;
+    private Long lastId;
+    private Long rowsLoaded;
+    private LocalDateTime lastRunAt;
+}
@@ -0,0 +1,6 @@
+package com.steelfabpro.reporting.model;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface EtlWatermarkRepository extends JpaRepository<EtlWatermark, String> {
+}
@@ -0,0 +1,26 @@
+package com.steelfabpro.reporting.model;
+
+import lombok.*;
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "fact_inventory_movement", indexes = {
+        @Index(name = "idx_fact_inventory_movement_material_date", columnList = "material_id, date_key"),
+        @Index(name = "idx_fact_inventory_movement_date", columnList = "date_key")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FactInventoryMovement {
+    @Id
+    private Long inventoryLogId;
+
+    private Long materialId;
+    private String changeType;
+    private Integer quantity;
+    private Long userId;
+    private Integer dateKey;
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,27 @@
+package com.steelfabpro.reporting.model;
+
+import lombok.*;
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "fact_invoice", indexes = {
+        @Index(name = "idx_fact_invoice_project_date", columnList = "project_id, issued_date_key"),
+        @Index(name = "idx_fact_invoice_status", columnList = "status")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FactInvoice {
+    @Id
+    private Long invoiceId;
+
+    private Long projectId;
+    private Double amount;
+    private String status;
+    private Integer issuedDateKey;
+    private LocalDateTime issuedAt;
+    private LocalDateTime dueDate;
+    private LocalDateTime paidAt;
+}
@@ -0,0 +1,26 @@
+package com.steelfabpro.reporting.model;
+
+import lombok.*;
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "fact_message", indexes = {
+        @Index(name = "idx_fact_message_project_date", columnList = "project_id, date_key"),
+        @Index(name = "idx_fact_message_date", columnList = "date_key")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FactMessage {
+    @Id
+    private Long messageId;
+
+    private Long threadId;
+    private Long projectId;
+    private Long senderId;
+    private String messageType;
+    private Integer dateKey;
+    private LocalDateTime sentAt;
+}
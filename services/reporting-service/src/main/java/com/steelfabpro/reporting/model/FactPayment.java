@@ -0,0 +1,27 @@
+package com.steelfabpro.reporting.model;
+
+import lombok.*;
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "fact_payment", indexes = {
+        @Index(name = "idx_fact_payment_project_date", columnList = "project_id, date_key"),
+        @Index(name = "idx_fact_payment_date", columnList = "date_key")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FactPayment {
+    @Id
+    private Long paymentId;
+
+    private Long invoiceId;
+    private Long projectId;
+    private Long payerId;
+    private Double amount;
+    private String paymentMethodType;
+    private Integer dateKey;
+    private LocalDateTime paidAt;
+}
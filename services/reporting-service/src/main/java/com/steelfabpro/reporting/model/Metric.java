@@ -5,7 +5,10 @@ import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "metrics")
+@Table(name = "metrics", indexes = {
+        @Index(name = "idx_metrics_report_recorded_at", columnList = "report_id, recorded_at"),
+        @Index(name = "idx_metrics_recorded_at", columnList = "recorded_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,5 +26,9 @@ public class Metric {
     private String metricName;
 
     private Double value;
+
+    /** The entity the value was observed for, e.g. {@code user:42}; counted by the distinct-count sketch. */
+    private String entityKey;
+
     private LocalDateTime recordedAt;
 } 
\ No newline at end of file
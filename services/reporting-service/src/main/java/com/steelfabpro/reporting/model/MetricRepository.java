@@ -1,6 +1,53 @@
 package com.steelfabpro.reporting.model;
 
+import com.steelfabpro.reporting.dto.MetricExportRow;
+import com.steelfabpro.reporting.dto.MetricResponse;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
 
 public interface MetricRepository extends JpaRepository<Metric, Long> {
-} 
\ No newline at end of file
+    List<Metric> findByReportIdOrderByRecordedAtAsc(Long reportId);
+
+    boolean existsByReportId(Long reportId);
+
+    @Query("select distinct m.metricName from Metric m where m.report.id = :reportId")
+    List<String> findMetricNamesByReportId(@Param("reportId") Long reportId);
+
+    @Query("select new com.steelfabpro.reporting.dto.MetricResponse(m.id, m.metricName, m.value, m.recordedAt) " +
+            "from Metric m where m.report.id = :reportId and m.id > :afterId order by m.id asc")
+    List<MetricResponse> findByReportAfterId(@Param("reportId") Long reportId, @Param("afterId") Long afterId);
+
+    @Modifying
+    @Query("delete from Metric m where m.report.id = :reportId")
+    int deleteByReportId(@Param("reportId") Long reportId);
+
+    @Query("select new com.steelfabpro.reporting.dto.MetricResponse(m.id, m.metricName, m.value, m.recordedAt) " +
+            "from Metric m where m.report.id = :reportId " +
+            "and (:from is null or m.recordedAt >= :from) " +
+            "and (:to is null or m.recordedAt < :to) " +
+            "and (:metricName is null or m.metricName = :metricName) " +
+            "order by m.recordedAt asc")
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    Stream<MetricResponse> streamByReport(@Param("reportId") Long reportId,
+                                          @Param("from") LocalDateTime from,
+                                          @Param("to") LocalDateTime to,
+                                          @Param("metricName") String metricName);
+
+    @Query("select new com.steelfabpro.reporting.dto.MetricExportRow(m.report.id, m.id, m.metricName, m.value, m.recordedAt) " +
+            "from Metric m where (:from is null or m.recordedAt >= :from) " +
+            "and (:to is null or m.recordedAt < :to) " +
+            "and (:metricName is null or m.metricName = :metricName) " +
+            "order by m.recordedAt asc")
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    Stream<MetricExportRow> streamForExport(@Param("from") LocalDateTime from,
+                                            @Param("to") LocalDateTime to,
+                                            @Param("metricName") String metricName);
+}
@@ -0,0 +1,31 @@
+package com.steelfabpro.reporting.model;
+
+import lombok.*;
+import javax.persistence.*;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "metric_sketches", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_metric_sketches_name_bucket", columnNames = {"metric_name", "bucket_date"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MetricSketch {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String metricName;
+
+    @Column(nullable = false)
+    private LocalDate bucketDate;
+
+    @Column(columnDefinition = "bytea")
+    private byte[] quantileSketch;
+
+    @Column(columnDefinition = "bytea")
+    private byte[] distinctSketch;
+}
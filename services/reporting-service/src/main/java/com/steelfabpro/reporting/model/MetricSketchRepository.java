@@ -0,0 +1,9 @@
+package com.steelfabpro.reporting.model;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface MetricSketchRepository extends JpaRepository<MetricSketch, Long> {
+    List<MetricSketch> findByMetricName(String metricName);
+}
@@ -1,6 +1,15 @@
 package com.steelfabpro.reporting.model;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import javax.persistence.QueryHint;
+import java.util.stream.Stream;
 
 public interface ReportRepository extends JpaRepository<Report, Long> {
-} 
\ No newline at end of file
+    @Query("select new com.steelfabpro.reporting.model.Report(r.id, r.type, r.generatedFor, r.generatedBy, r.period, r.createdAt) " +
+            "from Report r order by r.id asc")
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    Stream<Report> streamAll();
+}
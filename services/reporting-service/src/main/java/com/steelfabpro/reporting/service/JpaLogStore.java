@@ -0,0 +1,110 @@
+package com.steelfabpro.reporting.service;
+
+import com.steelfabpro.reporting.model.Log;
+import com.steelfabpro.reporting.model.LogRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+@Service
+@ConditionalOnProperty(name = "reporting.logs.storage", havingValue = "jpa", matchIfMissing = true)
+public class JpaLogStore implements LogStore {
+    private static final String INSERT_SQL = "insert into logs (service, level, message, timestamp, context) values (?, ?, ?, ?, ?)";
+    private static final String SCAN_SQL = "select id, service, level, message, timestamp, context from logs " +
+            "where timestamp >= ? and timestamp < ? order by id";
+    private static final String SCAN_AFTER_SQL = "select id, service, level, message, timestamp, context from logs " +
+            "where id > ? order by id";
+    private static final int SCAN_FETCH_SIZE = 1000;
+
+    private final LogRepository logRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate cursorTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public JpaLogStore(LogRepository logRepository, JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.logRepository = logRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.cursorTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.cursorTemplate.setFetchSize(SCAN_FETCH_SIZE);
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public Log append(Log log) {
+        return logRepository.save(log);
+    }
+
+    @Override
+    public void appendAll(List<Log> logs) {
+        GeneratedKeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_SQL, new String[] {"id"}), new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Log entry = logs.get(i);
+                ps.setString(1, entry.getService());
+                ps.setString(2, entry.getLevel());
+                ps.setString(3, entry.getMessage());
+                ps.setTimestamp(4, Timestamp.valueOf(entry.getTimestamp()));
+                ps.setString(5, entry.getContext());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return logs.size();
+            }
+        }, keys);
+        List<Map<String, Object>> ids = keys.getKeyList();
+        for (int i = 0; i < ids.size(); i++) {
+            logs.get(i).setId(((Number) ids.get(i).get("id")).longValue());
+        }
+    }
+
+    @Override
+    public List<Log> findAllById(Collection<Long> ids) {
+        return logRepository.findAllById(ids);
+    }
+
+    @Override
+    public void scan(LocalDateTime from, LocalDateTime to, Consumer<Log> consumer) {
+        Timestamp lower = Timestamp.valueOf(from == null ? LocalDateTime.of(1970, 1, 1, 0, 0) : from);
+        Timestamp upper = Timestamp.valueOf(to == null ? LocalDateTime.of(9999, 12, 31, 0, 0) : to);
+        transactionTemplate.executeWithoutResult(status ->
+                cursorTemplate.query(SCAN_SQL, rs -> consumer.accept(mapLog(rs)), lower, upper));
+    }
+
+    @Override
+    public void scanAfter(long afterId, Consumer<Log> consumer) {
+        transactionTemplate.executeWithoutResult(status ->
+                cursorTemplate.query(SCAN_AFTER_SQL, rs -> consumer.accept(mapLog(rs)), afterId));
+    }
+
+    @Override
+    public long firstRetainedId() {
+        return 0L;
+    }
+
+    private static Log mapLog(ResultSet rs) throws SQLException {
+        Timestamp timestamp = rs.getTimestamp("timestamp");
+        return Log.builder()
+                .id(rs.getLong("id"))
+                .service(rs.getString("service"))
+                .level(rs.getString("level"))
+                .message(rs.getString("message"))
+                .timestamp(timestamp == null ? null : timestamp.toLocalDateTime())
+                .context(rs.getString("context"))
+                .build();
+    }
+}
@@ -0,0 +1,631 @@
+package com.steelfabpro.reporting.service;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * An immutable inverted index over a run of logs. Segments are sealed in memory; once written they
+ * are reopened from the memory-mapped file, so the doc table, term dictionary and postings of a
+ * persisted segment stay in the page cache and only the terms a query touches are read. The file is
+ * big-endian with 8-byte aligned sections: {@code [magic][docCount][minTimestamp][maxTimestamp][maxLogId]},
+ * {@code [logIds][timestamps]}, {@code [docCount][docs][positionStarts][positions]} per term in
+ * dictionary order, the dictionary as {@code [postingsOffset][termOffset]} per term plus a closing
+ * entry, the UTF-8 term bytes, and {@code [dictionaryOffset][termBytesOffset]}. Terms are ordered by
+ * {@link String#compareTo}.
+ */
+abstract class LogIndexSegment {
+    private static final int MAGIC = 0x4C495832;
+    private static final int HEADER_BYTES = 32;
+    private static final int TRAILER_BYTES = 16;
+    private static final int DICTIONARY_ENTRY_BYTES = 16;
+
+    private final int size;
+    private final long minTimestamp;
+    private final long maxTimestamp;
+    private final long maxLogId;
+
+    record Postings(int[] docs, int[] positionStarts, int[] positions) {
+    }
+
+    private LogIndexSegment(int size, long minTimestamp, long maxTimestamp, long maxLogId) {
+        this.size = size;
+        this.minTimestamp = minTimestamp;
+        this.maxTimestamp = maxTimestamp;
+        this.maxLogId = maxLogId;
+    }
+
+    static LogIndexSegment of(long[] logIds, long[] timestamps, Map<String, Postings> postings) {
+        return new InMemory(logIds, timestamps, postings);
+    }
+
+    final int size() {
+        return size;
+    }
+
+    final long maxLogId() {
+        return maxLogId;
+    }
+
+    abstract long logId(int doc);
+
+    abstract long timestamp(int doc);
+
+    abstract int termCount();
+
+    abstract String term(int ordinal);
+
+    /** The ordinal of {@code term}, or -1 if no log in the segment contains it. */
+    abstract int ordinal(String term);
+
+    abstract int[] docs(int ordinal);
+
+    abstract int[] positionStarts(int ordinal);
+
+    abstract int[] positions(int ordinal);
+
+    /** The positions of the term in the {@code slot}-th doc of its postings. */
+    abstract int[] positions(int ordinal, int slot);
+
+    /** Offers matches with ids of at least {@code minLogId}; lower ids have been removed by retention. */
+    void search(List<List<String>> clauses, long from, long to, long minLogId, LogSearchHits hits) {
+        if (maxTimestamp < from || minTimestamp >= to || maxLogId < minLogId) {
+            return;
+        }
+        Map<String, Integer> ordinals = new HashMap<>();
+        Map<String, int[]> termDocs = new HashMap<>();
+        int[] candidates = null;
+        for (List<String> clause : clauses) {
+            for (String term : clause) {
+                if (termDocs.containsKey(term)) {
+                    continue;
+                }
+                int ordinal = ordinal(term);
+                if (ordinal < 0) {
+                    return;
+                }
+                int[] docs = docs(ordinal);
+                ordinals.put(term, ordinal);
+                termDocs.put(term, docs);
+                candidates = candidates == null ? docs : intersect(candidates, docs);
+                if (candidates.length == 0) {
+                    return;
+                }
+            }
+        }
+        if (candidates == null) {
+            return;
+        }
+        for (int doc : candidates) {
+            long timestamp = timestamp(doc);
+            if (timestamp < from || timestamp >= to || !hits.competitive(timestamp)) {
+                continue;
+            }
+            long logId = logId(doc);
+            if (logId >= minLogId && matchesPhrases(clauses, doc, ordinals, termDocs)) {
+                hits.offer(logId, timestamp);
+            }
+        }
+    }
+
+    private boolean matchesPhrases(List<List<String>> clauses, int doc, Map<String, Integer> ordinals, Map<String, int[]> termDocs) {
+        for (List<String> clause : clauses) {
+            if (clause.size() > 1 && !matchesPhrase(clause, doc, ordinals, termDocs)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean matchesPhrase(List<String> phrase, int doc, Map<String, Integer> ordinals, Map<String, int[]> termDocs) {
+        int[][] termPositions = new int[phrase.size()][];
+        for (int i = 0; i < phrase.size(); i++) {
+            String term = phrase.get(i);
+            termPositions[i] = positions(ordinals.get(term), Arrays.binarySearch(termDocs.get(term), doc));
+        }
+        for (int start : termPositions[0]) {
+            boolean match = true;
+            for (int i = 1; i < termPositions.length && match; i++) {
+                match = Arrays.binarySearch(termPositions[i], start + i) >= 0;
+            }
+            if (match) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int[] intersect(int[] left, int[] right) {
+        int[] result = new int[Math.min(left.length, right.length)];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[size++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    void writeTo(Path path) throws IOException {
+        write(path, List.of(this), Long.MIN_VALUE);
+    }
+
+    /**
+     * Writes adjacent segments as one, dropping logs with ids below {@code minLogId}. Terms are merged
+     * in dictionary order and one term's postings are held at a time, so merging mapped segments does
+     * not pull them onto the heap. The file is written under a temporary name and moved into place,
+     * so a reader never sees a partial file.
+     */
+    static void write(Path path, List<LogIndexSegment> segments, long minLogId) throws IOException {
+        int[][] docMaps = new int[segments.size()][];
+        int[] bases = new int[segments.size()];
+        int total = 0;
+        long minTimestamp = Long.MAX_VALUE;
+        long maxTimestamp = Long.MIN_VALUE;
+        long maxLogId = Long.MIN_VALUE;
+        for (int s = 0; s < segments.size(); s++) {
+            LogIndexSegment segment = segments.get(s);
+            bases[s] = total;
+            for (int d = 0; d < segment.size(); d++) {
+                long logId = segment.logId(d);
+                if (logId < minLogId) {
+                    if (docMaps[s] == null) {
+                        docMaps[s] = new int[segment.size()];
+                        for (int kept = 0; kept < d; kept++) {
+                            docMaps[s][kept] = bases[s] + kept;
+                        }
+                    }
+                    docMaps[s][d] = -1;
+                    continue;
+                }
+                if (docMaps[s] != null) {
+                    docMaps[s][d] = total;
+                }
+                total++;
+                long timestamp = segment.timestamp(d);
+                minTimestamp = Math.min(minTimestamp, timestamp);
+                maxTimestamp = Math.max(maxTimestamp, timestamp);
+                maxLogId = Math.max(maxLogId, logId);
+            }
+        }
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (SegmentWriter out = new SegmentWriter(temp)) {
+            out.writeInt(MAGIC);
+            out.writeInt(total);
+            out.writeLong(minTimestamp);
+            out.writeLong(maxTimestamp);
+            out.writeLong(maxLogId);
+            for (int s = 0; s < segments.size(); s++) {
+                for (int d = 0; d < segments.get(s).size(); d++) {
+                    if (docMaps[s] == null || docMaps[s][d] >= 0) {
+                        out.writeLong(segments.get(s).logId(d));
+                    }
+                }
+            }
+            for (int s = 0; s < segments.size(); s++) {
+                for (int d = 0; d < segments.get(s).size(); d++) {
+                    if (docMaps[s] == null || docMaps[s][d] >= 0) {
+                        out.writeLong(segments.get(s).timestamp(d));
+                    }
+                }
+            }
+
+            long[] dictionary = new long[1024];
+            int termCount = 0;
+            ByteArrayOutputStream termBytes = new ByteArrayOutputStream();
+            PriorityQueue<TermCursor> cursors = new PriorityQueue<>(
+                    Comparator.comparing((TermCursor cursor) -> cursor.term).thenComparingInt(cursor -> cursor.segment));
+            for (int s = 0; s < segments.size(); s++) {
+                TermCursor cursor = new TermCursor(segments.get(s), s);
+                if (cursor.advance()) {
+                    cursors.add(cursor);
+                }
+            }
+            List<TermCursor> parts = new ArrayList<>();
+            while (!cursors.isEmpty()) {
+                String term = cursors.peek().term;
+                parts.clear();
+                while (!cursors.isEmpty() && cursors.peek().term.equals(term)) {
+                    parts.add(cursors.poll());
+                }
+                long postingsOffset = out.position();
+                if (writePostings(out, parts, docMaps, bases)) {
+                    if (2 * termCount + 2 > dictionary.length) {
+                        dictionary = Arrays.copyOf(dictionary, dictionary.length * 2);
+                    }
+                    dictionary[2 * termCount] = postingsOffset;
+                    dictionary[2 * termCount + 1] = termBytes.size();
+                    termBytes.writeBytes(term.getBytes(StandardCharsets.UTF_8));
+                    termCount++;
+                }
+                for (TermCursor cursor : parts) {
+                    if (cursor.advance()) {
+                        cursors.add(cursor);
+                    }
+                }
+            }
+
+            out.align(8);
+            long dictionaryOffset = out.position();
+            for (int t = 0; t < termCount; t++) {
+                out.writeLong(dictionary[2 * t]);
+                out.writeLong(dictionary[2 * t + 1]);
+            }
+            out.writeLong(out.position());
+            out.writeLong(termBytes.size());
+            long termBytesOffset = out.position();
+            out.write(termBytes.toByteArray());
+            out.align(8);
+            out.writeLong(dictionaryOffset);
+            out.writeLong(termBytesOffset);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /** Writes one term's postings across {@code parts}, or nothing if retention removed every doc holding it. */
+    private static boolean writePostings(SegmentWriter out, List<TermCursor> parts, int[][] docMaps, int[] bases) throws IOException {
+        int[][] docs = new int[parts.size()][];
+        int[][] starts = new int[parts.size()][];
+        int docCount = 0;
+        for (int p = 0; p < parts.size(); p++) {
+            TermCursor part = parts.get(p);
+            docs[p] = part.index.docs(part.ordinal);
+            starts[p] = part.index.positionStarts(part.ordinal);
+            int[] docMap = docMaps[part.segment];
+            for (int doc : docs[p]) {
+                if (docMap == null || docMap[doc] >= 0) {
+                    docCount++;
+                }
+            }
+        }
+        if (docCount == 0) {
+            return false;
+        }
+        out.writeInt(docCount);
+        for (int p = 0; p < parts.size(); p++) {
+            int[] docMap = docMaps[parts.get(p).segment];
+            for (int doc : docs[p]) {
+                if (docMap == null) {
+                    out.writeInt(bases[parts.get(p).segment] + doc);
+                } else if (docMap[doc] >= 0) {
+                    out.writeInt(docMap[doc]);
+                }
+            }
+        }
+        int position = 0;
+        for (int p = 0; p < parts.size(); p++) {
+            int[] docMap = docMaps[parts.get(p).segment];
+            for (int d = 0; d < docs[p].length; d++) {
+                if (docMap == null || docMap[docs[p][d]] >= 0) {
+                    out.writeInt(position);
+                    position += starts[p][d + 1] - starts[p][d];
+                }
+            }
+        }
+        out.writeInt(position);
+        for (int p = 0; p < parts.size(); p++) {
+            TermCursor part = parts.get(p);
+            int[] docMap = docMaps[part.segment];
+            int[] positions = part.index.positions(part.ordinal);
+            for (int d = 0; d < docs[p].length; d++) {
+                if (docMap == null || docMap[docs[p][d]] >= 0) {
+                    out.writeInts(positions, starts[p][d], starts[p][d + 1] - starts[p][d]);
+                }
+            }
+        }
+        return true;
+    }
+
+    /** Maps a segment file read-only; nothing but the header fields is read until a search needs it. */
+    static LogIndexSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < HEADER_BYTES + TRAILER_BYTES) {
+                throw new IOException("Not a log index segment: " + path);
+            }
+            ByteBuffer[] chunks = new ByteBuffer[(int) ((length + Mapped.CHUNK_SIZE - 1) / Mapped.CHUNK_SIZE)];
+            for (int c = 0; c < chunks.length; c++) {
+                long start = (long) c * Mapped.CHUNK_SIZE;
+                chunks[c] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(Mapped.CHUNK_SIZE, length - start));
+            }
+            if (Mapped.getInt(chunks, 0) != MAGIC) {
+                throw new IOException("Not a log index segment: " + path);
+            }
+            int size = Mapped.getInt(chunks, 4);
+            long dictionaryOffset = Mapped.getLong(chunks, length - TRAILER_BYTES);
+            long termBytesOffset = Mapped.getLong(chunks, length - TRAILER_BYTES + 8);
+            if (size < 0 || dictionaryOffset < HEADER_BYTES + 16L * size || termBytesOffset > length - TRAILER_BYTES
+                    || termBytesOffset - dictionaryOffset < DICTIONARY_ENTRY_BYTES
+                    || (termBytesOffset - dictionaryOffset) % DICTIONARY_ENTRY_BYTES != 0) {
+                throw new IOException("Corrupt log index segment: " + path);
+            }
+            return new Mapped(chunks, size, Mapped.getLong(chunks, 8), Mapped.getLong(chunks, 16), Mapped.getLong(chunks, 24),
+                    dictionaryOffset, termBytesOffset);
+        }
+    }
+
+    private static final class InMemory extends LogIndexSegment {
+        private final long[] logIds;
+        private final long[] timestamps;
+        private final String[] terms;
+        private final Postings[] postings;
+
+        private InMemory(long[] logIds, long[] timestamps, Map<String, Postings> postings) {
+            super(logIds.length, Arrays.stream(timestamps).min().orElse(Long.MAX_VALUE),
+                    Arrays.stream(timestamps).max().orElse(Long.MIN_VALUE), Arrays.stream(logIds).max().orElse(Long.MIN_VALUE));
+            this.logIds = logIds;
+            this.timestamps = timestamps;
+            this.terms = postings.keySet().toArray(String[]::new);
+            Arrays.sort(this.terms);
+            this.postings = new Postings[terms.length];
+            for (int t = 0; t < terms.length; t++) {
+                this.postings[t] = postings.get(terms[t]);
+            }
+        }
+
+        @Override
+        long logId(int doc) {
+            return logIds[doc];
+        }
+
+        @Override
+        long timestamp(int doc) {
+            return timestamps[doc];
+        }
+
+        @Override
+        int termCount() {
+            return terms.length;
+        }
+
+        @Override
+        String term(int ordinal) {
+            return terms[ordinal];
+        }
+
+        @Override
+        int ordinal(String term) {
+            return Math.max(-1, Arrays.binarySearch(terms, term));
+        }
+
+        @Override
+        int[] docs(int ordinal) {
+            return postings[ordinal].docs();
+        }
+
+        @Override
+        int[] positionStarts(int ordinal) {
+            return postings[ordinal].positionStarts();
+        }
+
+        @Override
+        int[] positions(int ordinal) {
+            return postings[ordinal].positions();
+        }
+
+        @Override
+        int[] positions(int ordinal, int slot) {
+            Postings termPostings = postings[ordinal];
+            return Arrays.copyOfRange(termPostings.positions(),
+                    termPostings.positionStarts()[slot], termPostings.positionStarts()[slot + 1]);
+        }
+    }
+
+    /**
+     * A segment read through read-only mappings of its file. Files larger than one mapping are split
+     * into 1 GiB chunks; every int and long is aligned, so none straddles two chunks. The mappings
+     * outlive the file, so a merge or retention may delete it while a search is still reading.
+     */
+    private static final class Mapped extends LogIndexSegment {
+        private static final long CHUNK_SIZE = 1L << 30;
+
+        private final ByteBuffer[] chunks;
+        private final long dictionaryOffset;
+        private final long termBytesOffset;
+        private final int termCount;
+
+        private Mapped(ByteBuffer[] chunks, int size, long minTimestamp, long maxTimestamp, long maxLogId,
+                       long dictionaryOffset, long termBytesOffset) {
+            super(size, minTimestamp, maxTimestamp, maxLogId);
+            this.chunks = chunks;
+            this.dictionaryOffset = dictionaryOffset;
+            this.termBytesOffset = termBytesOffset;
+            this.termCount = (int) ((termBytesOffset - dictionaryOffset) / DICTIONARY_ENTRY_BYTES - 1);
+        }
+
+        @Override
+        long logId(int doc) {
+            return getLong(chunks, HEADER_BYTES + 8L * doc);
+        }
+
+        @Override
+        long timestamp(int doc) {
+            return getLong(chunks, HEADER_BYTES + 8L * (size() + doc));
+        }
+
+        @Override
+        int termCount() {
+            return termCount;
+        }
+
+        @Override
+        String term(int ordinal) {
+            long entry = dictionaryOffset + (long) DICTIONARY_ENTRY_BYTES * ordinal;
+            long start = getLong(chunks, entry + 8);
+            byte[] bytes = new byte[(int) (getLong(chunks, entry + DICTIONARY_ENTRY_BYTES + 8) - start)];
+            for (int i = 0; i < bytes.length; i++) {
+                long offset = termBytesOffset + start + i;
+                bytes[i] = chunks[(int) (offset / CHUNK_SIZE)].get((int) (offset % CHUNK_SIZE));
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        int ordinal(String term) {
+            int low = 0;
+            int high = termCount - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int cmp = term(mid).compareTo(term);
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else if (cmp > 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        int[] docs(int ordinal) {
+            long offset = postingsOffset(ordinal);
+            return getInts(offset + 4, getInt(chunks, offset));
+        }
+
+        @Override
+        int[] positionStarts(int ordinal) {
+            long offset = postingsOffset(ordinal);
+            int docCount = getInt(chunks, offset);
+            return getInts(offset + 4 + 4L * docCount, docCount + 1);
+        }
+
+        @Override
+        int[] positions(int ordinal) {
+            long offset = postingsOffset(ordinal);
+            int docCount = getInt(chunks, offset);
+            long starts = offset + 4 + 4L * docCount;
+            return getInts(starts + 4L * (docCount + 1), getInt(chunks, starts + 4L * docCount));
+        }
+
+        @Override
+        int[] positions(int ordinal, int slot) {
+            long offset = postingsOffset(ordinal);
+            int docCount = getInt(chunks, offset);
+            long starts = offset + 4 + 4L * docCount;
+            int from = getInt(chunks, starts + 4L * slot);
+            return getInts(starts + 4L * (docCount + 1) + 4L * from, getInt(chunks, starts + 4L * (slot + 1)) - from);
+        }
+
+        private long postingsOffset(int ordinal) {
+            return getLong(chunks, dictionaryOffset + (long) DICTIONARY_ENTRY_BYTES * ordinal);
+        }
+
+        private int[] getInts(long offset, int count) {
+            int[] values = new int[count];
+            ByteBuffer chunk = chunks[(int) (offset / CHUNK_SIZE)];
+            int within = (int) (offset % CHUNK_SIZE);
+            if (within + 4L * count <= chunk.limit()) {
+                chunk.slice(within, 4 * count).asIntBuffer().get(values);
+            } else {
+                for (int i = 0; i < count; i++) {
+                    values[i] = getInt(chunks, offset + 4L * i);
+                }
+            }
+            return values;
+        }
+
+        private static int getInt(ByteBuffer[] chunks, long offset) {
+            return chunks[(int) (offset / CHUNK_SIZE)].getInt((int) (offset % CHUNK_SIZE));
+        }
+
+        private static long getLong(ByteBuffer[] chunks, long offset) {
+            return chunks[(int) (offset / CHUNK_SIZE)].getLong((int) (offset % CHUNK_SIZE));
+        }
+    }
+
+    /** Walks one input segment's terms in dictionary order during {@link #write}. */
+    private static final class TermCursor {
+        private final LogIndexSegment index;
+        private final int segment;
+        private int ordinal = -1;
+        private String term;
+
+        private TermCursor(LogIndexSegment index, int segment) {
+            this.index = index;
+            this.segment = segment;
+        }
+
+        boolean advance() {
+            if (++ordinal >= index.termCount()) {
+                return false;
+            }
+            term = index.term(ordinal);
+            return true;
+        }
+    }
+
+    /** Tracks the write position as a long, since segment files may exceed 2 GiB. */
+    private static final class SegmentWriter implements Closeable {
+        private final DataOutputStream out;
+        private long position;
+
+        private SegmentWriter(Path path) throws IOException {
+            this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16));
+        }
+
+        long position() {
+            return position;
+        }
+
+        void writeInt(int value) throws IOException {
+            out.writeInt(value);
+            position += 4;
+        }
+
+        void writeLong(long value) throws IOException {
+            out.writeLong(value);
+            position += 8;
+        }
+
+        void writeInts(int[] values, int from, int count) throws IOException {
+            for (int i = from; i < from + count; i++) {
+                out.writeInt(values[i]);
+            }
+            position += 4L * count;
+        }
+
+        void write(byte[] bytes) throws IOException {
+            out.write(bytes);
+            position += bytes.length;
+        }
+
+        void align(int boundary) throws IOException {
+            while (position % boundary != 0) {
+                out.writeByte(0);
+                position++;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.steelfabpro.reporting.service;
+
+import com.steelfabpro.reporting.dto.LogIngestStats;
+import com.steelfabpro.reporting.model.Log;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+@Slf4j
+@Service
+public class LogIngestionService {
+    private final LogStore logStore;
+    private final LogSearchIndex logSearchIndex;
+    private final LogRingBuffer buffer;
+    private final int batchSize;
+    private final int debugSampleRate;
+    private final int overloadThreshold;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final AtomicLong debugSeen = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public LogIngestionService(LogStore logStore,
+                               LogSearchIndex logSearchIndex,
+                               @Value("${reporting.logs.ingest.capacity:65536}") int capacity,
+                               @Value("${reporting.logs.ingest.batch-size:2000}") int batchSize,
+                               @Value("${reporting.logs.ingest.debug-sample-rate:10}") int debugSampleRate) {
+        this.logStore = logStore;
+        this.logSearchIndex = logSearchIndex;
+        this.buffer = new LogRingBuffer(capacity);
+        this.batchSize = batchSize;
+        this.debugSampleRate = Math.max(1, debugSampleRate);
+        this.overloadThreshold = capacity / 4 * 3;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::runWriter, "log-ingest-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    public boolean submit(Log entry) {
+        if ("DEBUG".equalsIgnoreCase(entry.getLevel()) && buffer.size() >= overloadThreshold
+                && debugSeen.getAndIncrement() % debugSampleRate != 0) {
+            dropped.increment();
+            return false;
+        }
+        if (entry.getTimestamp() == null) {
+            entry.setTimestamp(LocalDateTime.now());
+        }
+        if (buffer.offer(entry)) {
+            accepted.increment();
+            return true;
+        }
+        dropped.increment();
+        return false;
+    }
+
+    public LogIngestStats getStats() {
+        return new LogIngestStats(buffer.size(), buffer.capacity(), accepted.sum(), dropped.sum(), written.sum(), failed.sum());
+    }
+
+    private void runWriter() {
+        List<Log> batch = new ArrayList<>(batchSize);
+        while (running || buffer.size() > 0) {
+            if (buffer.drainTo(batch, batchSize) == 0) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+                continue;
+            }
+            flush(batch);
+            batch.clear();
+        }
+    }
+
+    private void flush(List<Log> batch) {
+        try {
+            logStore.appendAll(batch);
+            written.add(batch.size());
+            logSearchIndex.addAll(batch);
+        } catch (RuntimeException e) {
+            failed.add(batch.size());
+            log.error("Failed to write {} log lines", batch.size(), e);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.steelfabpro.reporting.service;
+
+import com.steelfabpro.reporting.model.Log;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded multi-producer, single-consumer ring buffer. Producers claim a slot with a CAS on the
+ * head counter and publish it through a per-slot sequence number, so offers never block.
+ */
+class LogRingBuffer {
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<Log> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong head = new AtomicLong();
+    private volatile long tail;
+
+    LogRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two");
+        }
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    boolean offer(Log log) {
+        long pos = head.get();
+        while (true) {
+            int index = (int) (pos & mask);
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (head.compareAndSet(pos, pos + 1)) {
+                    slots.lazySet(index, log);
+                    sequences.set(index, pos + 1);
+                    return true;
+                }
+                pos = head.get();
+            } else if (diff < 0) {
+                return false;
+            } else {
+                pos = head.get();
+            }
+        }
+    }
+
+    int drainTo(List<Log> batch, int max) {
+        long pos = tail;
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) (pos & mask);
+            if (sequences.get(index) != pos + 1) {
+                break;
+            }
+            batch.add(slots.get(index));
+            slots.lazySet(index, null);
+            sequences.set(index, pos + capacity);
+            pos++;
+            drained++;
+        }
+        tail = pos;
+        return drained;
+    }
+
+    int size() {
+        return (int) Math.max(0, head.get() - tail);
+    }
+
+    int capacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,47 @@
+package com.steelfabpro.reporting.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+final class LogSearchHits {
+    private record Hit(long logId, long timestamp) {
+    }
+
+    private static final Comparator<Hit> NEWEST_FIRST = Comparator.comparingLong(Hit::timestamp)
+            .thenComparingLong(Hit::logId)
+            .reversed();
+
+    private final int limit;
+    private final PriorityQueue<Hit> heap;
+    private final Set<Long> logIds = new HashSet<>();
+
+    LogSearchHits(int limit) {
+        this.limit = Math.max(1, limit);
+        this.heap = new PriorityQueue<>(this.limit, NEWEST_FIRST.reversed());
+    }
+
+    boolean competitive(long timestamp) {
+        return heap.size() < limit || timestamp >= heap.peek().timestamp();
+    }
+
+    /** Ignores a log already held, which happens when it was indexed both live and by the startup scan. */
+    void offer(long logId, long timestamp) {
+        if (!logIds.add(logId)) {
+            return;
+        }
+        heap.offer(new Hit(logId, timestamp));
+        if (heap.size() > limit) {
+            logIds.remove(heap.poll().logId());
+        }
+    }
+
+    List<Long> logIds() {
+        List<Hit> hits = new ArrayList<>(heap);
+        hits.sort(NEWEST_FIRST);
+        return hits.stream().map(Hit::logId).toList();
+    }
+}
@@ -0,0 +1,417 @@
+package com.steelfabpro.reporting.service;
+
+import com.steelfabpro.reporting.model.Log;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Tiered inverted index over logs, persisted next to the log store. Sealed segments are written to
+ * {@code <firstGeneration>-<lastGeneration>.idx} files and then searched through memory mappings of
+ * those files, so the heap only holds segments that are not yet written. A merge streams the
+ * combined range straight to its file and deletes the files it covers. On startup the persisted
+ * segments are mapped and only logs above the highest indexed id are read from the store. Until that
+ * catch-up finishes, live segments are kept in memory only and are not merged, so the persisted files
+ * always cover a contiguous prefix of the log ids. Segments whose logs have all been removed by
+ * retention are dropped, and merges leave out logs below the first retained id.
+ */
+@Slf4j
+@Service
+public class LogSearchIndex {
+    private static final Pattern TOKEN_SPLIT = Pattern.compile("[^\\p{L}\\p{N}_]+");
+    private static final Pattern QUERY_CLAUSE = Pattern.compile("\"([^\"]*)\"|(service|level):(\\S+)|(\\S+)");
+    private static final Pattern SEGMENT_FILE = Pattern.compile("(\\d+)-(\\d+)\\.idx");
+
+    private record IndexedSegment(LogIndexSegment index, long firstGeneration, long lastGeneration, boolean persisted) {
+    }
+
+    private final LogStore logStore;
+    private final int mergeFactor;
+    private final int bootstrapSegmentSize;
+    private final Path directory;
+
+    private final Object writeLock = new Object();
+    private LogSegmentBuilder active = new LogSegmentBuilder();
+    private long nextGeneration;
+    private volatile List<IndexedSegment> segments = List.of();
+    private volatile long firstLiveId = Long.MAX_VALUE;
+    private volatile boolean caughtUp;
+
+    public LogSearchIndex(LogStore logStore,
+                          @Value("${reporting.logs.index.merge-factor:8}") int mergeFactor,
+                          @Value("${reporting.logs.index.bootstrap-segment-size:100000}") int bootstrapSegmentSize,
+                          @Value("${reporting.logs.index.dir:data/log-index}") String directory) {
+        this.logStore = logStore;
+        this.mergeFactor = mergeFactor;
+        this.bootstrapSegmentSize = bootstrapSegmentSize;
+        this.directory = Path.of(directory);
+        try {
+            Files.createDirectories(this.directory);
+            for (Path file : listFiles()) {
+                if (file.getFileName().toString().endsWith(".tmp")) {
+                    Files.deleteIfExists(file);
+                } else {
+                    long[] range = generations(file);
+                    if (range != null) {
+                        nextGeneration = Math.max(nextGeneration, range[1] + 1);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void add(Log log) {
+        synchronized (writeLock) {
+            noteLive(log);
+            active.add(log);
+        }
+    }
+
+    public void addAll(Collection<Log> logs) {
+        synchronized (writeLock) {
+            logs.forEach(this::noteLive);
+            logs.forEach(active::add);
+        }
+    }
+
+    public List<Long> search(String query, LocalDateTime from, LocalDateTime to, int limit) {
+        List<List<String>> clauses = parseQuery(query);
+        if (clauses.isEmpty()) {
+            throw new IllegalArgumentException("Search query must contain at least one term");
+        }
+        long fromMillis = from == null ? Long.MIN_VALUE : toEpochMillis(from);
+        long toMillis = to == null ? Long.MAX_VALUE : toEpochMillis(to);
+        long minLogId = logStore.firstRetainedId();
+        LogSearchHits hits = new LogSearchHits(limit);
+        for (IndexedSegment segment : segments) {
+            segment.index().search(clauses, fromMillis, toMillis, minLogId, hits);
+        }
+        return hits.logIds();
+    }
+
+    @Scheduled(fixedDelayString = "${reporting.logs.index.refresh-ms:1000}")
+    public void refresh() {
+        IndexedSegment sealed;
+        synchronized (writeLock) {
+            if (active.size() == 0) {
+                return;
+            }
+            sealed = publish(active.seal());
+        }
+        if (caughtUp) {
+            persist(sealed);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${reporting.logs.index.merge-ms:30000}")
+    public void merge() {
+        while (true) {
+            List<IndexedSegment> current = segments;
+            int start = findMergeRun(current);
+            if (start < 0) {
+                return;
+            }
+            List<IndexedSegment> run = current.subList(start, start + mergeFactor);
+            long firstGeneration = run.get(0).firstGeneration();
+            long lastGeneration = run.get(run.size() - 1).lastGeneration();
+            Path file = fileOf(firstGeneration, lastGeneration);
+            IndexedSegment merged;
+            try {
+                LogIndexSegment.write(file, run.stream().map(IndexedSegment::index).toList(), logStore.firstRetainedId());
+                merged = new IndexedSegment(LogIndexSegment.open(file), firstGeneration, lastGeneration, true);
+            } catch (IOException e) {
+                log.error("Could not merge index segments into {}", file, e);
+                return;
+            }
+            boolean installed = false;
+            synchronized (writeLock) {
+                int at = segments.indexOf(run.get(0));
+                if (at >= 0 && at + mergeFactor <= segments.size() && segments.subList(at, at + mergeFactor).equals(run)) {
+                    List<IndexedSegment> next = new ArrayList<>(segments.subList(0, at));
+                    next.add(merged);
+                    next.addAll(segments.subList(at + mergeFactor, segments.size()));
+                    segments = List.copyOf(next);
+                    installed = true;
+                }
+            }
+            if (installed) {
+                deleteCovered(merged);
+            } else {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    log.warn("Could not delete stale merged index segment {}", file, e);
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${reporting.logs.index.prune-ms:3600000}")
+    public void prune() {
+        long minLogId = logStore.firstRetainedId();
+        List<IndexedSegment> expired = new ArrayList<>();
+        synchronized (writeLock) {
+            List<IndexedSegment> kept = new ArrayList<>();
+            for (IndexedSegment segment : segments) {
+                (segment.index().maxLogId() < minLogId ? expired : kept).add(segment);
+            }
+            segments = List.copyOf(kept);
+        }
+        for (IndexedSegment segment : expired) {
+            try {
+                Files.deleteIfExists(fileOf(segment));
+            } catch (IOException e) {
+                log.warn("Could not delete expired index segment {}", fileOf(segment), e);
+            }
+        }
+        if (!expired.isEmpty()) {
+            log.info("Dropped {} index segments below log {}", expired.size(), minLogId);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        Thread loader = new Thread(this::catchUp, "log-index-bootstrap");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    void catchUp() {
+        List<IndexedSegment> loaded = loadPersisted();
+        long indexedThrough = loaded.stream().mapToLong(segment -> segment.index().maxLogId()).max().orElse(0L);
+        synchronized (writeLock) {
+            List<IndexedSegment> next = new ArrayList<>(loaded);
+            next.addAll(segments);
+            segments = List.copyOf(next);
+        }
+
+        LogSegmentBuilder builder = new LogSegmentBuilder();
+        long[] scanned = new long[1];
+        try {
+            logStore.scanAfter(indexedThrough, entry -> {
+                if (entry.getId() >= firstLiveId) {
+                    return;
+                }
+                builder.add(entry);
+                scanned[0]++;
+                if (builder.size() >= bootstrapSegmentSize) {
+                    publishAndPersist(builder.seal());
+                }
+            });
+        } catch (RuntimeException e) {
+            log.error("Log index catch-up failed after {} logs; newer segments stay in memory until restart", scanned[0], e);
+            return;
+        }
+        if (builder.size() > 0) {
+            publishAndPersist(builder.seal());
+        }
+        caughtUp = true;
+        for (IndexedSegment segment : segments) {
+            if (!segment.persisted()) {
+                persist(segment);
+            }
+        }
+        log.info("Loaded {} persisted index segments through log {} and indexed {} newer logs",
+                loaded.size(), indexedThrough, scanned[0]);
+    }
+
+    private void noteLive(Log entry) {
+        if (firstLiveId == Long.MAX_VALUE && entry.getId() != null) {
+            firstLiveId = entry.getId();
+        }
+    }
+
+    private IndexedSegment publish(LogIndexSegment index) {
+        IndexedSegment segment = new IndexedSegment(index, nextGeneration, nextGeneration, false);
+        nextGeneration++;
+        List<IndexedSegment> next = new ArrayList<>(segments);
+        next.add(segment);
+        segments = List.copyOf(next);
+        return segment;
+    }
+
+    private void publishAndPersist(LogIndexSegment index) {
+        IndexedSegment segment;
+        synchronized (writeLock) {
+            segment = publish(index);
+        }
+        persist(segment);
+    }
+
+    /** Writes the segment and swaps it for a mapping of the written file, releasing its heap arrays. */
+    private void persist(IndexedSegment segment) {
+        IndexedSegment persisted;
+        try {
+            segment.index().writeTo(fileOf(segment));
+            persisted = new IndexedSegment(LogIndexSegment.open(fileOf(segment)),
+                    segment.firstGeneration(), segment.lastGeneration(), true);
+        } catch (IOException e) {
+            log.error("Could not persist index segment {}", fileOf(segment), e);
+            return;
+        }
+        synchronized (writeLock) {
+            int at = segments.indexOf(segment);
+            if (at >= 0) {
+                List<IndexedSegment> next = new ArrayList<>(segments);
+                next.set(at, persisted);
+                segments = List.copyOf(next);
+            }
+        }
+    }
+
+    /** Deletes the files of the narrower generation ranges a merged segment replaced. */
+    private void deleteCovered(IndexedSegment segment) {
+        if (segment.firstGeneration() == segment.lastGeneration()) {
+            return;
+        }
+        for (Path file : listFiles()) {
+            long[] range = generations(file);
+            if (range != null && range[0] >= segment.firstGeneration() && range[1] <= segment.lastGeneration()
+                    && !(range[0] == segment.firstGeneration() && range[1] == segment.lastGeneration())) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    log.warn("Could not delete merged index segment {}", file, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Maps the persisted segments, skipping files whose generations are covered by a wider merged
+     * file. If any file cannot be read the index is rebuilt from the store instead.
+     */
+    private List<IndexedSegment> loadPersisted() {
+        List<long[]> ranges = new ArrayList<>();
+        for (Path file : listFiles()) {
+            long[] range = generations(file);
+            if (range != null) {
+                ranges.add(range);
+            }
+        }
+        ranges.sort(Comparator.<long[]>comparingLong(range -> range[0]).thenComparingLong(range -> -range[1]));
+        List<IndexedSegment> loaded = new ArrayList<>();
+        long coveredThrough = -1;
+        try {
+            for (long[] range : ranges) {
+                if (range[1] <= coveredThrough) {
+                    Files.deleteIfExists(fileOf(range[0], range[1]));
+                    continue;
+                }
+                coveredThrough = range[1];
+                loaded.add(new IndexedSegment(LogIndexSegment.open(fileOf(range[0], range[1])), range[0], range[1], true));
+            }
+            return loaded;
+        } catch (IOException e) {
+            log.error("Could not load the persisted log index, rebuilding it from the log store", e);
+            for (long[] range : ranges) {
+                try {
+                    Files.deleteIfExists(fileOf(range[0], range[1]));
+                } catch (IOException ignored) {
+                    // rebuilt segments overwrite it
+                }
+            }
+            return List.of();
+        }
+    }
+
+    private List<Path> listFiles() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path fileOf(IndexedSegment segment) {
+        return fileOf(segment.firstGeneration(), segment.lastGeneration());
+    }
+
+    private Path fileOf(long firstGeneration, long lastGeneration) {
+        return directory.resolve(String.format("%020d-%020d.idx", firstGeneration, lastGeneration));
+    }
+
+    private static long[] generations(Path file) {
+        Matcher matcher = SEGMENT_FILE.matcher(file.getFileName().toString());
+        return matcher.matches() ? new long[] {Long.parseLong(matcher.group(1)), Long.parseLong(matcher.group(2))} : null;
+    }
+
+    /** Before catch-up finishes only persisted segments are merged, since every merge is written out. */
+    private int findMergeRun(List<IndexedSegment> current) {
+        for (int start = 0; start + mergeFactor <= current.size(); start++) {
+            int tier = tier(current.get(start));
+            boolean eligible = caughtUp || current.get(start).persisted();
+            for (int i = start + 1; i < start + mergeFactor && eligible; i++) {
+                eligible = tier(current.get(i)) == tier && (caughtUp || current.get(i).persisted());
+            }
+            if (eligible) {
+                return start;
+            }
+        }
+        return -1;
+    }
+
+    private static int tier(IndexedSegment segment) {
+        return (int) Math.log10(Math.max(1, segment.index().size()));
+    }
+
+    static List<List<String>> parseQuery(String query) {
+        List<List<String>> clauses = new ArrayList<>();
+        if (query == null) {
+            return clauses;
+        }
+        Matcher matcher = QUERY_CLAUSE.matcher(query);
+        while (matcher.find()) {
+            if (matcher.group(1) != null) {
+                List<String> phrase = tokenize(matcher.group(1));
+                if (!phrase.isEmpty()) {
+                    clauses.add(phrase);
+                }
+            } else if (matcher.group(2) != null) {
+                for (String token : tokenize(matcher.group(3))) {
+                    clauses.add(List.of(matcher.group(2) + ":" + token));
+                }
+            } else {
+                tokenize(matcher.group(4)).forEach(token -> clauses.add(List.of(token)));
+            }
+        }
+        return clauses;
+    }
+
+    static List<String> tokenize(String value) {
+        List<String> tokens = new ArrayList<>();
+        if (value == null) {
+            return tokens;
+        }
+        for (String token : TOKEN_SPLIT.split(value.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    static long toEpochMillis(LocalDateTime timestamp) {
+        return timestamp == null ? 0L : timestamp.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
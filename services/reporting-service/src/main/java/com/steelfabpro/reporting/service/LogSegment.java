@@ -0,0 +1,273 @@
+package com.steelfabpro.reporting.service;
+
+import com.steelfabpro.reporting.model.Log;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * One rolling log segment file. Records are length-prefixed and laid out as
+ * {@code [length][sequence][timestamp][service][level][message][context]}, strings being
+ * {@code [byteLength][utf-8]} with {@code -1} for null. Every {@code indexInterval}-th record is
+ * added to a sparse index of (max timestamp so far, sequence, file position).
+ */
+final class LogSegment {
+    private static final int RECORD_HEADER = Integer.BYTES + Long.BYTES + Long.BYTES;
+
+    private final long baseSequence;
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int indexInterval;
+
+    private long nextSequence;
+    private long recordCount;
+    private long runningMaxTimestamp = Long.MIN_VALUE;
+    private long[] indexTimestamps = new long[64];
+    private long[] indexSequences = new long[64];
+    private int[] indexPositions = new int[64];
+    private volatile int indexSize;
+    private volatile int committed;
+    private volatile long minTimestamp = Long.MAX_VALUE;
+    private volatile long maxTimestamp = Long.MIN_VALUE;
+
+    private LogSegment(long baseSequence, Path path, FileChannel channel, MappedByteBuffer buffer, int indexInterval) {
+        this.baseSequence = baseSequence;
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.indexInterval = indexInterval;
+        this.nextSequence = baseSequence;
+    }
+
+    static LogSegment open(Path path, long baseSequence, int segmentBytes, int indexInterval) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        int size = (int) Math.max(segmentBytes, channel.size());
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        LogSegment segment = new LogSegment(baseSequence, path, channel, buffer, indexInterval);
+        segment.recover();
+        return segment;
+    }
+
+    private void recover() {
+        int position = 0;
+        while (position + RECORD_HEADER <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + Integer.BYTES + length > buffer.capacity()) {
+                break;
+            }
+            track(buffer.getLong(position + Integer.BYTES), buffer.getLong(position + Integer.BYTES + Long.BYTES), position);
+            position += Integer.BYTES + length;
+        }
+        committed = position;
+    }
+
+    long baseSequence() {
+        return baseSequence;
+    }
+
+    long nextSequence() {
+        return nextSequence;
+    }
+
+    long maxTimestamp() {
+        return maxTimestamp;
+    }
+
+    boolean append(Log log) {
+        byte[] service = utf8(log.getService());
+        byte[] level = utf8(log.getLevel());
+        byte[] message = utf8(log.getMessage());
+        byte[] context = utf8(log.getContext());
+        int length = Long.BYTES * 2 + stringBytes(service) + stringBytes(level) + stringBytes(message) + stringBytes(context);
+        int position = committed;
+        if (position + Integer.BYTES + length > buffer.capacity()) {
+            if (position == 0) {
+                throw new IllegalArgumentException("Log record does not fit in a segment");
+            }
+            return false;
+        }
+        long sequence = nextSequence;
+        long timestamp = toEpochMillis(log.getTimestamp());
+        ByteBuffer out = buffer.duplicate();
+        out.position(position);
+        out.putInt(length).putLong(sequence).putLong(timestamp);
+        putString(out, service);
+        putString(out, level);
+        putString(out, message);
+        putString(out, context);
+        track(sequence, timestamp, position);
+        committed = out.position();
+        log.setId(sequence);
+        return true;
+    }
+
+    private void track(long sequence, long timestamp, int position) {
+        runningMaxTimestamp = Math.max(runningMaxTimestamp, timestamp);
+        if (recordCount % indexInterval == 0) {
+            if (indexSize == indexPositions.length) {
+                indexTimestamps = Arrays.copyOf(indexTimestamps, indexSize * 2);
+                indexSequences = Arrays.copyOf(indexSequences, indexSize * 2);
+                indexPositions = Arrays.copyOf(indexPositions, indexSize * 2);
+            }
+            indexTimestamps[indexSize] = runningMaxTimestamp;
+            indexSequences[indexSize] = sequence;
+            indexPositions[indexSize] = position;
+            indexSize = indexSize + 1;
+        }
+        recordCount++;
+        nextSequence = sequence + 1;
+        minTimestamp = Math.min(minTimestamp, timestamp);
+        maxTimestamp = Math.max(maxTimestamp, timestamp);
+    }
+
+    Log read(long sequence) {
+        int limit = committed;
+        int entries = indexSize;
+        if (sequence < baseSequence || entries == 0) {
+            return null;
+        }
+        int slot = floorSlot(indexSequences, entries, sequence);
+        ByteBuffer view = buffer.duplicate();
+        int position = slot < 0 ? 0 : indexPositions[slot];
+        while (position < limit) {
+            int length = view.getInt(position);
+            long recordSequence = view.getLong(position + Integer.BYTES);
+            if (recordSequence == sequence) {
+                return decode(view, position);
+            }
+            if (recordSequence > sequence) {
+                return null;
+            }
+            position += Integer.BYTES + length;
+        }
+        return null;
+    }
+
+    void scan(long from, long to, Consumer<Log> consumer) {
+        int limit = committed;
+        int entries = indexSize;
+        if (entries == 0 || maxTimestamp < from || minTimestamp >= to) {
+            return;
+        }
+        int slot = firstSlotReaching(entries, from);
+        int position = slot <= 0 ? 0 : indexPositions[slot - 1];
+        ByteBuffer view = buffer.duplicate();
+        while (position < limit) {
+            int length = view.getInt(position);
+            long timestamp = view.getLong(position + Integer.BYTES + Long.BYTES);
+            if (timestamp >= from && timestamp < to) {
+                consumer.accept(decode(view, position));
+            }
+            position += Integer.BYTES + length;
+        }
+    }
+
+    void scanAfter(long afterSequence, Consumer<Log> consumer) {
+        int limit = committed;
+        int entries = indexSize;
+        if (entries == 0) {
+            return;
+        }
+        int slot = floorSlot(indexSequences, entries, afterSequence + 1);
+        int position = slot < 0 ? 0 : indexPositions[slot];
+        ByteBuffer view = buffer.duplicate();
+        while (position < limit) {
+            int length = view.getInt(position);
+            if (view.getLong(position + Integer.BYTES) > afterSequence) {
+                consumer.accept(decode(view, position));
+            }
+            position += Integer.BYTES + length;
+        }
+    }
+
+    private int firstSlotReaching(int entries, long timestamp) {
+        int low = 0;
+        int high = entries - 1;
+        int result = entries;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (indexTimestamps[mid] >= timestamp) {
+                result = mid;
+                high = mid - 1;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return Math.min(result, entries - 1);
+    }
+
+    private static int floorSlot(long[] values, int size, long key) {
+        int slot = Arrays.binarySearch(values, 0, size, key);
+        return slot >= 0 ? slot : -slot - 2;
+    }
+
+    void flush() {
+        buffer.force();
+    }
+
+    void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    void delete() throws IOException {
+        channel.close();
+        Files.deleteIfExists(path);
+    }
+
+    private static Log decode(ByteBuffer view, int position) {
+        int cursor = position + Integer.BYTES;
+        long sequence = view.getLong(cursor);
+        long timestamp = view.getLong(cursor + Long.BYTES);
+        cursor += Long.BYTES * 2;
+        String[] fields = new String[4];
+        for (int i = 0; i < fields.length; i++) {
+            int length = view.getInt(cursor);
+            cursor += Integer.BYTES;
+            if (length >= 0) {
+                fields[i] = StandardCharsets.UTF_8.decode(view.slice(cursor, length)).toString();
+                cursor += length;
+            }
+        }
+        return Log.builder()
+                .id(sequence)
+                .service(fields[0])
+                .level(fields[1])
+                .message(fields[2])
+                .context(fields[3])
+                .timestamp(LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneOffset.UTC))
+                .build();
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int stringBytes(byte[] value) {
+        return Integer.BYTES + (value == null ? 0 : value.length);
+    }
+
+    private static void putString(ByteBuffer out, byte[] value) {
+        if (value == null) {
+            out.putInt(-1);
+        } else {
+            out.putInt(value.length).put(value);
+        }
+    }
+
+    static long toEpochMillis(LocalDateTime timestamp) {
+        return timestamp == null ? 0L : timestamp.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
@@ -0,0 +1,87 @@
+package com.steelfabpro.reporting.service;
+
+import com.steelfabpro.reporting.model.Log;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+final class LogSegmentBuilder {
+    private static final int FIELD_POSITION_GAP = 16;
+
+    private long[] logIds = new long[1024];
+    private long[] timestamps = new long[1024];
+    private int size;
+    private Map<String, TermBuffer> terms = new HashMap<>();
+
+    private static final class TermBuffer {
+        private int[] docs = new int[4];
+        private int[] starts = new int[4];
+        private int[] positions = new int[4];
+        private int docCount;
+        private int positionCount;
+
+        void add(int doc, int position) {
+            if (docCount == 0 || docs[docCount - 1] != doc) {
+                if (docCount == docs.length) {
+                    docs = Arrays.copyOf(docs, docCount * 2);
+                    starts = Arrays.copyOf(starts, docCount * 2);
+                }
+                docs[docCount] = doc;
+                starts[docCount] = positionCount;
+                docCount++;
+            }
+            if (positionCount == positions.length) {
+                positions = Arrays.copyOf(positions, positionCount * 2);
+            }
+            positions[positionCount++] = position;
+        }
+
+        LogIndexSegment.Postings seal() {
+            int[] sealedStarts = Arrays.copyOf(starts, docCount + 1);
+            sealedStarts[docCount] = positionCount;
+            return new LogIndexSegment.Postings(Arrays.copyOf(docs, docCount), sealedStarts, Arrays.copyOf(positions, positionCount));
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    void add(Log log) {
+        if (size == logIds.length) {
+            logIds = Arrays.copyOf(logIds, size * 2);
+            timestamps = Arrays.copyOf(timestamps, size * 2);
+        }
+        int doc = size++;
+        logIds[doc] = log.getId();
+        timestamps[doc] = LogSearchIndex.toEpochMillis(log.getTimestamp());
+
+        int position = addField(doc, 0, null, log.getMessage());
+        position = addField(doc, position + FIELD_POSITION_GAP, "service", log.getService());
+        position = addField(doc, position + FIELD_POSITION_GAP, "level", log.getLevel());
+        addField(doc, position + FIELD_POSITION_GAP, null, log.getContext());
+    }
+
+    private int addField(int doc, int position, String qualifier, String value) {
+        for (String token : LogSearchIndex.tokenize(value)) {
+            terms.computeIfAbsent(token, t -> new TermBuffer()).add(doc, position);
+            if (qualifier != null) {
+                terms.computeIfAbsent(qualifier + ":" + token, t -> new TermBuffer()).add(doc, position);
+            }
+            position++;
+        }
+        return position;
+    }
+
+    LogIndexSegment seal() {
+        Map<String, LogIndexSegment.Postings> postings = new HashMap<>(terms.size() * 2);
+        terms.forEach((term, buffer) -> postings.put(term, buffer.seal()));
+        LogIndexSegment segment = LogIndexSegment.of(Arrays.copyOf(logIds, size), Arrays.copyOf(timestamps, size), postings);
+        logIds = new long[1024];
+        timestamps = new long[1024];
+        size = 0;
+        terms = new HashMap<>();
+        return segment;
+    }
+}
@@ -0,0 +1,24 @@
+package com.steelfabpro.reporting.service;
+
+import com.steelfabpro.reporting.model.Log;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface LogStore {
+    Log append(Log log);
+
+    void appendAll(List<Log> logs);
+
+    List<Log> findAllById(Collection<Long> ids);
+
+    void scan(LocalDateTime from, LocalDateTime to, Consumer<Log> consumer);
+
+    /** Streams every log with an id above {@code afterId}, in id order. */
+    void scanAfter(long afterId, Consumer<Log> consumer);
+
+    /** Lowest id that retention may still have kept; logs below it are gone. */
+    long firstRetainedId();
+}
@@ -0,0 +1,153 @@
+package com.steelfabpro.reporting.service;
+
+import com.steelfabpro.reporting.dto.MetricSketchSummary;
+import com.steelfabpro.reporting.model.Metric;
+import com.steelfabpro.reporting.model.MetricSketch;
+import com.steelfabpro.reporting.model.MetricSketchRepository;
+import com.steelfabpro.reporting.sketch.HyperLogLog;
+import com.steelfabpro.reporting.sketch.QuantileSketch;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Keeps a quantile sketch of metric values and a distinct-count sketch of entity keys per metric
+ * name and day. Sketches are updated in memory as metrics are recorded and flushed to
+ * {@code metric_sketches} in the background; a metric's persisted buckets are loaded once, on first
+ * use.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MetricSketchService {
+    private final MetricSketchRepository metricSketchRepository;
+    private final Map<String, NavigableMap<LocalDate, Bucket>> metrics = new ConcurrentHashMap<>();
+
+    /** Records one observation; a null {@code entityKey} feeds the quantiles but not the distinct count. */
+    public void record(String metricName, Double value, String entityKey, LocalDateTime recordedAt) {
+        if (metricName == null || recordedAt == null || (value == null && entityKey == null)) {
+            return;
+        }
+        Bucket bucket = bucketsOf(metricName).computeIfAbsent(recordedAt.toLocalDate(), date -> new Bucket(null, new QuantileSketch(), new HyperLogLog()));
+        synchronized (bucket) {
+            if (value != null) {
+                bucket.quantiles.add(value);
+            }
+            if (entityKey != null) {
+                bucket.distinct.add(entityKey);
+            }
+            bucket.dirty = true;
+        }
+    }
+
+    public void recordAll(Collection<Metric> metrics) {
+        for (Metric metric : metrics) {
+            record(metric.getMetricName(), metric.getValue(), metric.getEntityKey(), metric.getRecordedAt());
+        }
+    }
+
+    public MetricSketchSummary summarize(String metricName, LocalDate from, LocalDate to, List<Double> quantiles) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        for (Double q : quantiles) {
+            if (q == null || q < 0 || q > 1) {
+                throw new IllegalArgumentException("Quantiles must be between 0 and 1");
+            }
+        }
+        QuantileSketch merged = new QuantileSketch();
+        HyperLogLog distinct = new HyperLogLog();
+        for (Bucket bucket : bucketsOf(metricName).subMap(from, true, to, true).values()) {
+            synchronized (bucket) {
+                merged.merge(bucket.quantiles);
+                distinct.merge(bucket.distinct);
+            }
+        }
+        Map<String, Double> values = new LinkedHashMap<>();
+        for (Double q : quantiles) {
+            values.put("p" + label(q), merged.count() == 0 ? null : merged.quantile(q));
+        }
+        return new MetricSketchSummary(metricName, from, to, merged.count(),
+                merged.count() == 0 ? null : merged.min(), merged.count() == 0 ? null : merged.max(),
+                values, distinct.estimate());
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${reporting.sketches.flush-ms:10000}")
+    public void flush() {
+        int flushed = 0;
+        for (Map.Entry<String, NavigableMap<LocalDate, Bucket>> metric : metrics.entrySet()) {
+            for (Map.Entry<LocalDate, Bucket> entry : metric.getValue().entrySet()) {
+                Bucket bucket = entry.getValue();
+                MetricSketch sketch;
+                synchronized (bucket) {
+                    if (!bucket.dirty) {
+                        continue;
+                    }
+                    sketch = new MetricSketch(bucket.id, metric.getKey(), entry.getKey(),
+                            bucket.quantiles.serialize(), bucket.distinct.serialize());
+                    bucket.dirty = false;
+                }
+                try {
+                    Long id = metricSketchRepository.save(sketch).getId();
+                    synchronized (bucket) {
+                        bucket.id = id;
+                    }
+                    flushed++;
+                } catch (RuntimeException e) {
+                    synchronized (bucket) {
+                        bucket.dirty = true;
+                    }
+                    log.warn("Failed to persist sketch for {} on {}", metric.getKey(), entry.getKey(), e);
+                }
+            }
+        }
+        if (flushed > 0) {
+            log.debug("Flushed {} metric sketches", flushed);
+        }
+    }
+
+    private NavigableMap<LocalDate, Bucket> bucketsOf(String metricName) {
+        return metrics.computeIfAbsent(metricName, this::load);
+    }
+
+    private NavigableMap<LocalDate, Bucket> load(String metricName) {
+        NavigableMap<LocalDate, Bucket> buckets = new ConcurrentSkipListMap<>();
+        for (MetricSketch sketch : metricSketchRepository.findByMetricName(metricName)) {
+            buckets.put(sketch.getBucketDate(), new Bucket(sketch.getId(),
+                    QuantileSketch.deserialize(sketch.getQuantileSketch()),
+                    HyperLogLog.deserialize(sketch.getDistinctSketch())));
+        }
+        return buckets;
+    }
+
+    private static String label(double q) {
+        return BigDecimal.valueOf(q).movePointRight(2).stripTrailingZeros().toPlainString();
+    }
+
+    private static final class Bucket {
+        private Long id;
+        private final QuantileSketch quantiles;
+        private final HyperLogLog distinct;
+        private boolean dirty;
+
+        private Bucket(Long id, QuantileSketch quantiles, HyperLogLog distinct) {
+            this.id = id;
+            this.quantiles = quantiles;
+            this.distinct = distinct;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.steelfabpro.reporting.service;
+
+import com.steelfabpro.reporting.dto.ReportCacheStats;
+import com.steelfabpro.reporting.dto.ReportResult;
+import com.steelfabpro.reporting.model.Report;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class ReportResultCache {
+    record Key(Long reportId) {
+        static Key of(Report report) {
+            return new Key(report.getId());
+        }
+    }
+
+    static final class Entry {
+        private final ReportResult result;
+        private final long lastMetricId;
+        private final long computedAtNanos;
+        private volatile long lastAccessNanos;
+
+        Entry(ReportResult result, long lastMetricId) {
+            this.result = result;
+            this.lastMetricId = lastMetricId;
+            this.computedAtNanos = System.nanoTime();
+            this.lastAccessNanos = computedAtNanos;
+        }
+
+        ReportResult result() {
+            return result;
+        }
+
+        long lastMetricId() {
+            return lastMetricId;
+        }
+    }
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final long refreshNanos;
+    private final LinkedHashMap<Key, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ReportResultCache(@Value("${reporting.cache.max-size:1000}") int maxSize,
+                             @Value("${reporting.cache.ttl-minutes:60}") long ttlMinutes,
+                             @Value("${reporting.cache.refresh-seconds:30}") long refreshSeconds) {
+        this.maxSize = maxSize;
+        this.ttlNanos = Duration.ofMinutes(ttlMinutes).toNanos();
+        this.refreshNanos = Duration.ofSeconds(refreshSeconds).toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > ReportResultCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    Entry get(Key key) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry != null && System.nanoTime() - entry.lastAccessNanos > ttlNanos) {
+                entries.remove(key);
+                evictions.increment();
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        entry.lastAccessNanos = System.nanoTime();
+        hits.increment();
+        return entry;
+    }
+
+    boolean needsRefresh(Entry entry) {
+        return !entry.result.isClosed() && System.nanoTime() - entry.computedAtNanos > refreshNanos;
+    }
+
+    void put(Key key, Entry entry) {
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+    }
+
+    void refreshed(Key key, Entry entry) {
+        refreshes.increment();
+        put(key, entry);
+    }
+
+    void invalidate(Key key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    public ReportCacheStats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new ReportCacheStats(size, maxSize, hits.sum(), misses.sum(), refreshes.sum(), evictions.sum());
+    }
+
+    @Scheduled(fixedDelayString = "${reporting.cache.sweep-ms:60000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        synchronized (entries) {
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                if (now - iterator.next().lastAccessNanos > ttlNanos) {
+                    iterator.remove();
+                    evictions.increment();
+                }
+            }
+        }
+    }
+}
@@ -1,18 +1,45 @@
 package com.steelfabpro.reporting.service;
 
+import com.steelfabpro.reporting.dto.MetricExportRow;
+import com.steelfabpro.reporting.dto.MetricResponse;
+import com.steelfabpro.reporting.dto.MetricSketchSummary;
+import com.steelfabpro.reporting.dto.ReportCacheStats;
+import com.steelfabpro.reporting.dto.ReportGenerationResponse;
+import com.steelfabpro.reporting.dto.ReportResult;
+import com.steelfabpro.reporting.engine.ReportEngine;
+import com.steelfabpro.reporting.engine.ReportGeneration;
+import com.steelfabpro.reporting.engine.ReportPeriod;
 import com.steelfabpro.reporting.model.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class ReportingService {
     private final ReportRepository reportRepository;
     private final MetricRepository metricRepository;
-    private final LogRepository logRepository;
+    private final LogStore logStore;
+    private final LogSearchIndex logSearchIndex;
+    private final ReportEngine reportEngine;
+    private final TransactionTemplate transactionTemplate;
+    private final ReportResultCache reportResultCache;
+    private final MetricSketchService metricSketchService;
 
     public Report createReport(Report report) {
         report.setCreatedAt(LocalDateTime.now());
@@ -27,20 +54,160 @@ public class ReportingService {
         Report report = reportRepository.findById(reportId).orElseThrow(() -> new IllegalArgumentException("Report not found"));
         metric.setReport(report);
         metric.setRecordedAt(LocalDateTime.now());
-        return metricRepository.save(metric);
+        Metric saved = metricRepository.save(metric);
+        metricSketchService.record(saved.getMetricName(), saved.getValue(), saved.getEntityKey(), saved.getRecordedAt());
+        if (isClosed(report)) {
+            reportResultCache.invalidate(ReportResultCache.Key.of(report));
+        }
+        return saved;
     }
 
     public List<Metric> getMetricsByReport(Long reportId) {
+        requireReport(reportId);
+        return metricRepository.findByReportIdOrderByRecordedAtAsc(reportId);
+    }
+
+    /**
+     * Replaces the report's metrics with a fresh generation. Quantile sketches cannot forget an
+     * observation, so on regeneration only metric names the report did not have before are fed to
+     * them. Active users are recorded as {@code user:<id>} keys under
+     * {@link #activeUsersMetric(Long)}, bucketed on the first day of the period; re-adding a key
+     * does not change a distinct count, so they are recorded on every generation.
+     */
+    public ReportGenerationResponse generateReport(Long reportId, String authorization) {
+        Report report = reportRepository.findById(reportId).orElseThrow(() -> new IllegalArgumentException("Report not found"));
+        Long projectId = projectIdOf(report);
+        ReportPeriod period = ReportPeriod.parse(report.getPeriod());
+        ReportGeneration generation = reportEngine.generate(projectId, period, authorization);
+
+        LocalDateTime recordedAt = LocalDateTime.now();
+        List<Metric> metrics = generation.metrics().entrySet().stream()
+                .map(e -> Metric.builder().report(report).metricName(e.getKey()).value(e.getValue()).recordedAt(recordedAt).build())
+                .toList();
+        Set<String> previousNames = new HashSet<>();
+        List<MetricResponse> saved = transactionTemplate.execute(status -> {
+            previousNames.addAll(metricRepository.findMetricNamesByReportId(reportId));
+            metricRepository.deleteByReportId(reportId);
+            return metricRepository.saveAll(metrics).stream()
+                    .map(m -> new MetricResponse(m.getId(), m.getMetricName(), m.getValue(), m.getRecordedAt()))
+                    .toList();
+        });
+        metricSketchService.recordAll(metrics.stream().filter(m -> !previousNames.contains(m.getMetricName())).toList());
+        generation.activeUsers().forEach(userId ->
+                metricSketchService.record(activeUsersMetric(projectId), null, "user:" + userId, period.start()));
+        reportResultCache.invalidate(ReportResultCache.Key.of(report));
+        return new ReportGenerationResponse(reportId, saved, generation.failedSources());
+    }
+
+    /** Sketch metric whose distinct count is the number of users active in the project. */
+    public static String activeUsersMetric(Long projectId) {
+        return "project." + projectId + ".users.active";
+    }
+
+    public ReportResult getReportResult(Long reportId, String authorization) {
         Report report = reportRepository.findById(reportId).orElseThrow(() -> new IllegalArgumentException("Report not found"));
-        return metricRepository.findAll().stream().filter(m -> m.getReport().equals(report)).toList();
+        ReportResultCache.Key key = ReportResultCache.Key.of(report);
+        ReportResultCache.Entry cached = reportResultCache.get(key);
+        if (cached != null) {
+            if (!reportResultCache.needsRefresh(cached)) {
+                return cached.result();
+            }
+            ReportResultCache.Entry refreshed = mergeNewMetrics(report, cached.result().getMetrics(), cached.lastMetricId());
+            reportResultCache.refreshed(key, refreshed);
+            return refreshed.result();
+        }
+
+        if (!metricRepository.existsByReportId(reportId)) {
+            generateReport(reportId, authorization);
+        }
+        ReportResultCache.Entry loaded = mergeNewMetrics(report, Map.of(), 0L);
+        reportResultCache.put(key, loaded);
+        return loaded.result();
+    }
+
+    public ReportCacheStats getReportCacheStats() {
+        return reportResultCache.stats();
+    }
+
+    public MetricSketchSummary getMetricSummary(String metricName, LocalDate from, LocalDate to, List<Double> quantiles) {
+        return metricSketchService.summarize(metricName, from, to, quantiles);
+    }
+
+    private ReportResultCache.Entry mergeNewMetrics(Report report, Map<String, Double> base, long afterId) {
+        Map<String, Double> merged = new LinkedHashMap<>(base);
+        long lastMetricId = afterId;
+        for (MetricResponse metric : metricRepository.findByReportAfterId(report.getId(), afterId)) {
+            merged.put(metric.getMetricName(), metric.getValue());
+            lastMetricId = metric.getId();
+        }
+        ReportResult result = new ReportResult(report.getId(), report.getType(), report.getGeneratedFor(), report.getPeriod(),
+                isClosed(report), LocalDateTime.now(), Collections.unmodifiableMap(merged));
+        return new ReportResultCache.Entry(result, lastMetricId);
+    }
+
+    private static boolean isClosed(Report report) {
+        try {
+            return !ReportPeriod.parse(report.getPeriod()).end().isAfter(LocalDateTime.now());
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static Long projectIdOf(Report report) {
+        String generatedFor = report.getGeneratedFor();
+        if (generatedFor == null) {
+            throw new IllegalArgumentException("Report is not generated for a project");
+        }
+        try {
+            return Long.parseLong(generatedFor.startsWith("project:") ? generatedFor.substring("project:".length()) : generatedFor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Report is not generated for a project");
+        }
+    }
+
+    public void requireReport(Long reportId) {
+        if (!reportRepository.existsById(reportId)) {
+            throw new IllegalArgumentException("Report not found");
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void streamMetricsByReport(Long reportId, LocalDateTime from, LocalDateTime to, String metricName, Consumer<MetricResponse> sink) {
+        try (Stream<MetricResponse> metrics = metricRepository.streamByReport(reportId, from, to, metricName)) {
+            metrics.forEach(sink);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void streamMetricsForExport(LocalDateTime from, LocalDateTime to, String metricName, Consumer<MetricExportRow> sink) {
+        try (Stream<MetricExportRow> metrics = metricRepository.streamForExport(from, to, metricName)) {
+            metrics.forEach(sink);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void streamReports(Consumer<Report> sink) {
+        try (Stream<Report> reports = reportRepository.streamAll()) {
+            reports.forEach(sink);
+        }
     }
 
     public Log logEvent(Log log) {
         log.setTimestamp(LocalDateTime.now());
-        return logRepository.save(log);
+        Log saved = logStore.append(log);
+        logSearchIndex.add(saved);
+        return saved;
+    }
+
+    public List<Log> searchLogs(String query, LocalDateTime from, LocalDateTime to, int limit) {
+        List<Long> ids = logSearchIndex.search(query, from, to, limit);
+        Map<Long, Log> logs = logStore.findAllById(ids).stream().collect(Collectors.toMap(Log::getId, l -> l));
+        return ids.stream().map(logs::get).filter(Objects::nonNull).toList();
     }
 
     public List<Log> getAllLogs() {
-        return logRepository.findAll();
+        List<Log> logs = new ArrayList<>();
+        logStore.scan(null, null, logs::add);
+        return logs;
     }
 } 
\ No newline at end of file
@@ -0,0 +1,184 @@
+package com.steelfabpro.reporting.service;
+
+import com.steelfabpro.reporting.model.Log;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "reporting.logs.storage", havingValue = "segment")
+public class SegmentLogStore implements LogStore {
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final int indexInterval;
+    private final Duration retention;
+
+    private volatile List<LogSegment> segments = List.of();
+    private LogSegment active;
+
+    public SegmentLogStore(@Value("${reporting.logs.segment.dir:data/log-segments}") String directory,
+                           @Value("${reporting.logs.segment.segment-bytes:67108864}") int segmentBytes,
+                           @Value("${reporting.logs.segment.index-interval:256}") int indexInterval,
+                           @Value("${reporting.logs.segment.retention-hours:168}") long retentionHours) {
+        this.directory = Paths.get(directory);
+        this.segmentBytes = segmentBytes;
+        this.indexInterval = indexInterval;
+        this.retention = Duration.ofHours(retentionHours);
+    }
+
+    @PostConstruct
+    public synchronized void open() throws IOException {
+        Files.createDirectories(directory);
+        List<LogSegment> opened = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(f -> f.getFileName().toString().endsWith(SEGMENT_SUFFIX)).sorted().toList()) {
+                String name = file.getFileName().toString();
+                long base = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+                opened.add(LogSegment.open(file, base, segmentBytes, indexInterval));
+            }
+        }
+        if (opened.isEmpty()) {
+            opened.add(createSegment(1));
+        }
+        segments = List.copyOf(opened);
+        active = opened.get(opened.size() - 1);
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        for (LogSegment segment : segments) {
+            segment.close();
+        }
+    }
+
+    @Override
+    public synchronized Log append(Log log) {
+        if (!active.append(log)) {
+            roll();
+            active.append(log);
+        }
+        return log;
+    }
+
+    @Override
+    public synchronized void appendAll(List<Log> logs) {
+        for (Log log : logs) {
+            append(log);
+        }
+    }
+
+    @Override
+    public List<Log> findAllById(Collection<Long> ids) {
+        List<LogSegment> current = segments;
+        List<Log> found = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            LogSegment segment = segmentFor(current, id);
+            Log log = segment == null ? null : segment.read(id);
+            if (log != null) {
+                found.add(log);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public void scan(LocalDateTime from, LocalDateTime to, Consumer<Log> consumer) {
+        long fromMillis = from == null ? Long.MIN_VALUE : LogSegment.toEpochMillis(from);
+        long toMillis = to == null ? Long.MAX_VALUE : LogSegment.toEpochMillis(to);
+        for (LogSegment segment : segments) {
+            segment.scan(fromMillis, toMillis, consumer);
+        }
+    }
+
+    @Override
+    public void scanAfter(long afterId, Consumer<Log> consumer) {
+        for (LogSegment segment : segments) {
+            if (segment.nextSequence() > afterId + 1) {
+                segment.scanAfter(afterId, consumer);
+            }
+        }
+    }
+
+    @Override
+    public long firstRetainedId() {
+        return segments.get(0).baseSequence();
+    }
+
+    @Scheduled(fixedDelayString = "${reporting.logs.segment.retention-check-ms:3600000}")
+    public void enforceRetention() {
+        long cutoff = LogSegment.toEpochMillis(LocalDateTime.now().minus(retention));
+        List<LogSegment> expired = new ArrayList<>();
+        synchronized (this) {
+            List<LogSegment> kept = new ArrayList<>();
+            for (LogSegment segment : segments) {
+                if (segment != active && segment.maxTimestamp() < cutoff) {
+                    expired.add(segment);
+                } else {
+                    kept.add(segment);
+                }
+            }
+            segments = List.copyOf(kept);
+        }
+        for (LogSegment segment : expired) {
+            try {
+                segment.delete();
+            } catch (IOException e) {
+                log.warn("Failed to delete expired log segment {}", segment.baseSequence(), e);
+            }
+        }
+    }
+
+    private void roll() {
+        active.flush();
+        LogSegment next = createSegment(active.nextSequence());
+        List<LogSegment> rolled = new ArrayList<>(segments);
+        rolled.add(next);
+        segments = List.copyOf(rolled);
+        active = next;
+    }
+
+    private LogSegment createSegment(long baseSequence) {
+        try {
+            return LogSegment.open(directory.resolve(String.format("%020d%s", baseSequence, SEGMENT_SUFFIX)),
+                    baseSequence, segmentBytes, indexInterval);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static LogSegment segmentFor(List<LogSegment> current, long sequence) {
+        int low = 0;
+        int high = current.size() - 1;
+        LogSegment match = null;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (current.get(mid).baseSequence() <= sequence) {
+                match = current.get(mid);
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return match;
+    }
+}
@@ -0,0 +1,200 @@
+package com.steelfabpro.reporting.sketch;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Mergeable quantile sketch with a fixed 1% relative-error guarantee. Values are counted in
+ * logarithmically sized bins, so merging two sketches is a bin-wise sum and a quantile lookup is a
+ * single pass over the occupied bins.
+ */
+public final class QuantileSketch {
+    private static final double RELATIVE_ACCURACY = 0.01;
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+    private static final double MIN_INDEXABLE = 1e-9;
+    private static final byte VERSION = 1;
+
+    private final Bins positive = new Bins();
+    private final Bins negative = new Bins();
+    private long zeroCount;
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        if (value > MIN_INDEXABLE) {
+            positive.add(index(value), 1);
+        } else if (value < -MIN_INDEXABLE) {
+            negative.add(index(-value), 1);
+        } else {
+            zeroCount++;
+        }
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    public void merge(QuantileSketch other) {
+        positive.merge(other.positive);
+        negative.merge(other.negative);
+        zeroCount += other.zeroCount;
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public double min() {
+        return count == 0 ? Double.NaN : min;
+    }
+
+    public double max() {
+        return count == 0 ? Double.NaN : max;
+    }
+
+    public double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long rank = (long) (q * (count - 1));
+        long seen = 0;
+        for (int i = negative.counts.length - 1; i >= 0; i--) {
+            seen += negative.counts[i];
+            if (seen > rank) {
+                return clamp(-value(negative.offset + i));
+            }
+        }
+        seen += zeroCount;
+        if (seen > rank) {
+            return 0;
+        }
+        for (int i = 0; i < positive.counts.length; i++) {
+            seen += positive.counts[i];
+            if (seen > rank) {
+                return clamp(value(positive.offset + i));
+            }
+        }
+        return max;
+    }
+
+    public byte[] serialize() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            VarInts.writeLong(out, count);
+            VarInts.writeLong(out, zeroCount);
+            out.writeDouble(min);
+            out.writeDouble(max);
+            positive.write(out);
+            negative.write(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static QuantileSketch deserialize(byte[] data) {
+        QuantileSketch sketch = new QuantileSketch();
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            if (in.readByte() != VERSION) {
+                throw new IllegalArgumentException("Unsupported quantile sketch version");
+            }
+            sketch.count = VarInts.readLong(in);
+            sketch.zeroCount = VarInts.readLong(in);
+            sketch.min = in.readDouble();
+            sketch.max = in.readDouble();
+            sketch.positive.read(in);
+            sketch.negative.read(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sketch;
+    }
+
+    private double clamp(double value) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private static int index(double value) {
+        return (int) Math.ceil(Math.log(value) / LOG_GAMMA);
+    }
+
+    private static double value(int index) {
+        return 2 * Math.pow(GAMMA, index) / (GAMMA + 1);
+    }
+
+    private static final class Bins {
+        private long[] counts = new long[0];
+        private int offset;
+
+        void add(int index, long increment) {
+            if (counts.length == 0) {
+                counts = new long[16];
+                offset = index - 8;
+            } else if (index < offset || index >= offset + counts.length) {
+                int low = Math.min(index, offset);
+                int high = Math.max(index, offset + counts.length - 1);
+                int size = Math.max(high - low + 1, counts.length * 2);
+                long[] grown = new long[size];
+                System.arraycopy(counts, 0, grown, offset - low, counts.length);
+                counts = grown;
+                offset = low;
+            }
+            counts[index - offset] += increment;
+        }
+
+        void merge(Bins other) {
+            for (int i = 0; i < other.counts.length; i++) {
+                if (other.counts[i] != 0) {
+                    add(other.offset + i, other.counts[i]);
+                }
+            }
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            int first = 0;
+            int last = counts.length - 1;
+            while (first <= last && counts[first] == 0) {
+                first++;
+            }
+            while (last >= first && counts[last] == 0) {
+                last--;
+            }
+            int length = last - first + 1;
+            VarInts.writeInt(out, length);
+            if (length > 0) {
+                out.writeInt(offset + first);
+                for (int i = first; i <= last; i++) {
+                    VarInts.writeLong(out, counts[i]);
+                }
+            }
+        }
+
+        void read(DataInputStream in) throws IOException {
+            int length = VarInts.readInt(in);
+            if (length == 0) {
+                counts = new long[0];
+                return;
+            }
+            offset = in.readInt();
+            counts = new long[length];
+            for (int i = 0; i < length; i++) {
+                counts[i] = VarInts.readLong(in);
+            }
+        }
+    }
+}
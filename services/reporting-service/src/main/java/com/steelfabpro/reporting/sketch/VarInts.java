@@ -0,0 +1,38 @@
+package com.steelfabpro.reporting.sketch;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+final class VarInts {
+    private VarInts() {
+    }
+
+    static void writeLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    static long readLong(DataInputStream in) throws IOException {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    static void writeInt(DataOutputStream out, int value) throws IOException {
+        writeLong(out, value & 0xFFFFFFFFL);
+    }
+
+    static int readInt(DataInputStream in) throws IOException {
+        return (int) readLong(in);
+    }
+}
@@ -0,0 +1,160 @@
+package com.steelfabpro.reporting;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.steelfabpro.reporting.controller.ReportingController;
+import com.steelfabpro.reporting.dto.MetricExportRow;
+import com.steelfabpro.reporting.etl.EtlService;
+import com.steelfabpro.reporting.service.LogIngestionService;
+import com.steelfabpro.reporting.service.ReportingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Pushes ten million metric rows through the export endpoint and decodes the response as it is
+ * written, so the whole pipeline runs within the 32 MB heap of the largeExportTest task.
+ */
+@Tag("large-export")
+class LargeExportTests {
+	private static final int ROWS = 10_000_000;
+	private static final int MAX_ROWS_PER_SHEET = 1_048_576;
+	private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+	private static final String HEADER = "reportId,id,metricName,value,recordedAt";
+
+	private ReportingController controller;
+
+	@BeforeEach
+	void setUp() {
+		ReportingService reportingService = mock(ReportingService.class);
+		doAnswer(invocation -> {
+			Consumer<MetricExportRow> sink = invocation.getArgument(3);
+			MetricExportRow row = new MetricExportRow();
+			for (int i = 0; i < ROWS; i++) {
+				row.setReportId((long) (i % 500));
+				row.setId((long) i);
+				row.setMetricName("task.completion.hours");
+				row.setValue(i * 0.25);
+				row.setRecordedAt(START.plusSeconds(i));
+				sink.accept(row);
+			}
+			return null;
+		}).when(reportingService).streamMetricsForExport(any(), any(), any(), any());
+		controller = new ReportingController(reportingService, mock(LogIngestionService.class), mock(EtlService.class), new ObjectMapper());
+	}
+
+	@Test
+	void streamsTenMillionCsvRowsThroughGzip() throws Exception {
+		ResponseEntity<StreamingResponseBody> response = controller.exportMetrics("CSV", null, null, null, "gzip, deflate");
+		assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+
+		long lines = decode(response.getBody(), in -> {
+			BufferedReader reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(in, 64 * 1024), StandardCharsets.UTF_8));
+			assertEquals(HEADER, reader.readLine());
+			long count = 1;
+			String last = null;
+			for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+				last = line;
+				count++;
+			}
+			assertTrue(last != null && last.startsWith("499," + (ROWS - 1) + ",task.completion.hours,"), last);
+			return count;
+		});
+		assertEquals(ROWS + 1, lines);
+	}
+
+	@Test
+	void streamsTenMillionXlsxRowsAcrossSheets() throws Exception {
+		ResponseEntity<StreamingResponseBody> response = controller.exportMetrics("xlsx", null, null, null, "gzip");
+		assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+
+		long[] sheetsAndRows = decode(response.getBody(), in -> {
+			ZipInputStream zip = new ZipInputStream(in);
+			long sheets = 0;
+			long rows = 0;
+			for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+				if (entry.getName().startsWith("xl/worksheets/sheet")) {
+					long sheetRows = countRows(zip);
+					assertTrue(sheetRows <= MAX_ROWS_PER_SHEET, entry.getName() + " has " + sheetRows + " rows");
+					sheets++;
+					rows += sheetRows;
+				}
+			}
+			return new long[] {sheets, rows};
+		});
+		long expectedSheets = (ROWS + MAX_ROWS_PER_SHEET - 2) / (MAX_ROWS_PER_SHEET - 1);
+		assertEquals(expectedSheets, sheetsAndRows[0]);
+		assertEquals(ROWS + expectedSheets, sheetsAndRows[1], "every sheet repeats the header row");
+	}
+
+	/** Writes the body on this thread while another decodes it, so neither side is buffered whole. */
+	private static <T> T decode(StreamingResponseBody body, Decoder<T> decoder) throws Exception {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try (PipedInputStream in = new PipedInputStream(64 * 1024)) {
+			PipedOutputStream out = new PipedOutputStream(in);
+			Future<T> decoded = executor.submit((Callable<T>) () -> {
+				T result = decoder.decode(in);
+				in.transferTo(OutputStream.nullOutputStream());
+				return result;
+			});
+			try (out) {
+				body.writeTo(out);
+			}
+			return decoded.get();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static long countRows(InputStream in) throws IOException {
+		byte[] pattern = "<row>".getBytes(StandardCharsets.US_ASCII);
+		byte[] buffer = new byte[64 * 1024];
+		long rows = 0;
+		int matched = 0;
+		for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+			for (int i = 0; i < read; i++) {
+				if (buffer[i] == pattern[matched]) {
+					if (++matched == pattern.length) {
+						rows++;
+						matched = 0;
+					}
+				} else {
+					matched = buffer[i] == pattern[0] ? 1 : 0;
+				}
+			}
+		}
+		return rows;
+	}
+
+	@FunctionalInterface
+	private interface Decoder<T> {
+		T decode(InputStream in) throws IOException;
+	}
+}
@@ -0,0 +1,84 @@
+package com.steelfabpro.reporting;
+
+import com.steelfabpro.reporting.dto.LogIngestStats;
+import com.steelfabpro.reporting.model.Log;
+import com.steelfabpro.reporting.service.LogIngestionService;
+import com.steelfabpro.reporting.service.LogSearchIndex;
+import com.steelfabpro.reporting.service.SegmentLogStore;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("benchmark")
+class LogIngestBenchmark {
+	private static final int PRODUCERS = 8;
+	private static final int LOGS = 1_000_000;
+	private static final double TARGET_LOGS_PER_SECOND = 50_000;
+
+	@TempDir
+	Path dataDir;
+
+	@Test
+	void sustainsTargetIngestRate() throws Exception {
+		SegmentLogStore store = new SegmentLogStore(dataDir.resolve("segments").toString(), 64 * 1024 * 1024, 256, 168);
+		store.open();
+		LogIngestionService service = new LogIngestionService(store, new LogSearchIndex(store, 8, 100_000, dataDir.resolve("index").toString()),
+				65_536, 2_000, 10);
+		service.start();
+		ExecutorService producers = Executors.newFixedThreadPool(PRODUCERS);
+		try {
+			LocalDateTime base = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+			long start = System.nanoTime();
+			List<Future<?>> done = new ArrayList<>();
+			for (int p = 0; p < PRODUCERS; p++) {
+				int producer = p;
+				done.add(producers.submit(() -> {
+					for (int i = producer; i < LOGS; i += PRODUCERS) {
+						Log entry = Log.builder()
+								.service("benchmark-service")
+								.level(i % 10 == 0 ? "ERROR" : "INFO")
+								.message("fabrication step " + i + " completed by producer " + producer)
+								.timestamp(base.plus(i, ChronoUnit.MILLIS))
+								.build();
+						while (!service.submit(entry)) {
+							Thread.yield();
+						}
+					}
+				}));
+			}
+			for (Future<?> producer : done) {
+				producer.get(5, TimeUnit.MINUTES);
+			}
+			long submitNanos = System.nanoTime() - start;
+			while (service.getStats().getWritten() + service.getStats().getFailed() < LOGS) {
+				Thread.sleep(1);
+			}
+			long writeNanos = System.nanoTime() - start;
+
+			LogIngestStats stats = service.getStats();
+			double rate = LOGS / (writeNanos / 1e9);
+			System.out.printf("ingest %,d logs from %d producers: submitted in %,d ms, written in %,d ms (%,.0f logs/s), %,d rejected while full%n",
+					LOGS, PRODUCERS, submitNanos / 1_000_000, writeNanos / 1_000_000, rate, stats.getDropped());
+			assertEquals(LOGS, stats.getAccepted());
+			assertEquals(LOGS, stats.getWritten());
+			assertTrue(rate >= TARGET_LOGS_PER_SECOND, String.format("%,.0f logs/s is below the %,.0f logs/s target", rate, TARGET_LOGS_PER_SECOND));
+		} finally {
+			producers.shutdownNow();
+			service.stop();
+			store.close();
+		}
+	}
+}
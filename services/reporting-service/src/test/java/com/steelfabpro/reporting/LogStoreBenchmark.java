@@ -0,0 +1,77 @@
+package com.steelfabpro.reporting;
+
+import com.steelfabpro.reporting.model.Log;
+import com.steelfabpro.reporting.service.JpaLogStore;
+import com.steelfabpro.reporting.service.LogStore;
+import com.steelfabpro.reporting.service.SegmentLogStore;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("benchmark")
+@SpringBootTest
+class LogStoreBenchmark {
+	private static final int LOGS = 200_000;
+	private static final int BATCH = 2_000;
+
+	@Autowired
+	private JpaLogStore jpaLogStore;
+
+	@TempDir
+	Path segmentDir;
+
+	@Test
+	void compareJpaAndSegmentStores() throws Exception {
+		SegmentLogStore segmentLogStore = new SegmentLogStore(segmentDir.toString(), 64 * 1024 * 1024, 256, 168);
+		segmentLogStore.open();
+		try {
+			long jpaScanned = run("jpa", jpaLogStore);
+			long segmentScanned = run("segment", segmentLogStore);
+			assertTrue(jpaScanned >= LOGS / 10);
+			assertEquals(LOGS / 10, segmentScanned);
+		} finally {
+			segmentLogStore.close();
+		}
+	}
+
+	private long run(String name, LogStore store) {
+		LocalDateTime base = LocalDateTime.now().plusYears(1).truncatedTo(ChronoUnit.SECONDS);
+
+		long appendStart = System.nanoTime();
+		for (int offset = 0; offset < LOGS; offset += BATCH) {
+			List<Log> batch = new ArrayList<>(BATCH);
+			for (int i = offset; i < offset + BATCH; i++) {
+				batch.add(Log.builder()
+						.service("benchmark-service")
+						.level(i % 10 == 0 ? "ERROR" : "INFO")
+						.message("fabrication step " + i + " completed for batch " + (i / BATCH))
+						.timestamp(base.plus(i, ChronoUnit.MILLIS))
+						.context("{\"line\":" + i + "}")
+						.build());
+			}
+			store.appendAll(batch);
+		}
+		long appendNanos = System.nanoTime() - appendStart;
+
+		LongAdder scanned = new LongAdder();
+		long scanStart = System.nanoTime();
+		store.scan(base.plus(LOGS * 9L / 10, ChronoUnit.MILLIS), base.plus(LOGS, ChronoUnit.MILLIS), log -> scanned.increment());
+		long scanNanos = System.nanoTime() - scanStart;
+
+		System.out.printf("%-8s append %,d logs: %,d ms (%,.0f logs/s), range scan %,d logs: %,d ms%n",
+				name, LOGS, appendNanos / 1_000_000, LOGS / (appendNanos / 1e9), scanned.sum(), scanNanos / 1_000_000);
+		return scanned.sum();
+	}
+}
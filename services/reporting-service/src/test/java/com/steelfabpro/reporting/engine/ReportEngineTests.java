@@ -0,0 +1,222 @@
+package com.steelfabpro.reporting.engine;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReportEngineTests {
+	private static final ReportPeriod WEEK = ReportPeriod.parse("2026-W42");
+	private static final int LONG_THREAD_MESSAGES = 450;
+	private static final int LARGE_PROJECT_MILESTONES = 1_100;
+	private static final int DORMANT_THREADS = 250;
+
+	private HttpServer stubs;
+	private String baseUrl;
+
+	@BeforeEach
+	void startStubs() throws IOException {
+		stubs = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		stub("/api/projects/7/milestones", "[{\"id\":1,\"status\":\"COMPLETED\"},{\"id\":2,\"status\":\"IN_PROGRESS\"}]");
+		stub("/api/milestones/1/tasks", "[{\"id\":10,\"status\":\"COMPLETED\",\"completedAt\":\"2026-10-13\",\"assigneeId\":30}]");
+		stub("/api/milestones/2/tasks", "[{\"id\":11,\"status\":\"COMPLETED\",\"completedAt\":\"2026-09-01\",\"assigneeId\":31},{\"id\":12,\"status\":\"OPEN\"}]");
+		stubs.createContext("/api/inventory-logs/consumption", exchange -> respond(exchange,
+				"7".equals(query(exchange.getRequestURI().getQuery()).get("projectId"))
+						? "[{\"materialId\":3,\"materialName\":\"I-beam\",\"unit\":\"m\",\"quantity\":40},"
+								+ "{\"materialId\":4,\"materialName\":\"Plate\",\"unit\":\"kg\",\"quantity\":2}]"
+						: "[]"));
+		stub("/api/projects/7/invoices", "[{\"id\":1,\"projectId\":7,\"amount\":1000.0,\"status\":\"PAID\",\"paidAt\":\"2026-10-14T09:00:00\"},"
+				+ "{\"id\":2,\"projectId\":7,\"amount\":500.0,\"status\":\"ISSUED\",\"dueDate\":\"2026-10-01T00:00:00\"}]");
+		// Thread 4 was last active before the period, so its messages (not stubbed) must not be read.
+		stub("/api/projects/7/threads", "[{\"threadId\":5,\"projectId\":7,\"lastActivityAt\":\"2026-10-13T08:00:00\"},"
+				+ "{\"threadId\":4,\"projectId\":7,\"lastActivityAt\":\"2026-09-01T08:00:00\"}]");
+		stub("/api/projects/8/threads", "[{\"threadId\":6,\"projectId\":8,\"lastActivityAt\":\"2026-10-12T07:30:00\"}]");
+		stubs.createContext("/api/projects/10/threads", exchange -> {
+			Map<String, String> query = query(exchange.getRequestURI().getQuery());
+			long before = Long.parseLong(query.getOrDefault("before", String.valueOf(DORMANT_THREADS + 1)));
+			long limit = Long.parseLong(query.getOrDefault("limit", "30"));
+			StringBuilder json = new StringBuilder("[");
+			for (long id = before - 1; id >= Math.max(1, before - limit); id--) {
+				json.append(json.length() > 1 ? "," : "").append("{\"threadId\":").append(id).append(",\"projectId\":10,\"lastActivityAt\":\"")
+						.append(LocalDateTime.of(2026, 9, 1, 0, 0).plusMinutes(id)).append("\"}");
+			}
+			respond(exchange, json.append("]").toString());
+		});
+		stub("/api/threads/5/messages", "[{\"id\":1,\"senderId\":20,\"sentAt\":\"2026-10-12T08:00:00\"},"
+				+ "{\"id\":2,\"senderId\":21,\"sentAt\":\"2026-10-13T08:00:00\"},"
+				+ "{\"id\":3,\"senderId\":20,\"sentAt\":\"2026-10-01T08:00:00\"}]");
+		stubs.createContext("/api/projects/9/milestones", exchange -> {
+			Map<String, String> query = query(exchange.getRequestURI().getQuery());
+			int page = Integer.parseInt(query.getOrDefault("page", "0"));
+			int size = Integer.parseInt(query.getOrDefault("size", "50"));
+			StringBuilder json = new StringBuilder("[");
+			for (int i = page * size; i < Math.min(LARGE_PROJECT_MILESTONES, (page + 1) * size); i++) {
+				json.append(json.length() > 1 ? "," : "").append("{\"id\":").append(1_000 + i).append(",\"status\":\"")
+						.append(i % 4 == 0 ? "COMPLETED" : "OPEN").append("\"}");
+			}
+			respond(exchange, json.append("]").toString());
+		});
+		stub("/api/milestones/", "[]");
+		stubs.createContext("/api/threads/6/messages", exchange -> {
+			Map<String, String> query = query(exchange.getRequestURI().getQuery());
+			long before = Long.parseLong(query.getOrDefault("before", String.valueOf(LONG_THREAD_MESSAGES + 1)));
+			long limit = Long.parseLong(query.getOrDefault("limit", "50"));
+			StringBuilder json = new StringBuilder("[");
+			for (long id = Math.max(1, before - limit); id < before; id++) {
+				json.append(json.length() > 1 ? "," : "").append("{\"id\":").append(id).append(",\"senderId\":").append(id % 7)
+						.append(",\"sentAt\":\"").append(LocalDateTime.of(2026, 10, 12, 0, 0).plusMinutes(id)).append("\"}");
+			}
+			respond(exchange, json.append("]").toString());
+		});
+		stubs.createContext("/slow", exchange -> {
+			try {
+				Thread.sleep(2_000);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			exchange.sendResponseHeaders(200, -1);
+			exchange.close();
+		});
+		stubs.setExecutor(Executors.newCachedThreadPool());
+		stubs.start();
+		baseUrl = "http://localhost:" + stubs.getAddress().getPort();
+	}
+
+	@AfterEach
+	void stopStubs() {
+		stubs.stop(0);
+	}
+
+	@Test
+	void aggregatesAllSourcesConcurrently() {
+		ReportEngine engine = new ReportEngine(List.of(
+				new ProjectProgressSource(RestClient.builder(), baseUrl, 1_000),
+				new InventoryConsumptionSource(RestClient.builder(), baseUrl, 1_000),
+				new PaymentSource(RestClient.builder(), baseUrl, 1_000),
+				new MessageActivitySource(RestClient.builder(), baseUrl, 1_000)), 4);
+		try {
+			ReportGeneration generation = engine.generate(7L, WEEK, null);
+			Map<String, Double> metrics = generation.metrics();
+
+			assertTrue(generation.failedSources().isEmpty());
+			assertEquals(2.0, metrics.get("project.milestones.total"));
+			assertEquals(3.0, metrics.get("project.tasks.total"));
+			assertEquals(1.0, metrics.get("project.tasks.completedInPeriod"));
+			assertEquals(42.0, metrics.get("inventory.consumed.total"));
+			assertEquals(1500.0, metrics.get("payments.invoiced.amount"));
+			assertEquals(1000.0, metrics.get("payments.paidInPeriod.amount"));
+			assertEquals(1.0, metrics.get("payments.overdue.count"));
+			assertEquals(2.0, metrics.get("messages.count"));
+			assertEquals(2.0, metrics.get("messages.senders.distinct"));
+			assertEquals(2.0, metrics.get("messages.threads.total"));
+			assertEquals(1.0, metrics.get("messages.threads.active"));
+			assertEquals(Set.of(20L, 21L, 30L), generation.activeUsers());
+		} finally {
+			engine.shutdown();
+		}
+	}
+
+	@Test
+	void pagesThroughProjectsWithManyMilestones() {
+		ReportEngine engine = new ReportEngine(List.of(new ProjectProgressSource(RestClient.builder(), baseUrl, 5_000)), 4);
+		try {
+			Map<String, Double> metrics = engine.generate(9L, WEEK, null).metrics();
+
+			assertEquals((double) LARGE_PROJECT_MILESTONES, metrics.get("project.milestones.total"));
+			assertEquals(LARGE_PROJECT_MILESTONES / 4.0, metrics.get("project.milestones.completed"));
+		} finally {
+			engine.shutdown();
+		}
+	}
+
+	@Test
+	void pagesThroughThreadListsWithoutReadingDormantThreads() {
+		ReportEngine engine = new ReportEngine(List.of(new MessageActivitySource(RestClient.builder(), baseUrl, 1_000)), 4);
+		try {
+			ReportGeneration generation = engine.generate(10L, WEEK, null);
+
+			assertTrue(generation.failedSources().isEmpty());
+			assertEquals((double) DORMANT_THREADS, generation.metrics().get("messages.threads.total"));
+			assertEquals(0.0, generation.metrics().get("messages.count"));
+		} finally {
+			engine.shutdown();
+		}
+	}
+
+	@Test
+	void pagesThroughThreadsLongerThanOnePage() {
+		ReportEngine engine = new ReportEngine(List.of(new MessageActivitySource(RestClient.builder(), baseUrl, 1_000)), 4);
+		try {
+			Map<String, Double> metrics = engine.generate(8L, WEEK, null).metrics();
+
+			assertEquals((double) LONG_THREAD_MESSAGES, metrics.get("messages.count"));
+			assertEquals(7.0, metrics.get("messages.senders.distinct"));
+			assertEquals(1.0, metrics.get("messages.threads.active"));
+		} finally {
+			engine.shutdown();
+		}
+	}
+
+	@Test
+	void slowSourceTimesOutWithoutFailingTheReport() {
+		ReportEngine engine = new ReportEngine(List.of(
+				new PaymentSource(RestClient.builder(), baseUrl, 1_000),
+				new PaymentSource(RestClient.builder(), baseUrl + "/slow", 200) {
+					@Override
+					public String name() {
+						return "slow";
+					}
+				}), 4);
+		try {
+			long start = System.nanoTime();
+			ReportGeneration generation = engine.generate(7L, WEEK, null);
+
+			assertEquals(List.of("slow"), generation.failedSources());
+			assertFalse(generation.metrics().isEmpty());
+			assertTrue(System.nanoTime() - start < 1_500_000_000L);
+		} finally {
+			engine.shutdown();
+		}
+	}
+
+	private void stub(String path, String json) {
+		stubs.createContext(path, exchange -> respond(exchange, json));
+	}
+
+	private static void respond(HttpExchange exchange, String json) throws IOException {
+		byte[] body = json.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		exchange.sendResponseHeaders(200, body.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(body);
+		}
+	}
+
+	private static Map<String, String> query(String query) {
+		Map<String, String> params = new HashMap<>();
+		if (query != null) {
+			for (String pair : query.split("&")) {
+				String[] parts = pair.split("=", 2);
+				params.put(parts[0], parts.length > 1 ? parts[1] : "");
+			}
+		}
+		return params;
+	}
+}
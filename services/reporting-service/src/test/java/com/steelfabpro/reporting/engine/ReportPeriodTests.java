@@ -0,0 +1,33 @@
+package com.steelfabpro.reporting.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ReportPeriodTests {
+	@Test
+	void parsesWeeksMonthsAndRanges() {
+		assertEquals(new ReportPeriod(LocalDateTime.of(2024, 12, 30, 0, 0), LocalDateTime.of(2025, 1, 6, 0, 0)), ReportPeriod.parse("2025-W1"));
+		assertEquals(new ReportPeriod(LocalDateTime.of(2026, 12, 28, 0, 0), LocalDateTime.of(2027, 1, 4, 0, 0)), ReportPeriod.parse("2026-W53"));
+		assertEquals(new ReportPeriod(LocalDateTime.of(2025, 2, 1, 0, 0), LocalDateTime.of(2025, 3, 1, 0, 0)), ReportPeriod.parse("2025-02"));
+		assertEquals(new ReportPeriod(LocalDateTime.of(2025, 1, 1, 0, 0), LocalDateTime.of(2025, 1, 31, 0, 0)), ReportPeriod.parse("2025-01-01/2025-01-31"));
+	}
+
+	@Test
+	void rejectsOutOfRangeFieldsAsBadPeriods() {
+		for (String period : new String[] {"2025-W0", "2025-W54", "2025-W53", "2025-13", "2025-00", "2025-02-30/2025-03-01", "2025-W"}) {
+			IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () -> ReportPeriod.parse(period), period);
+			assertEquals("Unsupported report period: " + period, error.getMessage());
+		}
+	}
+
+	@Test
+	void rejectsEmptyAndReversedRanges() {
+		assertThrows(IllegalArgumentException.class, () -> ReportPeriod.parse("2025-01-31/2025-01-01"));
+		assertThrows(IllegalArgumentException.class, () -> ReportPeriod.parse("2025-01-01/2025-01-01"));
+		assertThrows(IllegalArgumentException.class, () -> ReportPeriod.parse(" "));
+	}
+}
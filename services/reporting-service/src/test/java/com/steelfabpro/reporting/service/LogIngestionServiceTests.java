@@ -0,0 +1,125 @@
+package com.steelfabpro.reporting.service;
+
+import com.steelfabpro.reporting.dto.LogIngestStats;
+import com.steelfabpro.reporting.model.Log;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+class LogIngestionServiceTests {
+	private static final int CAPACITY = 1024;
+	private static final int PRODUCERS = 4;
+	private static final int PER_PRODUCER = 1_000;
+
+	@Test
+	void countsEveryConcurrentSubmitAsAcceptedOrDropped() throws Exception {
+		RecordingLogStore store = new RecordingLogStore();
+		LogIngestionService service = new LogIngestionService(store, mock(LogSearchIndex.class), CAPACITY, 100, 10);
+		Set<String> accepted = ConcurrentHashMap.newKeySet();
+		ExecutorService producers = Executors.newFixedThreadPool(PRODUCERS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> done = new ArrayList<>();
+		for (int p = 0; p < PRODUCERS; p++) {
+			int producer = p;
+			done.add(producers.submit(() -> {
+				start.await();
+				for (int i = 0; i < PER_PRODUCER; i++) {
+					Log entry = log("INFO", "producer " + producer + " line " + i);
+					if (service.submit(entry)) {
+						accepted.add(entry.getMessage());
+					}
+				}
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> producer : done) {
+			producer.get(10, TimeUnit.SECONDS);
+		}
+		producers.shutdown();
+
+		LogIngestStats queued = service.getStats();
+		assertEquals(CAPACITY, queued.getAccepted());
+		assertEquals(PRODUCERS * PER_PRODUCER - CAPACITY, queued.getDropped());
+		assertEquals(CAPACITY, queued.getQueueDepth());
+
+		service.start();
+		service.stop();
+
+		LogIngestStats drained = service.getStats();
+		assertEquals(CAPACITY, drained.getWritten());
+		assertEquals(0, drained.getQueueDepth());
+		assertEquals(CAPACITY, store.messages.size());
+		assertEquals(accepted, new HashSet<>(store.messages));
+	}
+
+	@Test
+	void samplesDebugLinesOnlyOnceTheBufferIsMostlyFull() {
+		LogIngestionService service = new LogIngestionService(new RecordingLogStore(), mock(LogSearchIndex.class), 16, 100, 10);
+		for (int i = 0; i < 4; i++) {
+			service.submit(log("DEBUG", "early " + i));
+		}
+		for (int i = 0; i < 8; i++) {
+			service.submit(log("INFO", "fill " + i));
+		}
+		for (int i = 0; i < 20; i++) {
+			service.submit(log("DEBUG", "overloaded " + i));
+		}
+
+		LogIngestStats stats = service.getStats();
+		assertEquals(14, stats.getAccepted());
+		assertEquals(18, stats.getDropped());
+	}
+
+	private static Log log(String level, String message) {
+		return Log.builder().service("fabrication").level(level).message(message).timestamp(LocalDateTime.now()).build();
+	}
+
+	private static final class RecordingLogStore implements LogStore {
+		private final List<String> messages = new ArrayList<>();
+
+		@Override
+		public Log append(Log log) {
+			messages.add(log.getMessage());
+			return log;
+		}
+
+		@Override
+		public synchronized void appendAll(List<Log> logs) {
+			logs.forEach(this::append);
+		}
+
+		@Override
+		public List<Log> findAllById(Collection<Long> ids) {
+			return List.of();
+		}
+
+		@Override
+		public void scan(LocalDateTime from, LocalDateTime to, Consumer<Log> consumer) {
+		}
+
+		@Override
+		public void scanAfter(long afterId, Consumer<Log> consumer) {
+		}
+
+		@Override
+		public long firstRetainedId() {
+			return 0;
+		}
+	}
+}
@@ -0,0 +1,88 @@
+package com.steelfabpro.reporting.service;
+
+import com.steelfabpro.reporting.model.Log;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LogRingBufferTests {
+	private static final int PRODUCERS = 4;
+	private static final int PER_PRODUCER = 25_000;
+
+	@Test
+	void concurrentProducersNeitherLoseNorDuplicateEntries() throws Exception {
+		LogRingBuffer buffer = new LogRingBuffer(1024);
+		ExecutorService producers = Executors.newFixedThreadPool(PRODUCERS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> done = new ArrayList<>();
+		for (int p = 0; p < PRODUCERS; p++) {
+			long first = (long) p * PER_PRODUCER;
+			done.add(producers.submit(() -> {
+				start.await();
+				for (long id = first; id < first + PER_PRODUCER; id++) {
+					Log entry = Log.builder().id(id).build();
+					while (!buffer.offer(entry)) {
+						Thread.yield();
+					}
+				}
+				return null;
+			}));
+		}
+
+		BitSet seen = new BitSet(PRODUCERS * PER_PRODUCER);
+		List<Log> batch = new ArrayList<>();
+		int total = 0;
+		start.countDown();
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+		while (total < PRODUCERS * PER_PRODUCER && System.nanoTime() < deadline) {
+			batch.clear();
+			buffer.drainTo(batch, 256);
+			for (Log entry : batch) {
+				int id = entry.getId().intValue();
+				assertFalse(seen.get(id), "log " + id + " drained twice");
+				seen.set(id);
+			}
+			total += batch.size();
+		}
+		for (Future<?> producer : done) {
+			producer.get(1, TimeUnit.SECONDS);
+		}
+		producers.shutdown();
+
+		assertEquals(PRODUCERS * PER_PRODUCER, total);
+		assertEquals(PRODUCERS * PER_PRODUCER, seen.cardinality());
+		assertEquals(0, buffer.size());
+	}
+
+	@Test
+	void rejectsOffersOnceFullUntilDrained() {
+		LogRingBuffer buffer = new LogRingBuffer(4);
+		for (long id = 0; id < 4; id++) {
+			assertTrue(buffer.offer(Log.builder().id(id).build()));
+		}
+		assertFalse(buffer.offer(Log.builder().id(4L).build()));
+
+		List<Log> batch = new ArrayList<>();
+		assertEquals(2, buffer.drainTo(batch, 2));
+		assertEquals(List.of(0L, 1L), batch.stream().map(Log::getId).toList());
+		assertTrue(buffer.offer(Log.builder().id(5L).build()));
+		assertEquals(3, buffer.size());
+	}
+
+	@Test
+	void requiresAPowerOfTwoCapacity() {
+		assertThrows(IllegalArgumentException.class, () -> new LogRingBuffer(1000));
+	}
+}
@@ -0,0 +1,173 @@
+package com.steelfabpro.reporting.service;
+
+import com.steelfabpro.reporting.model.Log;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LogSearchIndexTests {
+	private static final LocalDateTime BASE = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+	@TempDir
+	Path directory;
+
+	private InMemoryLogStore store;
+
+	@BeforeEach
+	void setUp() {
+		store = new InMemoryLogStore();
+		for (long id = 1; id <= 5_000; id++) {
+			store.append(log(id, id % 10 == 0 ? "ERROR" : "INFO"));
+		}
+	}
+
+	@Test
+	void indexesEachLogOnceWhenLiveIndexingOverlapsCatchUp() {
+		LogSearchIndex index = new LogSearchIndex(store, 4, 1_000, directory.toString());
+		Log live = store.append(log(5_001, "ERROR"));
+		index.add(live);
+		index.catchUp();
+		index.add(store.logs.get(4_999L));
+		index.refresh();
+		index.merge();
+
+		assertEquals(5_001, index.search("beam", null, null, 10_000).size());
+		assertEquals(50, index.search("beam", null, null, 50).size());
+		assertEquals(List.of(5_001L), index.search("level:error", null, null, 0));
+		assertEquals(List.of(4_000L), index.search("\"step 4000 done\"", null, null, 10));
+	}
+
+	@Test
+	void restartLoadsPersistedSegmentsAndOnlyScansNewerLogs() {
+		LogSearchIndex first = new LogSearchIndex(store, 4, 1_000, directory.toString());
+		first.catchUp();
+		first.merge();
+		for (long id = 5_001; id <= 5_100; id++) {
+			store.append(log(id, "INFO"));
+		}
+
+		LogSearchIndex restarted = new LogSearchIndex(store, 4, 1_000, directory.toString());
+		restarted.catchUp();
+
+		assertEquals(100, store.lastScanned);
+		assertEquals(5_100, restarted.search("beam", null, null, 10_000).size());
+	}
+
+	@Test
+	void dropsLogsRemovedByRetention() {
+		LogSearchIndex index = new LogSearchIndex(store, 4, 1_000, directory.toString());
+		index.catchUp();
+		store.firstRetainedId = 3_001;
+		index.prune();
+		index.merge();
+
+		assertEquals(2_000, index.search("beam", null, null, 10_000).size());
+
+		LogSearchIndex restarted = new LogSearchIndex(store, 4, 1_000, directory.toString());
+		restarted.catchUp();
+		assertEquals(0, store.lastScanned);
+		assertEquals(2_000, restarted.search("beam", null, null, 10_000).size());
+	}
+
+	@Test
+	void mappedSegmentsAnswerLikeInMemoryOnes() throws IOException {
+		LogSegmentBuilder builder = new LogSegmentBuilder();
+		store.logs.values().forEach(builder::add);
+		LogIndexSegment inMemory = builder.seal();
+		inMemory.writeTo(directory.resolve("all.idx"));
+		LogIndexSegment mapped = LogIndexSegment.open(directory.resolve("all.idx"));
+
+		for (String query : List.of("beam", "level:error", "\"step 4000 done\"", "\"done step\"", "service:fabrication step 12", "girder")) {
+			assertEquals(search(inMemory, query), search(mapped, query), query);
+		}
+	}
+
+	@Test
+	void mergedSegmentsLeaveOutRetainedAwayLogs() throws IOException {
+		LogSegmentBuilder builder = new LogSegmentBuilder();
+		List<LogIndexSegment> parts = new ArrayList<>();
+		for (Log entry : store.logs.values()) {
+			builder.add(entry);
+			if (builder.size() == 1_000) {
+				parts.add(builder.seal());
+			}
+		}
+		LogIndexSegment.write(directory.resolve("merged.idx"), parts, 2_501);
+		LogIndexSegment merged = LogIndexSegment.open(directory.resolve("merged.idx"));
+
+		assertEquals(2_500, merged.size());
+		assertEquals(2_500, search(merged, "beam").size());
+		assertEquals(List.of(2_501L), search(merged, "\"step 2501 done\""));
+		assertEquals(List.of(), search(merged, "\"step 2500 done\""));
+	}
+
+	private static List<Long> search(LogIndexSegment segment, String query) {
+		LogSearchHits hits = new LogSearchHits(10_000);
+		segment.search(LogSearchIndex.parseQuery(query), Long.MIN_VALUE, Long.MAX_VALUE, 0, hits);
+		return hits.logIds();
+	}
+
+	private static Log log(long id, String level) {
+		return Log.builder()
+				.id(id)
+				.service("fabrication")
+				.level(level)
+				.message("step " + id + " done for beam")
+				.timestamp(BASE.plusSeconds(id))
+				.build();
+	}
+
+	private static final class InMemoryLogStore implements LogStore {
+		private final TreeMap<Long, Log> logs = new TreeMap<>();
+		private long firstRetainedId;
+		private int lastScanned;
+
+		@Override
+		public Log append(Log log) {
+			logs.put(log.getId(), log);
+			return log;
+		}
+
+		@Override
+		public void appendAll(List<Log> logs) {
+			logs.forEach(this::append);
+		}
+
+		@Override
+		public List<Log> findAllById(Collection<Long> ids) {
+			List<Log> found = new ArrayList<>();
+			ids.stream().filter(logs::containsKey).forEach(id -> found.add(logs.get(id)));
+			return found;
+		}
+
+		@Override
+		public void scan(LocalDateTime from, LocalDateTime to, Consumer<Log> consumer) {
+			logs.values().forEach(consumer);
+		}
+
+		@Override
+		public void scanAfter(long afterId, Consumer<Log> consumer) {
+			lastScanned = 0;
+			for (Log log : logs.tailMap(afterId, false).values()) {
+				lastScanned++;
+				consumer.accept(log);
+			}
+		}
+
+		@Override
+		public long firstRetainedId() {
+			return firstRetainedId;
+		}
+	}
+}
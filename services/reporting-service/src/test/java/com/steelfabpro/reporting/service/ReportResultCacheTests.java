@@ -0,0 +1,85 @@
+package com.steelfabpro.reporting.service;
+
+import com.steelfabpro.reporting.dto.MetricResponse;
+import com.steelfabpro.reporting.dto.ReportResult;
+import com.steelfabpro.reporting.engine.ReportEngine;
+import com.steelfabpro.reporting.model.MetricRepository;
+import com.steelfabpro.reporting.model.Report;
+import com.steelfabpro.reporting.model.ReportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReportResultCacheTests {
+	private ReportRepository reportRepository;
+	private MetricRepository metricRepository;
+
+	@BeforeEach
+	void setUp() {
+		reportRepository = mock(ReportRepository.class);
+		metricRepository = mock(MetricRepository.class);
+	}
+
+	@Test
+	void reportsSharingAPeriodAreCachedSeparately() {
+		ReportingService service = service(new ReportResultCache(100, 60, 30));
+		report(1L, "2020-01");
+		report(2L, "2020-01");
+		metrics(1L, 0L, new MetricResponse(10L, "messages.count", 5.0, LocalDateTime.now()));
+		metrics(2L, 0L, new MetricResponse(11L, "messages.count", 9.0, LocalDateTime.now()));
+
+		ReportResult first = service.getReportResult(1L, null);
+		ReportResult second = service.getReportResult(2L, null);
+
+		assertEquals(1L, first.getReportId());
+		assertEquals(Map.of("messages.count", 5.0), first.getMetrics());
+		assertEquals(2L, second.getReportId());
+		assertEquals(Map.of("messages.count", 9.0), second.getMetrics());
+		assertEquals(Map.of("messages.count", 5.0), service.getReportResult(1L, null).getMetrics());
+	}
+
+	@Test
+	void openReportRefreshesFromItsOwnMetrics() {
+		String open = LocalDateTime.now().getYear() + 1 + "-01";
+		ReportingService service = service(new ReportResultCache(100, 60, 0));
+		report(1L, open);
+		report(2L, open);
+		metrics(1L, 0L, new MetricResponse(10L, "messages.count", 5.0, LocalDateTime.now()));
+		metrics(2L, 0L, new MetricResponse(11L, "messages.count", 9.0, LocalDateTime.now()));
+		service.getReportResult(1L, null);
+		service.getReportResult(2L, null);
+
+		metrics(2L, 11L, new MetricResponse(12L, "messages.senders.distinct", 3.0, LocalDateTime.now()));
+		ReportResult refreshed = service.getReportResult(2L, null);
+
+		assertEquals(2L, refreshed.getReportId());
+		assertEquals(Map.of("messages.count", 9.0, "messages.senders.distinct", 3.0), refreshed.getMetrics());
+	}
+
+	private ReportingService service(ReportResultCache cache) {
+		return new ReportingService(reportRepository, metricRepository, mock(LogStore.class), mock(LogSearchIndex.class),
+				mock(ReportEngine.class), mock(TransactionTemplate.class), cache, mock(MetricSketchService.class));
+	}
+
+	private void report(Long id, String period) {
+		Report report = Report.builder().id(id).type("activity").generatedFor("project:7").period(period).build();
+		when(reportRepository.findById(id)).thenReturn(Optional.of(report));
+		when(metricRepository.existsByReportId(id)).thenReturn(true);
+		when(metricRepository.findByReportAfterId(eq(id), anyLong())).thenReturn(List.of());
+	}
+
+	private void metrics(Long reportId, long afterId, MetricResponse... metrics) {
+		when(metricRepository.findByReportAfterId(reportId, afterId)).thenReturn(List.of(metrics));
+	}
+}
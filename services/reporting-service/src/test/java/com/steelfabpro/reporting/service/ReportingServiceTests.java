@@ -0,0 +1,75 @@
+package com.steelfabpro.reporting.service;
+
+import com.steelfabpro.reporting.dto.MetricSketchSummary;
+import com.steelfabpro.reporting.engine.ReportEngine;
+import com.steelfabpro.reporting.engine.ReportGeneration;
+import com.steelfabpro.reporting.engine.ReportPeriod;
+import com.steelfabpro.reporting.model.MetricRepository;
+import com.steelfabpro.reporting.model.MetricSketchRepository;
+import com.steelfabpro.reporting.model.Report;
+import com.steelfabpro.reporting.model.ReportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReportingServiceTests {
+	private static final String PERIOD = "2026-W42";
+
+	private MetricRepository metricRepository;
+	private ReportEngine reportEngine;
+	private MetricSketchService metricSketchService;
+	private ReportingService service;
+
+	@BeforeEach
+	void setUp() {
+		ReportRepository reportRepository = mock(ReportRepository.class);
+		metricRepository = mock(MetricRepository.class);
+		reportEngine = mock(ReportEngine.class);
+		metricSketchService = new MetricSketchService(mock(MetricSketchRepository.class));
+		service = new ReportingService(reportRepository, metricRepository, mock(LogStore.class), mock(LogSearchIndex.class),
+				reportEngine, new TransactionTemplate(mock(PlatformTransactionManager.class)), new ReportResultCache(100, 60, 30),
+				metricSketchService);
+
+		Report report = Report.builder().id(1L).type("activity").generatedFor("project:7").period(PERIOD).build();
+		when(reportRepository.findById(1L)).thenReturn(Optional.of(report));
+		when(metricRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+		when(reportEngine.generate(eq(7L), any(), any()))
+				.thenReturn(new ReportGeneration(Map.of("project.tasks.total", 3.0), Set.of(20L, 21L), List.of()));
+	}
+
+	@Test
+	void regeneratingAReportDoesNotRecordItsMetricsTwice() {
+		when(metricRepository.findMetricNamesByReportId(1L)).thenReturn(List.of());
+		service.generateReport(1L, null);
+		when(metricRepository.findMetricNamesByReportId(1L)).thenReturn(List.of("project.tasks.total"));
+		service.generateReport(1L, null);
+
+		LocalDate today = LocalDate.now();
+		assertEquals(1, metricSketchService.summarize("project.tasks.total", today, today, List.of(0.5)).getCount());
+	}
+
+	@Test
+	void countsEachActiveUserOncePerProject() {
+		when(metricRepository.findMetricNamesByReportId(1L)).thenReturn(List.of());
+		service.generateReport(1L, null);
+		service.generateReport(1L, null);
+
+		LocalDate start = ReportPeriod.parse(PERIOD).start().toLocalDate();
+		MetricSketchSummary summary = metricSketchService.summarize(ReportingService.activeUsersMetric(7L), start, start, List.of());
+		assertEquals(2, summary.getDistinctCount());
+		assertEquals(0, summary.getCount());
+	}
+}
@@ -0,0 +1,66 @@
+package com.steelfabpro.reporting.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HyperLogLogTests {
+	private static final double STANDARD_ERROR = 1.04 / Math.sqrt(4096);
+
+	@Test
+	void estimatesStayWithinThreeStandardErrors() {
+		for (int distinct : new int[] {100, 1_000, 10_000, 100_000, 1_000_000}) {
+			HyperLogLog sketch = new HyperLogLog();
+			for (int i = 0; i < distinct; i++) {
+				sketch.add("user:" + i);
+			}
+			double error = Math.abs(sketch.estimate() - distinct) / (double) distinct;
+			assertTrue(error <= 3 * STANDARD_ERROR, distinct + " distinct keys estimated as " + sketch.estimate());
+		}
+	}
+
+	@Test
+	void repeatedKeysAreCountedOnce() {
+		HyperLogLog sketch = new HyperLogLog();
+		for (int round = 0; round < 50; round++) {
+			for (long id = 0; id < 500; id++) {
+				sketch.add(id);
+			}
+		}
+		assertTrue(Math.abs(sketch.estimate() - 500) <= 500 * 3 * STANDARD_ERROR);
+	}
+
+	@Test
+	void mergeMatchesASingleSketchOverTheUnion() {
+		HyperLogLog left = new HyperLogLog();
+		HyperLogLog right = new HyperLogLog();
+		HyperLogLog union = new HyperLogLog();
+		for (int i = 0; i < 60_000; i++) {
+			(i < 40_000 ? left : right).add("user:" + i);
+			if (i >= 20_000 && i < 40_000) {
+				right.add("user:" + i);
+			}
+			union.add("user:" + i);
+		}
+		left.merge(right);
+		assertEquals(union.estimate(), left.estimate());
+	}
+
+	@Test
+	void serializationRoundTripsRegisters() {
+		HyperLogLog sketch = new HyperLogLog();
+		for (int i = 0; i < 250_000; i++) {
+			sketch.add("project:" + i);
+		}
+		byte[] packed = sketch.serialize();
+		HyperLogLog restored = HyperLogLog.deserialize(packed);
+
+		assertEquals(sketch.estimate(), restored.estimate());
+		assertArrayEquals(packed, restored.serialize());
+		assertEquals(0, HyperLogLog.deserialize(new HyperLogLog().serialize()).estimate());
+		assertThrows(IllegalArgumentException.class, () -> HyperLogLog.deserialize(new byte[] {1, 2, 3}));
+	}
+}
@@ -0,0 +1,75 @@
+package com.steelfabpro.reporting.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuantileSketchTests {
+	private static final double[] QUANTILES = {0, 0.01, 0.25, 0.5, 0.75, 0.9, 0.99, 0.999, 1};
+	private static final double RELATIVE_ACCURACY = 0.01;
+
+	@Test
+	void quantilesStayWithinRelativeAccuracy() {
+		Random random = new Random(42);
+		double[] values = new double[200_000];
+		QuantileSketch sketch = new QuantileSketch();
+		for (int i = 0; i < values.length; i++) {
+			values[i] = Math.exp(random.nextGaussian() * 2) * (random.nextInt(10) == 0 ? -1 : 1);
+			sketch.add(values[i]);
+		}
+		assertWithinAccuracy(values, sketch);
+		assertEquals(values.length, sketch.count());
+	}
+
+	@Test
+	void mergedSketchMatchesTheCombinedData() {
+		Random random = new Random(7);
+		double[] values = new double[100_000];
+		QuantileSketch merged = new QuantileSketch();
+		QuantileSketch[] parts = {new QuantileSketch(), new QuantileSketch(), new QuantileSketch()};
+		for (int i = 0; i < values.length; i++) {
+			values[i] = random.nextInt(5) == 0 ? 0 : 1 + random.nextDouble() * 10_000;
+			parts[i % parts.length].add(values[i]);
+		}
+		for (QuantileSketch part : parts) {
+			merged.merge(part);
+		}
+		assertWithinAccuracy(values, merged);
+	}
+
+	@Test
+	void serializationRoundTrips() {
+		QuantileSketch sketch = new QuantileSketch();
+		Random random = new Random(3);
+		for (int i = 0; i < 50_000; i++) {
+			sketch.add(random.nextGaussian() * 1_000);
+		}
+		sketch.add(0);
+		QuantileSketch restored = QuantileSketch.deserialize(sketch.serialize());
+
+		assertEquals(sketch.count(), restored.count());
+		assertEquals(sketch.min(), restored.min());
+		assertEquals(sketch.max(), restored.max());
+		for (double q : QUANTILES) {
+			assertEquals(sketch.quantile(q), restored.quantile(q));
+		}
+		assertArrayEquals(sketch.serialize(), restored.serialize());
+		assertEquals(0, QuantileSketch.deserialize(new QuantileSketch().serialize()).count());
+	}
+
+	private static void assertWithinAccuracy(double[] values, QuantileSketch sketch) {
+		double[] sorted = values.clone();
+		Arrays.sort(sorted);
+		for (double q : QUANTILES) {
+			double expected = sorted[(int) (q * (sorted.length - 1))];
+			double actual = sketch.quantile(q);
+			assertTrue(Math.abs(actual - expected) <= RELATIVE_ACCURACY * Math.abs(expected) + 1e-9,
+					"p" + q + ": expected " + expected + " but was " + actual);
+		}
+	}
+}